@@ -17,13 +17,9 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.yaml.snakeyaml.Yaml;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -37,7 +33,7 @@ import okhttp3.*;
 /**
  * Android binding for Cheetah Speech-to-Text engine.
  */
-public class Cheetah {
+public class Cheetah implements AutoCloseable {
     private static final Set<String> VALID_LANGUAGES =
             new HashSet<>(Arrays.asList("de", "en", "es", "fr", "it", "pt"));
 
@@ -51,12 +47,33 @@ public class Cheetah {
         System.loadLibrary("pv_cheetah");
     }
 
-    private long handle;
+    private final CheetahHandle handle;
+    private final CheetahCleaner.Cleanable cleanable;
+    private final CheetahTimeline timeline;
 
     public static void setSdk(String sdk) {
         Cheetah._sdk = sdk;
     }
 
+    /**
+     * Enables or disables debug mode. In debug mode the allocation site of each new instance is recorded, and
+     * instances that are garbage collected without a call to {@link #delete()} are logged along with it.
+     *
+     * @param debug Set to `true` to enable debug mode.
+     */
+    public static void setDebug(boolean debug) {
+        CheetahCleaner.setDebug(debug);
+    }
+
+    /**
+     * Getter for the number of Cheetah instances whose native resources have not been released yet.
+     *
+     * @return Number of live native handles.
+     */
+    public static int getLiveHandleCount() {
+        return CheetahCleaner.getLiveCount();
+    }
+
     /**
      * Trains a model using the specified `newWords` and `boostWords` arguments.
      *
@@ -204,41 +221,36 @@ public class Cheetah {
             boolean enableTextNormalization) throws CheetahException {
         CheetahNative.setSdk(Cheetah._sdk);
 
-        handle = CheetahNative.init(
+        final long nativeHandle = CheetahNative.init(
                 accessKey,
                 modelPath,
                 device,
                 endpointDuration,
                 enableAutomaticPunctuation,
                 enableTextNormalization);
-    }
 
-    private static String extractResource(
-            Context context,
-            InputStream srcFileStream,
-            String dstFilename
-    ) throws IOException {
-        InputStream is = new BufferedInputStream(srcFileStream, 256);
-        OutputStream os = new BufferedOutputStream(context.openFileOutput(dstFilename, Context.MODE_PRIVATE), 256);
-        int r;
-        while ((r = is.read()) != -1) {
-            os.write(r);
-        }
-        os.flush();
-
-        is.close();
-        os.close();
-        return new File(context.getFilesDir(), dstFilename).getAbsolutePath();
+        // the cleaning actions must not capture `this`, otherwise the instance never becomes unreachable
+        handle = new CheetahHandle(nativeHandle, () -> CheetahNative.delete(nativeHandle));
+        cleanable = CheetahCleaner.register(this, handle::close);
+        timeline = new CheetahTimeline(CheetahNative.getSampleRate());
     }
 
     /**
-     * Releases resources acquired by Cheetah.
+     * Releases resources acquired by Cheetah. Instances that are garbage collected without being deleted are
+     * released by a background cleaner, but the time at which that happens is not guaranteed.
+     * It is safe to call this while another thread is inside a Cheetah call: the native resources are released
+     * once that call returns, and any call made after this returns throws {@link CheetahInvalidStateException}.
      */
     public void delete() {
-        if (handle != 0) {
-            CheetahNative.delete(handle);
-            handle = 0;
-        }
+        cleanable.clean();
+    }
+
+    /**
+     * Releases resources acquired by Cheetah. Equivalent to {@link #delete()}.
+     */
+    @Override
+    public void close() {
+        delete();
     }
 
     /**
@@ -252,20 +264,27 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscript process(short[] pcm) throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah process after delete.");
         }
 
-        if (pcm == null) {
-            throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
-        }
+        try {
+            if (pcm == null) {
+                throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
+            }
 
-        if (pcm.length != getFrameLength()) {
-            throw new CheetahInvalidArgumentException(
-                    String.format("Cheetah process requires frames of length %d. " +
-                            "Received frame of size %d.", getFrameLength(), pcm.length));
+            if (pcm.length != getFrameLength()) {
+                throw new CheetahInvalidArgumentException(
+                        String.format("Cheetah process requires frames of length %d. " +
+                                "Received frame of size %d.", getFrameLength(), pcm.length));
+            }
+            CheetahTranscript transcript = CheetahNative.process(handle.get(), pcm);
+            timeline.advance(pcm.length);
+            timeline.resolve(transcript);
+            return transcript;
+        } finally {
+            handle.release();
         }
-        return CheetahNative.process(handle, pcm);
     }
 
     /**
@@ -275,10 +294,17 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscript flush() throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah flush after delete.");
         }
-        return CheetahNative.flush(handle);
+
+        try {
+            CheetahTranscript transcript = CheetahNative.flush(handle.get());
+            timeline.resolveFlush(transcript);
+            return transcript;
+        } finally {
+            handle.release();
+        }
     }
 
     /**
@@ -292,25 +318,28 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscriptAnnotated processAnnotated(short[] pcm) throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah processAnnotated after delete.");
         }
 
-        if (pcm == null) {
-            throw new CheetahInvalidArgumentException("Passed null frame to Cheetah processAnnotated.");
-        }
+        try {
+            if (pcm == null) {
+                throw new CheetahInvalidArgumentException("Passed null frame to Cheetah processAnnotated.");
+            }
 
-        if (pcm.length != getFrameLength()) {
-            throw new CheetahInvalidArgumentException(
-                    String.format("Cheetah processAnnotated requires frames of length %d. " +
-                            "Received frame of size %d.", getFrameLength(), pcm.length));
-        }
+            if (pcm.length != getFrameLength()) {
+                throw new CheetahInvalidArgumentException(
+                        String.format("Cheetah processAnnotated requires frames of length %d. " +
+                                "Received frame of size %d.", getFrameLength(), pcm.length));
+            }
 
-        CheetahTranscript transcript = CheetahNative.process(handle, pcm);
-        return new CheetahTranscriptAnnotated(
-            transcript.getTranscript(),
-            transcript.getWordArray(),
-            transcript.getIsEndpoint());
+            CheetahTranscript transcript = CheetahNative.process(handle.get(), pcm);
+            timeline.advance(pcm.length);
+            timeline.resolve(transcript);
+            return toAnnotated(transcript);
+        } finally {
+            handle.release();
+        }
     }
 
     /**
@@ -320,15 +349,36 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscriptAnnotated flushAnnotated() throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah flushAnnotated after delete.");
         }
 
-        CheetahTranscript transcript =  CheetahNative.flush(handle);
-        return new CheetahTranscriptAnnotated(
+        try {
+            CheetahTranscript transcript =  CheetahNative.flush(handle.get());
+            timeline.resolveFlush(transcript);
+            return toAnnotated(transcript);
+        } finally {
+            handle.release();
+        }
+    }
+
+    private static CheetahTranscriptAnnotated toAnnotated(CheetahTranscript transcript) {
+        CheetahTranscriptAnnotated transcriptAnnotated = new CheetahTranscriptAnnotated(
             transcript.getTranscript(),
             transcript.getWordArray(),
             transcript.getIsEndpoint());
+        transcriptAnnotated.setEndSample(transcript.getEndSample());
+        return transcriptAnnotated;
+    }
+
+    /**
+     * Getter for the timeline of the audio stream processed by this instance. Word and endpoint positions
+     * returned by Cheetah are absolute sample indices on this timeline, which is never reset by flush.
+     *
+     * @return Timeline of the audio stream.
+     */
+    public CheetahTimeline getTimeline() {
+        return timeline;
     }
 
     /**
@@ -467,9 +517,7 @@ public class Cheetah {
                 String modelFilename = modelFile.getName();
                 if (!modelFile.exists() && !modelFilename.equals("")) {
                     try {
-                        modelPath = extractResource(context,
-                                context.getAssets().open(modelPath),
-                                modelFilename);
+                        modelPath = CheetahAssetExtractor.extract(context, modelPath);
                     } catch (IOException ex) {
                         throw new CheetahIOException(ex);
                     }
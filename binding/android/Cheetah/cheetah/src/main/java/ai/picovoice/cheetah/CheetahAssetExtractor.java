@@ -0,0 +1,143 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Extracts model files from the APK assets to app storage, where the engine can open them by path.
+ *
+ * <p>Extraction is skipped when a previous extraction of the same asset from the same installation of the app is
+ * intact. An installation is identified by the last update time of the package, which changes whenever the APK, and
+ * therefore possibly the asset, is replaced. Assets stored uncompressed are copied by the kernel from the APK at
+ * their offset. Compressed assets are inflated through a large buffer.
+ */
+final class CheetahAssetExtractor {
+
+    private static final String PREFERENCES_NAME = "ai.picovoice.cheetah.assets";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private CheetahAssetExtractor() { }
+
+    /**
+     * Extracts an asset to the files directory of the app, unless an intact copy is already there.
+     *
+     * @param context   Android app context.
+     * @param assetPath Path of the asset.
+     * @return Absolute path to the extracted file.
+     * @throws IOException if the asset does not exist or cannot be copied.
+     */
+    static String extract(Context context, String assetPath) throws IOException {
+        String dstFilename = new File(assetPath).getName();
+        File dstFile = new File(context.getFilesDir(), dstFilename);
+        AssetManager assets = context.getAssets();
+
+        AssetFileDescriptor assetFd = openUncompressed(assets, assetPath);
+        try {
+            long length = assetFd != null ? assetFd.getLength() : getCompressedAssetLength(assets, assetPath);
+            String marker = String.format("%s:%d:%d", assetPath, length, getLastUpdateTime(context));
+
+            SharedPreferences preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+            if (dstFile.length() == length && marker.equals(preferences.getString(dstFilename, null))) {
+                return dstFile.getAbsolutePath();
+            }
+
+            // a partially written model is never left under the final name
+            File tmpFile = new File(context.getFilesDir(), dstFilename + ".tmp");
+            if (assetFd != null) {
+                copyUncompressed(assetFd, tmpFile);
+            } else {
+                copyCompressed(assets, assetPath, tmpFile);
+            }
+            if (!tmpFile.renameTo(dstFile)) {
+                throw new IOException(String.format("Failed to move extracted asset to '%s'", dstFile));
+            }
+
+            preferences.edit().putString(dstFilename, marker).apply();
+            return dstFile.getAbsolutePath();
+        } finally {
+            if (assetFd != null) {
+                assetFd.close();
+            }
+        }
+    }
+
+    private static AssetFileDescriptor openUncompressed(AssetManager assets, String assetPath) throws IOException {
+        try {
+            return assets.openFd(assetPath);
+        } catch (FileNotFoundException e) {
+            // thrown for compressed assets as well as for missing ones; the latter fail when opened as a stream
+            return null;
+        }
+    }
+
+    private static long getCompressedAssetLength(AssetManager assets, String assetPath) throws IOException {
+        try (InputStream is = assets.open(assetPath)) {
+            // the uncompressed length, read from the archive without inflating the asset
+            return is.available();
+        }
+    }
+
+    private static long getLastUpdateTime(Context context) {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    private static void copyUncompressed(AssetFileDescriptor assetFd, File dstFile) throws IOException {
+        // positions below are absolute within the APK, so the channel is opened on the raw descriptor; the channel
+        // of `createInputStream()` is already offset to the asset on newer Android versions. The stream does not
+        // own the descriptor, which the caller closes with the asset
+        try (FileInputStream is = new FileInputStream(assetFd.getFileDescriptor());
+             FileOutputStream os = new FileOutputStream(dstFile)) {
+            FileChannel src = is.getChannel();
+            FileChannel dst = os.getChannel();
+            long position = assetFd.getStartOffset();
+            long remaining = assetFd.getLength();
+            while (remaining > 0) {
+                long numBytesTransferred = src.transferTo(position, remaining, dst);
+                if (numBytesTransferred <= 0) {
+                    throw new IOException("Unexpected end of asset");
+                }
+                position += numBytesTransferred;
+                remaining -= numBytesTransferred;
+            }
+        }
+    }
+
+    private static void copyCompressed(AssetManager assets, String assetPath, File dstFile) throws IOException {
+        try (InputStream is = assets.open(assetPath, AssetManager.ACCESS_STREAMING);
+             FileOutputStream os = new FileOutputStream(dstFile)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int numBytesRead;
+            while ((numBytesRead = is.read(buffer)) != -1) {
+                os.write(buffer, 0, numBytesRead);
+            }
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+/**
+ * Streaming conversion stage that turns arbitrary PCM audio into frames Cheetah can process.
+ *
+ * <p>Raw interleaved audio bytes, either linear PCM or telephony encodings such as G.711 and IMA ADPCM, are
+ * decoded to floating point, reduced to one channel by averaging all channels
+ * or by selecting one, resampled to the output sample rate with a polyphase filter and converted to 16-bit
+ * samples. Formats of 16 bits or less are decoded and downmixed in bulk with the {@link CheetahPcm} kernels. Output
+ * is delivered to a {@link FrameListener} in frames of exactly the configured length. All buffers are allocated up
+ * front, so converting audio does not allocate.
+ *
+ * <pre>{@code
+ * CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+ *     .setInputSampleRate(44100)
+ *     .setInputChannelCount(2)
+ *     .setInputSampleFormat(CheetahAudioConverter.SampleFormat.SIGNED_24)
+ *     .setOutputSampleRate(cheetah.getSampleRate())
+ *     .setFrameLength(cheetah.getFrameLength())
+ *     .build();
+ *
+ * CheetahAudioConverter.FrameListener listener = frame -> cheetah.process(frame);
+ * while ((numBytes = stream.read(buffer)) != -1) {
+ *     converter.process(buffer, 0, numBytes, listener);
+ * }
+ * converter.flush(listener);
+ * }</pre>
+ */
+public class CheetahAudioConverter {
+
+    /**
+     * Encoding of input samples.
+     */
+    public enum SampleFormat {
+        UNSIGNED_8(1),
+        SIGNED_8(1),
+        SIGNED_16(2),
+        SIGNED_24(3),
+        SIGNED_32(4),
+        FLOAT_32(4),
+        MULAW(1),
+        ALAW(1),
+        /**
+         * IMA ADPCM in the block layout used by WAV files. Requires {@link Builder#setBlockAlign(int)}.
+         */
+        IMA_ADPCM(0);
+
+        private final int bytesPerSample;
+
+        SampleFormat(int bytesPerSample) {
+            this.bytesPerSample = bytesPerSample;
+        }
+
+        /**
+         * Getter for the size of a sample.
+         *
+         * @return Number of bytes per sample, or 0 for block-based formats.
+         */
+        public int getBytesPerSample() {
+            return bytesPerSample;
+        }
+    }
+
+    /**
+     * Receives frames produced by the converter.
+     */
+    public interface FrameListener {
+        /**
+         * Called for every complete frame. The array is reused for the next frame.
+         *
+         * @param frame Frame of 16-bit samples at the output sample rate.
+         * @throws CheetahException if processing the frame fails.
+         */
+        void onFrame(short[] frame) throws CheetahException;
+    }
+
+    private static final int CHUNK_FRAMES = 1024;
+
+    private final SampleFormat sampleFormat;
+    private final boolean isBigEndian;
+    private final int channelCount;
+    private final int channel;
+    private final int bytesPerInputFrame;
+    private final CheetahResampler resampler;
+    private final CheetahImaAdpcmDecoder adpcmDecoder;
+    private final short[] adpcmSamples;
+    // formats of 16 bits or less are decoded and downmixed as integers by the CheetahPcm kernels
+    private final short[] interleaved;
+    private final short[] mono = new short[CHUNK_FRAMES];
+
+    private final byte[] carry;
+    private int carryLength = 0;
+    private final float[] decoded = new float[CHUNK_FRAMES];
+    private final float[] resampled;
+    private final short[] frame;
+    private int frameIndex = 0;
+
+    private CheetahAudioConverter(
+            int inputSampleRate,
+            int channelCount,
+            int channel,
+            SampleFormat sampleFormat,
+            boolean isBigEndian,
+            int outputSampleRate,
+            int frameLength,
+            int blockAlign) {
+        this.sampleFormat = sampleFormat;
+        this.isBigEndian = isBigEndian;
+        this.channelCount = channelCount;
+        this.channel = channel;
+        this.bytesPerInputFrame = sampleFormat.getBytesPerSample() * channelCount;
+        this.resampler = new CheetahResampler(inputSampleRate, outputSampleRate);
+        this.carry = new byte[bytesPerInputFrame];
+        if (sampleFormat == SampleFormat.IMA_ADPCM) {
+            this.adpcmDecoder = new CheetahImaAdpcmDecoder(blockAlign, channelCount);
+            this.adpcmSamples = new short[adpcmDecoder.getFramesPerBlock() * channelCount];
+        } else {
+            this.adpcmDecoder = null;
+            this.adpcmSamples = null;
+        }
+        if (sampleFormat == SampleFormat.SIGNED_16
+                || sampleFormat == SampleFormat.MULAW
+                || sampleFormat == SampleFormat.ALAW) {
+            this.interleaved = new short[CHUNK_FRAMES * channelCount];
+        } else {
+            this.interleaved = null;
+        }
+        this.resampled = new float[
+                Math.max(resampler.getMaxOutputLength(CHUNK_FRAMES), resampler.getMaxDrainLength()) + 1];
+        this.frame = new short[frameLength];
+    }
+
+    /**
+     * Converts a block of raw interleaved audio. Blocks may end in the middle of a sample; the remainder is kept
+     * and completed by the next call.
+     *
+     * @param data     Raw audio bytes.
+     * @param offset   Offset of the first byte in `data`.
+     * @param length   Number of bytes to convert.
+     * @param listener Listener that receives every completed frame.
+     * @throws CheetahException if the listener fails to process a frame.
+     */
+    public void process(byte[] data, int offset, int length, FrameListener listener) throws CheetahException {
+        int end = offset + length;
+
+        if (adpcmDecoder != null) {
+            while (offset < end) {
+                offset += adpcmDecoder.append(data, offset, end - offset);
+                if (adpcmDecoder.isBlockComplete()) {
+                    emitAdpcmBlock(listener);
+                }
+            }
+            return;
+        }
+
+        if (carryLength > 0) {
+            int numBytes = Math.min(bytesPerInputFrame - carryLength, length);
+            System.arraycopy(data, offset, carry, carryLength, numBytes);
+            carryLength += numBytes;
+            offset += numBytes;
+            if (carryLength < bytesPerInputFrame) {
+                return;
+            }
+            decode(carry, 0, 1);
+            emit(1, listener);
+            carryLength = 0;
+        }
+
+        while (end - offset >= bytesPerInputFrame) {
+            int numFrames = Math.min((end - offset) / bytesPerInputFrame, CHUNK_FRAMES);
+            decode(data, offset, numFrames);
+            emit(numFrames, listener);
+            offset += numFrames * bytesPerInputFrame;
+        }
+
+        if (offset < end) {
+            carryLength = end - offset;
+            System.arraycopy(data, offset, carry, 0, carryLength);
+        }
+    }
+
+    /**
+     * Drains the tail of the resampling filter, pads the partially filled frame with silence and delivers it, if
+     * there is one, then resets the converter so it can be reused for a new stream.
+     *
+     * @param listener Listener that receives the final frame.
+     * @throws CheetahException if the listener fails to process the frame.
+     */
+    public void flush(FrameListener listener) throws CheetahException {
+        if (adpcmDecoder != null && adpcmDecoder.hasPartialBlock()) {
+            emitAdpcmBlock(listener);
+        }
+        emitResampled(resampler.drain(resampled), listener);
+        if (frameIndex > 0) {
+            for (int i = frameIndex; i < frame.length; i++) {
+                frame[i] = 0;
+            }
+            frameIndex = 0;
+            listener.onFrame(frame);
+        }
+        carryLength = 0;
+        if (adpcmDecoder != null) {
+            adpcmDecoder.reset();
+        }
+        resampler.reset();
+    }
+
+    private void decode(byte[] data, int offset, int numFrames) {
+        if (interleaved != null) {
+            int numSamples = numFrames * channelCount;
+            if (sampleFormat == SampleFormat.SIGNED_16) {
+                CheetahPcm.decodePcm16(data, offset, interleaved, 0, numSamples, isBigEndian);
+            } else if (sampleFormat == SampleFormat.MULAW) {
+                CheetahPcm.decodeMulaw(data, offset, interleaved, 0, numSamples);
+            } else {
+                CheetahPcm.decodeAlaw(data, offset, interleaved, 0, numSamples);
+            }
+            decodeMono(interleaved, 0, numFrames);
+            return;
+        }
+
+        int bytesPerSample = sampleFormat.getBytesPerSample();
+        for (int i = 0; i < numFrames; i++) {
+            int frameOffset = offset + i * bytesPerInputFrame;
+            if (channel >= 0) {
+                decoded[i] = decodeSample(data, frameOffset + channel * bytesPerSample);
+            } else {
+                float sum = 0f;
+                for (int c = 0; c < channelCount; c++) {
+                    sum += decodeSample(data, frameOffset + c * bytesPerSample);
+                }
+                decoded[i] = sum / channelCount;
+            }
+        }
+    }
+
+    private void emitAdpcmBlock(FrameListener listener) throws CheetahException {
+        int numFrames = adpcmDecoder.decodeBlock(adpcmSamples);
+        for (int start = 0; start < numFrames; start += CHUNK_FRAMES) {
+            int numChunkFrames = Math.min(numFrames - start, CHUNK_FRAMES);
+            decodeMono(adpcmSamples, start * channelCount, numChunkFrames);
+            emit(numChunkFrames, listener);
+        }
+    }
+
+    private void decodeMono(short[] samples, int offset, int numFrames) {
+        if (channel >= 0) {
+            for (int i = 0; i < numFrames; i++) {
+                mono[i] = samples[offset + i * channelCount + channel];
+            }
+        } else {
+            CheetahPcm.downmix(samples, offset, channelCount, mono, 0, numFrames);
+        }
+        for (int i = 0; i < numFrames; i++) {
+            decoded[i] = mono[i] / 32768f;
+        }
+    }
+
+    private float decodeSample(byte[] data, int offset) {
+        switch (sampleFormat) {
+            case UNSIGNED_8:
+                return ((data[offset] & 0xFF) - 128) / 128f;
+            case SIGNED_8:
+                return data[offset] / 128f;
+            case SIGNED_24:
+                return ((readBits(data, offset, 3) << 8) >> 8) / 8388608f;
+            case SIGNED_32:
+                return readBits(data, offset, 4) / 2147483648f;
+            case FLOAT_32:
+                return Float.intBitsToFloat(readBits(data, offset, 4));
+            default:
+                throw new IllegalStateException("Unsupported sample format " + sampleFormat);
+        }
+    }
+
+    private int readBits(byte[] data, int offset, int numBytes) {
+        int value = 0;
+        for (int i = 0; i < numBytes; i++) {
+            int b = data[offset + (isBigEndian ? i : numBytes - 1 - i)] & 0xFF;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private void emit(int numDecoded, FrameListener listener) throws CheetahException {
+        emitResampled(resampler.process(decoded, 0, numDecoded, resampled), listener);
+    }
+
+    private void emitResampled(int numResampled, FrameListener listener) throws CheetahException {
+        int i = 0;
+        while (i < numResampled) {
+            int numSamples = Math.min(numResampled - i, frame.length - frameIndex);
+            CheetahPcm.floatToPcm16(resampled, i, frame, frameIndex, numSamples);
+            i += numSamples;
+            frameIndex += numSamples;
+            if (frameIndex == frame.length) {
+                frameIndex = 0;
+                listener.onFrame(frame);
+            }
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahAudioConverter.
+     */
+    public static class Builder {
+        private int inputSampleRate = 16000;
+        private int inputChannelCount = 1;
+        private int channel = -1;
+        private SampleFormat inputSampleFormat = SampleFormat.SIGNED_16;
+        private boolean isInputBigEndian = false;
+        private int outputSampleRate = 16000;
+        private int frameLength = 0;
+        private int blockAlign = 0;
+
+        /**
+         * Setter for the sample rate of the input audio.
+         *
+         * @param inputSampleRate Input sample rate in Hz.
+         */
+        public Builder setInputSampleRate(int inputSampleRate) {
+            this.inputSampleRate = inputSampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for the number of interleaved channels in the input audio.
+         *
+         * @param inputChannelCount Number of input channels.
+         */
+        public Builder setInputChannelCount(int inputChannelCount) {
+            this.inputChannelCount = inputChannelCount;
+            return this;
+        }
+
+        /**
+         * Setter for the input channel to convert.
+         *
+         * @param channel Index of the channel to keep. Set to -1 (default) to average all channels.
+         */
+        public Builder setChannel(int channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        /**
+         * Setter for the encoding of input samples.
+         *
+         * @param inputSampleFormat Input sample encoding.
+         */
+        public Builder setInputSampleFormat(SampleFormat inputSampleFormat) {
+            this.inputSampleFormat = inputSampleFormat;
+            return this;
+        }
+
+        /**
+         * Setter for the byte order of input samples.
+         *
+         * @param isInputBigEndian Set to `true` if input samples are big-endian. Default is little-endian.
+         */
+        public Builder setInputBigEndian(boolean isInputBigEndian) {
+            this.isInputBigEndian = isInputBigEndian;
+            return this;
+        }
+
+        /**
+         * Setter for the output sample rate. Should be set to {@link Cheetah#getSampleRate()}.
+         *
+         * @param outputSampleRate Output sample rate in Hz.
+         */
+        public Builder setOutputSampleRate(int outputSampleRate) {
+            this.outputSampleRate = outputSampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for the output frame length. Should be set to {@link Cheetah#getFrameLength()}.
+         *
+         * @param frameLength Number of samples per output frame.
+         */
+        public Builder setFrameLength(int frameLength) {
+            this.frameLength = frameLength;
+            return this;
+        }
+
+        /**
+         * Setter for the block size of block-based formats. Corresponds to the `nBlockAlign` field of a WAV file.
+         *
+         * @param blockAlign Size of a block in bytes, including the headers of all channels.
+         */
+        public Builder setBlockAlign(int blockAlign) {
+            this.blockAlign = blockAlign;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahAudioConverter.
+         *
+         * @return An instance of CheetahAudioConverter.
+         * @throws CheetahInvalidArgumentException if a property is invalid.
+         */
+        public CheetahAudioConverter build() throws CheetahInvalidArgumentException {
+            if (inputSampleRate <= 0 || outputSampleRate <= 0) {
+                throw new CheetahInvalidArgumentException("Sample rates must be greater than 0");
+            }
+
+            if (inputChannelCount <= 0) {
+                throw new CheetahInvalidArgumentException("inputChannelCount must be greater than 0");
+            }
+
+            if (channel < -1 || channel >= inputChannelCount) {
+                throw new CheetahInvalidArgumentException(String.format(
+                        "channel must be -1 or an index between 0 and %d", inputChannelCount - 1));
+            }
+
+            if (inputSampleFormat == null) {
+                throw new CheetahInvalidArgumentException("inputSampleFormat must not be null");
+            }
+
+            if (frameLength <= 0) {
+                throw new CheetahInvalidArgumentException("frameLength must be greater than 0");
+            }
+
+            if (inputSampleFormat == SampleFormat.IMA_ADPCM
+                    && (blockAlign <= 4 * inputChannelCount || blockAlign % (4 * inputChannelCount) != 0)) {
+                throw new CheetahInvalidArgumentException(
+                        "blockAlign must be a multiple of 4 bytes per channel and larger than the block header");
+            }
+
+            return new CheetahAudioConverter(
+                    inputSampleRate,
+                    inputChannelCount,
+                    channel,
+                    inputSampleFormat,
+                    isInputBigEndian,
+                    outputSampleRate,
+                    frameLength,
+                    blockAlign);
+        }
+    }
+}
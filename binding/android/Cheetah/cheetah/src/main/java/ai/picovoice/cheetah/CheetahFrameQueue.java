@@ -0,0 +1,136 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of fixed-length audio frames for exactly one producer thread and one consumer thread.
+ *
+ * <p>Frames are copied into, and out of, a single preallocated `short` array, so neither side allocates or takes a
+ * lock. Each side owns one sequence counter; the counters are separate objects so that the two threads do not
+ * write to the same cache line. When the queue is full, {@link #offer(short[])} drops the frame and counts an
+ * overrun instead of waiting for the consumer.
+ */
+final class CheetahFrameQueue {
+
+    private final short[] buffer;
+    private final int frameLength;
+    private final int mask;
+
+    // sequence of the next frame to write; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+    // sequence of the next frame to read; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+
+    // producer-local copy of `head`, refreshed only when the queue looks full
+    private long cachedHead;
+    // consumer-local copy of `tail`, refreshed only when the queue looks empty
+    private long cachedTail;
+
+    private volatile long numOverruns;
+    private volatile int maxDepth;
+
+    /**
+     * @param frameLength Number of samples per frame.
+     * @param capacity    Minimum number of frames the queue holds. Rounded up to a power of two.
+     */
+    CheetahFrameQueue(int frameLength, int capacity) {
+        int numSlots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.buffer = new short[numSlots * frameLength];
+        this.frameLength = frameLength;
+        this.mask = numSlots - 1;
+    }
+
+    /**
+     * Copies a frame into the queue. Called from the producer thread only.
+     *
+     * @param frame Frame of {@link #getFrameLength()} samples.
+     * @return `false` if the queue was full and the frame was dropped.
+     */
+    boolean offer(short[] frame) {
+        long sequence = tail.get();
+        if (sequence - cachedHead > mask) {
+            cachedHead = head.get();
+            if (sequence - cachedHead > mask) {
+                numOverruns++;
+                return false;
+            }
+        }
+
+        System.arraycopy(frame, 0, buffer, (int) (sequence & mask) * frameLength, frameLength);
+        // publishes the samples written above before the consumer can see the new sequence
+        tail.lazySet(sequence + 1);
+
+        if (sequence + 1 - cachedHead > maxDepth) {
+            // `cachedHead` may be stale, which would overstate the depth
+            cachedHead = head.get();
+            int depth = (int) (sequence + 1 - cachedHead);
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the oldest frame out of the queue. Called from the consumer thread only.
+     *
+     * @param frame Array of {@link #getFrameLength()} samples that receives the frame.
+     * @return `false` if the queue was empty.
+     */
+    boolean poll(short[] frame) {
+        long sequence = head.get();
+        if (sequence >= cachedTail) {
+            cachedTail = tail.get();
+            if (sequence >= cachedTail) {
+                return false;
+            }
+        }
+
+        System.arraycopy(buffer, (int) (sequence & mask) * frameLength, frame, 0, frameLength);
+        // releases the slot only after the samples have been copied out
+        head.lazySet(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Discards all queued frames. Called from the consumer thread only.
+     */
+    void clear() {
+        cachedTail = tail.get();
+        head.lazySet(cachedTail);
+    }
+
+    int getFrameLength() {
+        return frameLength;
+    }
+
+    int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return Number of frames that were dropped because the queue was full.
+     */
+    long getNumOverruns() {
+        return numOverruns;
+    }
+
+    /**
+     * @return Largest number of frames that were queued at once.
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+}
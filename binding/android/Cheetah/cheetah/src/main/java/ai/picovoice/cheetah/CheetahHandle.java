@@ -0,0 +1,95 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free lifecycle guard around a native handle.
+ *
+ * <p>Every native call is bracketed by {@link #acquire()} and {@link #release()}. The state packs a closed flag
+ * in the sign bit and the number of in-flight calls in the remaining bits. {@link #close()} sets the flag so no
+ * new calls are admitted, and the native handle is deleted by whichever thread brings the in-flight count down
+ * to zero, so a delete racing a process call never frees memory that is still in use.
+ */
+class CheetahHandle {
+
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final long value;
+    private final Runnable deleter;
+    private final AtomicInteger state = new AtomicInteger(0);
+
+    CheetahHandle(long value, Runnable deleter) {
+        this.value = value;
+        this.deleter = deleter;
+    }
+
+    /**
+     * Getter for the raw native handle. Only valid between {@link #acquire()} and {@link #release()}.
+     *
+     * @return Native handle.
+     */
+    long get() {
+        return value;
+    }
+
+    /**
+     * Registers an in-flight call.
+     *
+     * @return `false` if the handle is closed, in which case {@link #release()} must not be called.
+     */
+    boolean acquire() {
+        while (true) {
+            int current = state.get();
+            if ((current & CLOSED) != 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Unregisters an in-flight call. Deletes the native handle if it is the last call after {@link #close()}.
+     */
+    void release() {
+        if (state.decrementAndGet() == CLOSED) {
+            deleter.run();
+        }
+    }
+
+    /**
+     * Stops admitting new calls. The native handle is deleted immediately if there are no in-flight calls,
+     * otherwise once the last one completes. Subsequent calls have no effect.
+     */
+    void close() {
+        while (true) {
+            int current = state.get();
+            if ((current & CLOSED) != 0) {
+                return;
+            }
+            if (state.compareAndSet(current, current | CLOSED)) {
+                if (current == 0) {
+                    deleter.run();
+                }
+                return;
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return (state.get() & CLOSED) != 0;
+    }
+}
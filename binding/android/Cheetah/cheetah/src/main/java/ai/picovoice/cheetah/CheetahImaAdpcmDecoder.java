@@ -0,0 +1,133 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+/**
+ * Streaming decoder for IMA ADPCM as stored in WAV files (format tag 0x0011).
+ *
+ * <p>Audio is split into blocks of `blockAlign` bytes. Each block starts with a 4-byte header per channel holding
+ * the initial sample and step index, followed by 4-bit codes interleaved in groups of 4 bytes (8 samples) per
+ * channel. Bytes are accumulated until a block is complete, so input may be split at arbitrary positions.
+ */
+class CheetahImaAdpcmDecoder {
+
+    private static final int[] INDEX_TABLE = {
+            -1, -1, -1, -1, 2, 4, 6, 8,
+            -1, -1, -1, -1, 2, 4, 6, 8
+    };
+
+    private static final int[] STEP_TABLE = {
+            7, 8, 9, 10, 11, 12, 13, 14, 16, 17,
+            19, 21, 23, 25, 28, 31, 34, 37, 41, 45,
+            50, 55, 60, 66, 73, 80, 88, 97, 107, 118,
+            130, 143, 157, 173, 190, 209, 230, 253, 279, 307,
+            337, 371, 408, 449, 494, 544, 598, 658, 724, 796,
+            876, 963, 1060, 1166, 1282, 1411, 1552, 1707, 1878, 2066,
+            2272, 2499, 2749, 3024, 3327, 3660, 4026, 4428, 4871, 5358,
+            5894, 6484, 7132, 7845, 8630, 9493, 10442, 11487, 12635, 13899,
+            15289, 16818, 18500, 20350, 22385, 24623, 27086, 29794, 32767
+    };
+
+    private final int channelCount;
+    private final byte[] block;
+    private int blockLength = 0;
+
+    CheetahImaAdpcmDecoder(int blockAlign, int channelCount) {
+        this.channelCount = channelCount;
+        this.block = new byte[blockAlign];
+    }
+
+    /**
+     * Number of frames in a complete block.
+     */
+    int getFramesPerBlock() {
+        return (block.length / channelCount - 4) * 2 + 1;
+    }
+
+    /**
+     * Copies bytes into the current block until it is complete.
+     *
+     * @return Number of bytes consumed.
+     */
+    int append(byte[] data, int offset, int length) {
+        int numBytes = Math.min(block.length - blockLength, length);
+        System.arraycopy(data, offset, block, blockLength, numBytes);
+        blockLength += numBytes;
+        return numBytes;
+    }
+
+    boolean isBlockComplete() {
+        return blockLength == block.length;
+    }
+
+    boolean hasPartialBlock() {
+        return blockLength >= 4 * channelCount;
+    }
+
+    /**
+     * Decodes the current block, which may be a truncated final block, into interleaved samples and starts a new
+     * block.
+     *
+     * @return Number of frames written to `samples`.
+     */
+    int decodeBlock(short[] samples) {
+        int headerLength = 4 * channelCount;
+        if (blockLength < headerLength) {
+            blockLength = 0;
+            return 0;
+        }
+        int numGroups = (blockLength - headerLength) / headerLength;
+
+        for (int c = 0; c < channelCount; c++) {
+            int headerOffset = 4 * c;
+            int predictor = (short) ((block[headerOffset] & 0xFF) | (block[headerOffset + 1] << 8));
+            int index = Math.min(Math.max(block[headerOffset + 2] & 0xFF, 0), STEP_TABLE.length - 1);
+            samples[c] = (short) predictor;
+
+            int sampleIndex = channelCount + c;
+            for (int g = 0; g < numGroups; g++) {
+                int groupOffset = headerLength + (g * channelCount + c) * 4;
+                for (int b = 0; b < 4; b++) {
+                    int codes = block[groupOffset + b] & 0xFF;
+                    for (int n = 0; n < 2; n++) {
+                        int code = (codes >> (4 * n)) & 0x0F;
+                        int step = STEP_TABLE[index];
+                        int diff = step >> 3;
+                        if ((code & 1) != 0) {
+                            diff += step >> 2;
+                        }
+                        if ((code & 2) != 0) {
+                            diff += step >> 1;
+                        }
+                        if ((code & 4) != 0) {
+                            diff += step;
+                        }
+                        predictor += (code & 8) != 0 ? -diff : diff;
+                        predictor = Math.min(Math.max(predictor, Short.MIN_VALUE), Short.MAX_VALUE);
+                        index = Math.min(Math.max(index + INDEX_TABLE[code], 0), STEP_TABLE.length - 1);
+
+                        samples[sampleIndex] = (short) predictor;
+                        sampleIndex += channelCount;
+                    }
+                }
+            }
+        }
+
+        blockLength = 0;
+        return 1 + numGroups * 8;
+    }
+
+    void reset() {
+        blockLength = 0;
+    }
+}
@@ -0,0 +1,425 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Captures audio from the microphone and transcribes it with Cheetah on two separate threads.
+ *
+ * <p>The capture thread only reads audio and copies each frame into a lock-free queue, so it never waits on the
+ * engine. A dedicated inference thread drains the queue and calls the {@link Listener}. If inference falls behind by
+ * more than the capacity of the queue, the newest frames are dropped and counted rather than stalling capture, which
+ * would lose audio inside the platform recorder instead.
+ *
+ * <p>The pipeline can be added as an observer of an activity or fragment lifecycle. Capture pauses while the owner
+ * is stopped, resumes when it is started again, and the pipeline is released when the owner is destroyed.
+ */
+public class CheetahPipeline implements DefaultLifecycleObserver {
+
+    // the queue absorbs slow inference, so the platform buffer only needs to cover scheduling jitter
+    private static final int NUM_CAPTURE_BUFFER_FRAMES = 4;
+
+    /**
+     * Receives results on the inference thread.
+     */
+    public interface Listener {
+        /**
+         * Called after a frame produces a non-empty partial transcript.
+         *
+         * @param transcript Partial transcript returned by `processAnnotated`.
+         */
+        void onPartialTranscript(CheetahTranscriptAnnotated transcript);
+
+        /**
+         * Called after an endpoint is detected, and once more when the pipeline is stopped.
+         *
+         * @param transcript Transcript returned by `flushAnnotated`.
+         */
+        void onFinalTranscript(CheetahTranscriptAnnotated transcript);
+
+        /**
+         * Called if capture or inference fails. Capture stops until the pipeline is stopped and started again.
+         *
+         * @param e The error.
+         */
+        void onError(CheetahException e);
+    }
+
+    private final Cheetah cheetah;
+    private final Listener listener;
+    private final int audioSource;
+    private final CheetahFrameQueue queue;
+
+    private final short[] inferenceFrame;
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+    private final Runnable drainRunnable = this::drain;
+
+    private HandlerThread inferenceThread;
+    private Handler inferenceHandler;
+    private AudioRecord audioRecord;
+    private Thread captureThread;
+    private volatile boolean isCapturing;
+    private volatile long numProcessedFrames;
+
+    private volatile boolean isStarted;
+    private boolean isPaused;
+
+    private CheetahPipeline(Cheetah cheetah, Listener listener, int audioSource, int queueCapacity) {
+        this.cheetah = cheetah;
+        this.listener = listener;
+        this.audioSource = audioSource;
+        this.queue = new CheetahFrameQueue(cheetah.getFrameLength(), queueCapacity);
+        this.inferenceFrame = new short[cheetah.getFrameLength()];
+    }
+
+    /**
+     * Starts capturing and transcribing audio. Has no effect if the pipeline is already started.
+     *
+     * @throws CheetahException if audio capture cannot be started, e.g. because the RECORD_AUDIO permission has
+     *                          not been granted.
+     */
+    public synchronized void start() throws CheetahException {
+        if (isStarted) {
+            return;
+        }
+        if (inferenceThread == null) {
+            inferenceThread = new HandlerThread("CheetahInference", Process.THREAD_PRIORITY_AUDIO);
+            inferenceThread.start();
+            inferenceHandler = new Handler(inferenceThread.getLooper());
+        }
+
+        startCapture();
+        isStarted = true;
+        isPaused = false;
+    }
+
+    /**
+     * Stops capturing, then waits until the audio that was already captured is transcribed and the engine is
+     * flushed. The flushed transcript is delivered to {@link Listener#onFinalTranscript} before this returns. Has no
+     * effect if the pipeline is not started.
+     */
+    public synchronized void stop() {
+        if (!isStarted) {
+            return;
+        }
+        isStarted = false;
+        isPaused = false;
+        stopCapture();
+
+        if (Looper.myLooper() == inferenceThread.getLooper()) {
+            drainAndFlush();
+            return;
+        }
+        CountDownLatch isFlushed = new CountDownLatch(1);
+        inferenceHandler.post(() -> {
+            drainAndFlush();
+            isFlushed.countDown();
+        });
+        boolean isInterrupted = false;
+        while (isFlushed.getCount() > 0) {
+            try {
+                isFlushed.await();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the pipeline and its inference thread. The Cheetah instance is not deleted.
+     */
+    public synchronized void release() {
+        stop();
+        if (inferenceThread != null) {
+            inferenceThread.quitSafely();
+            inferenceThread = null;
+            inferenceHandler = null;
+        }
+    }
+
+    /**
+     * Getter for whether the pipeline is started. A started pipeline does not capture while its lifecycle owner is
+     * stopped.
+     *
+     * @return Whether the pipeline is started.
+     */
+    public boolean isStarted() {
+        return isStarted;
+    }
+
+    /**
+     * Getter for the number of frames that were transcribed.
+     *
+     * @return Number of frames passed to Cheetah.
+     */
+    public long getNumProcessedFrames() {
+        return numProcessedFrames;
+    }
+
+    /**
+     * Getter for the number of frames that were dropped because inference fell behind by more than the capacity of
+     * the queue.
+     *
+     * @return Number of dropped frames.
+     */
+    public long getNumDroppedFrames() {
+        return queue.getNumOverruns();
+    }
+
+    /**
+     * Getter for the largest number of frames that waited for inference at once. A value close to
+     * {@link #getQueueCapacity()} means the queue is close to overrunning.
+     *
+     * @return Maximum queue depth in frames.
+     */
+    public int getMaxQueueDepth() {
+        return queue.getMaxDepth();
+    }
+
+    /**
+     * Getter for the capacity of the queue between the capture and inference threads.
+     *
+     * @return Queue capacity in frames.
+     */
+    public int getQueueCapacity() {
+        return queue.getCapacity();
+    }
+
+    @Override
+    public synchronized void onStart(@NonNull LifecycleOwner owner) {
+        if (!isStarted || !isPaused) {
+            return;
+        }
+        try {
+            startCapture();
+            isPaused = false;
+        } catch (CheetahException e) {
+            inferenceHandler.post(() -> listener.onError(e));
+        }
+    }
+
+    @Override
+    public synchronized void onStop(@NonNull LifecycleOwner owner) {
+        if (!isStarted || isPaused) {
+            return;
+        }
+        // queued audio is still transcribed, but the engine is not flushed, so speech continues across the pause
+        stopCapture();
+        isPaused = true;
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        owner.getLifecycle().removeObserver(this);
+        release();
+    }
+
+    private void startCapture() throws CheetahException {
+        int sampleRate = cheetah.getSampleRate();
+        int minBufferSize = AudioRecord.getMinBufferSize(
+                sampleRate,
+                AudioFormat.CHANNEL_IN_MONO,
+                AudioFormat.ENCODING_PCM_16BIT);
+        int bufferSize = Math.max(minBufferSize, cheetah.getFrameLength() * 2 * NUM_CAPTURE_BUFFER_FRAMES);
+
+        AudioRecord record;
+        try {
+            record = new AudioRecord(
+                    audioSource,
+                    sampleRate,
+                    AudioFormat.CHANNEL_IN_MONO,
+                    AudioFormat.ENCODING_PCM_16BIT,
+                    bufferSize);
+        } catch (IllegalArgumentException | SecurityException e) {
+            throw new CheetahRuntimeException(e);
+        }
+        if (record.getState() != AudioRecord.STATE_INITIALIZED) {
+            record.release();
+            throw new CheetahRuntimeException(
+                    "Failed to initialize audio capture. Ensure the RECORD_AUDIO permission is granted.");
+        }
+
+        try {
+            record.startRecording();
+        } catch (IllegalStateException e) {
+            record.release();
+            throw new CheetahRuntimeException(e);
+        }
+        audioRecord = record;
+        isCapturing = true;
+        captureThread = new Thread(() -> capture(record), "CheetahCapture");
+        captureThread.start();
+    }
+
+    private void stopCapture() {
+        if (audioRecord == null) {
+            return;
+        }
+        isCapturing = false;
+        audioRecord.stop();
+        try {
+            captureThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        audioRecord.release();
+        audioRecord = null;
+        captureThread = null;
+    }
+
+    private void capture(AudioRecord record) {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+
+        short[] frame = new short[queue.getFrameLength()];
+        while (isCapturing) {
+            int numSamplesRead = record.read(frame, 0, frame.length);
+            if (numSamplesRead < 0) {
+                isCapturing = false;
+                CheetahException e = new CheetahIOException(
+                        String.format("Failed to read audio (error %d).", numSamplesRead));
+                inferenceHandler.post(() -> listener.onError(e));
+                return;
+            }
+            if (numSamplesRead < frame.length) {
+                // only happens when capture is stopped
+                continue;
+            }
+
+            // a drain is only posted when none is pending, so the message queue is not touched for every frame
+            if (queue.offer(frame) && isDrainScheduled.compareAndSet(false, true)) {
+                inferenceHandler.post(drainRunnable);
+            }
+        }
+    }
+
+    private void drain() {
+        // cleared before polling, so a frame offered after the last poll schedules another drain
+        isDrainScheduled.set(false);
+        while (queue.poll(inferenceFrame)) {
+            try {
+                CheetahTranscriptAnnotated partial = cheetah.processAnnotated(inferenceFrame);
+                numProcessedFrames++;
+                if (!partial.getTranscript().isEmpty() || partial.getWordArray().length > 0) {
+                    listener.onPartialTranscript(partial);
+                }
+                if (partial.getIsEndpoint()) {
+                    listener.onFinalTranscript(cheetah.flushAnnotated());
+                }
+            } catch (CheetahException e) {
+                isCapturing = false;
+                queue.clear();
+                listener.onError(e);
+                return;
+            }
+        }
+    }
+
+    private void drainAndFlush() {
+        drain();
+        try {
+            listener.onFinalTranscript(cheetah.flushAnnotated());
+        } catch (CheetahException e) {
+            listener.onError(e);
+        }
+    }
+
+    /**
+     * Builder for creating instances of CheetahPipeline.
+     */
+    public static class Builder {
+
+        private Cheetah cheetah = null;
+        private Listener listener = null;
+        private int audioSource = MediaRecorder.AudioSource.MIC;
+        private int queueCapacity = 64;
+
+        /**
+         * Setter for the Cheetah instance that transcribes the audio. It must not be used elsewhere while the
+         * pipeline is started.
+         *
+         * @param cheetah Cheetah instance.
+         */
+        public Builder setCheetah(Cheetah cheetah) {
+            this.cheetah = cheetah;
+            return this;
+        }
+
+        /**
+         * Setter for the listener that receives results.
+         *
+         * @param listener Listener called on the inference thread.
+         */
+        public Builder setListener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Setter for the audio source. Default is `MediaRecorder.AudioSource.MIC`.
+         *
+         * @param audioSource One of the `MediaRecorder.AudioSource` constants.
+         */
+        public Builder setAudioSource(int audioSource) {
+            this.audioSource = audioSource;
+            return this;
+        }
+
+        /**
+         * Setter for the number of frames that can wait for inference before frames are dropped. It is rounded up
+         * to a power of two. Default is 64 frames, about two seconds of audio.
+         *
+         * @param queueCapacity Queue capacity in frames.
+         */
+        public Builder setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahPipeline.
+         *
+         * @return An instance of CheetahPipeline.
+         * @throws CheetahInvalidArgumentException if a property is missing or out of range.
+         */
+        public CheetahPipeline build() throws CheetahInvalidArgumentException {
+            if (cheetah == null) {
+                throw new CheetahInvalidArgumentException("No Cheetah instance was provided to CheetahPipeline");
+            }
+            if (listener == null) {
+                throw new CheetahInvalidArgumentException("No listener was provided to CheetahPipeline");
+            }
+            if (queueCapacity <= 0 || queueCapacity > (1 << 20)) {
+                throw new CheetahInvalidArgumentException(
+                        String.format("Queue capacity must be between 1 and %d frames", 1 << 20));
+            }
+            return new CheetahPipeline(cheetah, listener, audioSource, queueCapacity);
+        }
+    }
+}
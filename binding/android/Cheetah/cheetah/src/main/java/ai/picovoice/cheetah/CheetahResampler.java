@@ -0,0 +1,191 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.Arrays;
+
+/**
+ * Streaming rational resampler built on a polyphase Kaiser-windowed sinc filter.
+ *
+ * <p>The conversion ratio `outputRate / inputRate` is reduced to `L / M`. Conceptually the input is upsampled by
+ * `L`, low-pass filtered and decimated by `M`; the polyphase form only evaluates the `L` sub-filters at the output
+ * instants. The filter cuts off below the lower of the two Nyquist frequencies so that its stopband starts at it.
+ * When decimating, each phase has {@link #TAPS_PER_PHASE} taps per unit of `M / L`, rounded up, so the transition
+ * band keeps the same width relative to the output Nyquist frequency and content above it does not alias back
+ * into the output.
+ */
+class CheetahResampler {
+
+    static final int TAPS_PER_PHASE = 48;
+
+    private static final double KAISER_BETA = 8.0;
+    // the Kaiser window widens the transition band to about 10 / TAPS_PER_PHASE of the Nyquist frequency
+    private static final double CUTOFF_RATIO = 0.9;
+
+    private final int upFactor;
+    private final int downFactor;
+    private final int tapsPerPhase;
+    private final float[] coefficients;
+    private final float[] history;
+    private int historyIndex = 0;
+    private int phase = 0;
+    private boolean hasPendingInput = false;
+
+    CheetahResampler(int inputSampleRate, int outputSampleRate) {
+        int divisor = gcd(inputSampleRate, outputSampleRate);
+        this.upFactor = outputSampleRate / divisor;
+        this.downFactor = inputSampleRate / divisor;
+        this.tapsPerPhase = TAPS_PER_PHASE * Math.max(1, (downFactor + upFactor - 1) / upFactor);
+        this.coefficients = isPassthrough() ? new float[0] : designFilter(upFactor, downFactor, tapsPerPhase);
+        this.history = new float[2 * tapsPerPhase];
+    }
+
+    boolean isPassthrough() {
+        return upFactor == 1 && downFactor == 1;
+    }
+
+    /**
+     * Getter for the number of input samples each output sample is computed from.
+     */
+    int getTapsPerPhase() {
+        return tapsPerPhase;
+    }
+
+    /**
+     * Upper bound on the number of output samples produced from `numInputSamples` input samples.
+     */
+    int getMaxOutputLength(int numInputSamples) {
+        return (int) (((long) numInputSamples * upFactor + phase) / downFactor) + 1;
+    }
+
+    /**
+     * Resamples `length` samples of `input` into `output`.
+     *
+     * @return Number of samples written to `output`.
+     */
+    int process(float[] input, int offset, int length, float[] output) {
+        if (isPassthrough()) {
+            System.arraycopy(input, offset, output, 0, length);
+            return length;
+        }
+
+        int numOutput = 0;
+        for (int i = offset; i < offset + length; i++) {
+            numOutput = push(input[i], output, numOutput);
+        }
+        if (length > 0) {
+            hasPendingInput = true;
+        }
+        return numOutput;
+    }
+
+    /**
+     * Upper bound on the number of output samples produced by {@link #drain(float[])}.
+     */
+    int getMaxDrainLength() {
+        return getMaxOutputLength(tapsPerPhase - 1);
+    }
+
+    /**
+     * Pushes silence through the filter until every input sample processed since the last reset has left its
+     * history, and writes the resulting tail into `output`. Does nothing if no input is pending.
+     *
+     * @return Number of samples written to `output`.
+     */
+    int drain(float[] output) {
+        if (isPassthrough() || !hasPendingInput) {
+            return 0;
+        }
+
+        int numOutput = 0;
+        for (int i = 0; i < tapsPerPhase - 1; i++) {
+            numOutput = push(0f, output, numOutput);
+        }
+        hasPendingInput = false;
+        return numOutput;
+    }
+
+    void reset() {
+        Arrays.fill(history, 0f);
+        historyIndex = 0;
+        phase = 0;
+        hasPendingInput = false;
+    }
+
+    private int push(float sample, float[] output, int numOutput) {
+        history[historyIndex] = sample;
+        history[historyIndex + tapsPerPhase] = sample;
+
+        while (phase < upFactor) {
+            int coefficientIndex = phase * tapsPerPhase;
+            int historyStart = historyIndex + 1;
+            float sum = 0f;
+            for (int k = 0; k < tapsPerPhase; k++) {
+                sum += coefficients[coefficientIndex + k] * history[historyStart + k];
+            }
+            output[numOutput++] = sum;
+            phase += downFactor;
+        }
+        phase -= upFactor;
+
+        historyIndex = (historyIndex + 1) % tapsPerPhase;
+        return numOutput;
+    }
+
+    /**
+     * Designs the prototype low-pass filter and stores it as `upFactor` phases of `tapsPerPhase` taps. Within a
+     * phase the taps are ordered from the oldest to the newest input sample.
+     */
+    private static float[] designFilter(int upFactor, int downFactor, int tapsPerPhase) {
+        int length = upFactor * tapsPerPhase;
+        double cutoff = CUTOFF_RATIO * 0.5 / Math.max(upFactor, downFactor);
+        double center = (length - 1) / 2.0;
+        double besselBeta = bessel0(KAISER_BETA);
+
+        float[] coefficients = new float[length];
+        for (int p = 0; p < upFactor; p++) {
+            for (int k = 0; k < tapsPerPhase; k++) {
+                int n = p + upFactor * k;
+                double x = n - center;
+                double sinc = x == 0 ? 1.0 : Math.sin(2 * Math.PI * cutoff * x) / (2 * Math.PI * cutoff * x);
+                double ratio = x / (center + 1);
+                double window = bessel0(KAISER_BETA * Math.sqrt(Math.max(0.0, 1 - ratio * ratio))) / besselBeta;
+                double h = upFactor * 2 * cutoff * sinc * window;
+                coefficients[p * tapsPerPhase + (tapsPerPhase - 1 - k)] = (float) h;
+            }
+        }
+        return coefficients;
+    }
+
+    private static double bessel0(double x) {
+        double sum = 1.0;
+        double term = 1.0;
+        for (int k = 1; k < 50; k++) {
+            term *= (x / (2 * k)) * (x / (2 * k));
+            sum += term;
+            if (term < sum * 1e-12) {
+                break;
+            }
+        }
+        return sum;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
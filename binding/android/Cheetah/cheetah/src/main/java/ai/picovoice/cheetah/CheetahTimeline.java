@@ -0,0 +1,145 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+/**
+ * Sample-accurate timeline of the audio stream processed by a Cheetah instance.
+ *
+ * <p>The timeline counts every sample passed to `process` in a 64-bit counter that starts at zero when the
+ * instance is created and is never reset, including by `flush`. Word and endpoint positions are reported as
+ * absolute sample indices on this timeline. Cheetah times words from the start of the current utterance, so
+ * the timeline records the sample count at every `flush` and places each word at that anchor plus its offset
+ * within the utterance. Positions therefore keep the precision of the utterance-relative times however long the
+ * stream runs. Optionally, a sample index can be anchored to a wall-clock capture time so positions can be
+ * mapped to real time.
+ */
+public class CheetahTimeline {
+
+    private final int sampleRate;
+    private volatile long sampleCount = 0;
+    private long utteranceStartSample = 0;
+    private volatile WallClockAnchor wallClockAnchor = null;
+
+    CheetahTimeline(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Getter for the sample rate of the timeline.
+     *
+     * @return Sample rate in Hz.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Getter for the number of samples processed so far.
+     *
+     * @return Number of samples processed since the instance was created.
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Converts a sample index to seconds from the start of the stream.
+     *
+     * @param sampleIndex Absolute sample index.
+     * @return Seconds from the start of the stream.
+     */
+    public double toSeconds(long sampleIndex) {
+        return (double) sampleIndex / sampleRate;
+    }
+
+    /**
+     * Converts seconds from the start of the stream to the nearest sample index.
+     *
+     * @param seconds Seconds from the start of the stream.
+     * @return Absolute sample index.
+     */
+    public long toSampleIndex(double seconds) {
+        return Math.round(seconds * sampleRate);
+    }
+
+    /**
+     * Anchors a sample index to the wall-clock time at which it was captured. Re-anchoring periodically
+     * compensates for drift between the capture device clock and the system clock.
+     *
+     * @param sampleIndex Absolute sample index.
+     * @param epochMillis Capture time of the sample in milliseconds since the Unix epoch.
+     */
+    public void setWallClockAnchor(long sampleIndex, long epochMillis) {
+        wallClockAnchor = new WallClockAnchor(sampleIndex, epochMillis);
+    }
+
+    /**
+     * Getter for whether a wall-clock anchor has been set.
+     *
+     * @return Whether {@link #setWallClockAnchor(long, long)} has been called.
+     */
+    public boolean hasWallClockAnchor() {
+        return wallClockAnchor != null;
+    }
+
+    /**
+     * Converts a sample index to its wall-clock capture time using the most recent anchor.
+     *
+     * @param sampleIndex Absolute sample index.
+     * @return Capture time in milliseconds since the Unix epoch, or -1 if no anchor has been set.
+     */
+    public long toWallClockMillis(long sampleIndex) {
+        WallClockAnchor anchor = wallClockAnchor;
+        if (anchor == null) {
+            return -1;
+        }
+        return anchor.epochMillis + Math.round((sampleIndex - anchor.sampleIndex) * 1000.0 / sampleRate);
+    }
+
+    void advance(int numSamples) {
+        sampleCount += numSamples;
+    }
+
+    void resolve(CheetahTranscript transcript) {
+        transcript.setEndSample(sampleCount);
+        resolve(transcript.getWordArray());
+    }
+
+    void resolveFlush(CheetahTranscript transcript) {
+        resolve(transcript);
+        // the next utterance is timed from here
+        utteranceStartSample = sampleCount;
+    }
+
+    private void resolve(CheetahTranscript.Word[] words) {
+        if (words == null) {
+            return;
+        }
+        for (CheetahTranscript.Word word : words) {
+            word.setSampleRange(
+                    utteranceStartSample + toSampleIndex(word.getStartSec()),
+                    utteranceStartSample + toSampleIndex(word.getEndSec()),
+                    sampleRate);
+        }
+    }
+
+    private static final class WallClockAnchor {
+        private final long sampleIndex;
+        private final long epochMillis;
+
+        private WallClockAnchor(long sampleIndex, long epochMillis) {
+            this.sampleIndex = sampleIndex;
+            this.epochMillis = epochMillis;
+        }
+    }
+}
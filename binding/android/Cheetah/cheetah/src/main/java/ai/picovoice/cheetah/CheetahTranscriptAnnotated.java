@@ -21,6 +21,7 @@ public class CheetahTranscriptAnnotated {
     private final String transcript;
     private final CheetahTranscript.Word[] wordArray;
     private final boolean isEndpoint;
+    private long endSample = -1;
 
     /**
      * Constructor.
@@ -61,4 +62,19 @@ public class CheetahTranscriptAnnotated {
     public boolean getIsEndpoint() {
         return isEndpoint;
     }
+
+    /**
+     * Getter for the position of the end of the audio covered by this transcript. For a transcript with an
+     * endpoint, this is the position at which the endpoint was detected.
+     *
+     * @return Absolute index of the sample following the last sample processed, on the stream's
+     *         {@link CheetahTimeline}, or -1 if the transcript was not produced by Cheetah.
+     */
+    public long getEndSample() {
+        return endSample;
+    }
+
+    void setEndSample(long endSample) {
+        this.endSample = endSample;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,411 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Assembles the partial transcripts returned by Cheetah into complete utterances.
+ *
+ * <p>Partial results are appended with {@link #append(CheetahTranscript)} after every call to `process`. Once
+ * Cheetah detects an endpoint, the result of `flush` is passed to {@link #finish(CheetahTranscript)}, which
+ * returns an immutable {@link Utterance}. Words of the utterance in progress are kept in reusable primitive
+ * buffers, and completed utterances are only retained within the configured history window. An utterance that
+ * reaches the maximum length without an endpoint, e.g. because endpointing is disabled, is closed early by
+ * `append`, so memory use stays flat over arbitrarily long streams.
+ */
+public class CheetahUtteranceAssembler {
+
+    private static final int INITIAL_WORD_CAPACITY = 64;
+
+    private final float historyDurationSec;
+    private final int maxHistoryChars;
+    private final int maxUtteranceWords;
+
+    private final StringBuilder transcript = new StringBuilder();
+    private String[] words = new String[INITIAL_WORD_CAPACITY];
+    private float[] startSecs = new float[INITIAL_WORD_CAPACITY];
+    private float[] endSecs = new float[INITIAL_WORD_CAPACITY];
+    private float[] confidences = new float[INITIAL_WORD_CAPACITY];
+    private long[] startSamples = new long[INITIAL_WORD_CAPACITY];
+    private long[] endSamples = new long[INITIAL_WORD_CAPACITY];
+    private int sampleRate = 0;
+    private int numWords = 0;
+
+    private final ArrayDeque<Utterance> history = new ArrayDeque<>();
+    private int numHistoryChars = 0;
+
+    private CheetahUtteranceAssembler(float historyDurationSec, int maxHistoryChars, int maxUtteranceWords) {
+        this.historyDurationSec = historyDurationSec;
+        this.maxHistoryChars = maxHistoryChars;
+        this.maxUtteranceWords = maxUtteranceWords;
+    }
+
+    /**
+     * Appends a partial result returned by {@link Cheetah#process(short[])}.
+     *
+     * @param transcript Partial transcript.
+     * @return The utterance in progress if this result made it reach the maximum number of words, in which case
+     *         it is completed as if an endpoint had been detected; otherwise `null`.
+     */
+    public Utterance append(CheetahTranscript transcript) {
+        append(transcript.getTranscript(), transcript.getWordArray());
+        return numWords >= maxUtteranceWords ? finish() : null;
+    }
+
+    /**
+     * Appends a partial result returned by {@link Cheetah#processAnnotated(short[])}.
+     *
+     * @param transcript Partial transcript.
+     * @return The utterance in progress if this result made it reach the maximum number of words, in which case
+     *         it is completed as if an endpoint had been detected; otherwise `null`.
+     */
+    public Utterance append(CheetahTranscriptAnnotated transcript) {
+        append(transcript.getTranscript(), transcript.getWordArray());
+        return numWords >= maxUtteranceWords ? finish() : null;
+    }
+
+    /**
+     * Appends the result returned by {@link Cheetah#flush()} and completes the current utterance.
+     *
+     * @param transcript Transcript returned by flush.
+     * @return The completed utterance, or `null` if no speech was transcribed since the last utterance.
+     */
+    public Utterance finish(CheetahTranscript transcript) {
+        append(transcript.getTranscript(), transcript.getWordArray());
+        return finish();
+    }
+
+    /**
+     * Appends the result returned by {@link Cheetah#flushAnnotated()} and completes the current utterance.
+     *
+     * @param transcript Transcript returned by flush.
+     * @return The completed utterance, or `null` if no speech was transcribed since the last utterance.
+     */
+    public Utterance finish(CheetahTranscriptAnnotated transcript) {
+        append(transcript.getTranscript(), transcript.getWordArray());
+        return finish();
+    }
+
+    /**
+     * Getter for the transcript of the utterance in progress.
+     *
+     * @return Transcript accumulated since the last completed utterance.
+     */
+    public String getPartialTranscript() {
+        return transcript.toString();
+    }
+
+    /**
+     * Getter for the number of words in the utterance in progress.
+     *
+     * @return Number of words accumulated since the last completed utterance.
+     */
+    public int getPartialWordCount() {
+        return numWords;
+    }
+
+    /**
+     * Getter for the completed utterances that are still within the history window, oldest first.
+     *
+     * @return Completed utterances.
+     */
+    public List<Utterance> getHistory() {
+        return Collections.unmodifiableList(new ArrayList<>(history));
+    }
+
+    /**
+     * Discards the utterance in progress and the history.
+     */
+    public void reset() {
+        transcript.setLength(0);
+        Arrays.fill(words, 0, numWords, null);
+        numWords = 0;
+        history.clear();
+        numHistoryChars = 0;
+    }
+
+    private void append(String text, CheetahTranscript.Word[] wordArray) {
+        transcript.append(text);
+        if (wordArray == null) {
+            return;
+        }
+
+        ensureWordCapacity(numWords + wordArray.length);
+        for (CheetahTranscript.Word word : wordArray) {
+            words[numWords] = word.getWord();
+            startSecs[numWords] = word.getStartSec();
+            endSecs[numWords] = word.getEndSec();
+            confidences[numWords] = word.getConfidence();
+            startSamples[numWords] = word.getStartSample();
+            endSamples[numWords] = word.getEndSample();
+            sampleRate = word.getSampleRate();
+            numWords++;
+        }
+    }
+
+    private Utterance finish() {
+        String text = transcript.toString().trim();
+        transcript.setLength(0);
+        if (text.isEmpty() && numWords == 0) {
+            return null;
+        }
+
+        Utterance utterance = new Utterance(
+                text,
+                Arrays.copyOf(words, numWords),
+                Arrays.copyOf(startSecs, numWords),
+                Arrays.copyOf(endSecs, numWords),
+                Arrays.copyOf(confidences, numWords),
+                Arrays.copyOf(startSamples, numWords),
+                Arrays.copyOf(endSamples, numWords),
+                sampleRate);
+        Arrays.fill(words, 0, numWords, null);
+        numWords = 0;
+
+        history.addLast(utterance);
+        numHistoryChars += text.length();
+        trimHistory(utterance.getAbsoluteEndSec());
+        return utterance;
+    }
+
+    private void trimHistory(double latestEndSec) {
+        while (!history.isEmpty()) {
+            Utterance oldest = history.peekFirst();
+            boolean isOverSize = numHistoryChars > maxHistoryChars;
+            boolean isExpired = historyDurationSec == 0f
+                    || oldest.getAbsoluteEndSec() < latestEndSec - historyDurationSec;
+            if (!isOverSize && !isExpired) {
+                break;
+            }
+            history.removeFirst();
+            numHistoryChars -= oldest.getTranscript().length();
+        }
+    }
+
+    private void ensureWordCapacity(int capacity) {
+        if (capacity <= words.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, words.length * 2);
+        words = Arrays.copyOf(words, newCapacity);
+        startSecs = Arrays.copyOf(startSecs, newCapacity);
+        endSecs = Arrays.copyOf(endSecs, newCapacity);
+        confidences = Arrays.copyOf(confidences, newCapacity);
+        startSamples = Arrays.copyOf(startSamples, newCapacity);
+        endSamples = Arrays.copyOf(endSamples, newCapacity);
+    }
+
+    /**
+     * A completed utterance: the transcript between two endpoints and its words.
+     */
+    public static class Utterance {
+        private final String transcript;
+        private final String[] words;
+        private final float[] startSecs;
+        private final float[] endSecs;
+        private final float[] confidences;
+        private final long[] startSamples;
+        private final long[] endSamples;
+        private final int sampleRate;
+
+        private Utterance(
+                String transcript,
+                String[] words,
+                float[] startSecs,
+                float[] endSecs,
+                float[] confidences,
+                long[] startSamples,
+                long[] endSamples,
+                int sampleRate) {
+            this.transcript = transcript;
+            this.words = words;
+            this.startSecs = startSecs;
+            this.endSecs = endSecs;
+            this.confidences = confidences;
+            this.startSamples = startSamples;
+            this.endSamples = endSamples;
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * Getter for the transcript.
+         *
+         * @return Transcript of the utterance.
+         */
+        public String getTranscript() {
+            return transcript;
+        }
+
+        /**
+         * Getter for the number of words.
+         *
+         * @return Number of words in the utterance.
+         */
+        public int getWordCount() {
+            return words.length;
+        }
+
+        /**
+         * Getter for a word of the utterance.
+         *
+         * @param index Index of the word.
+         * @return Transcribed word and its associated metadata.
+         */
+        public CheetahTranscript.Word getWord(int index) {
+            CheetahTranscript.Word word =
+                    new CheetahTranscript.Word(words[index], confidences[index], startSecs[index], endSecs[index]);
+            word.setSampleRange(startSamples[index], endSamples[index], sampleRate);
+            return word;
+        }
+
+        /**
+         * Getter for the words of the utterance.
+         *
+         * @return Transcribed words and their associated metadata.
+         */
+        public CheetahTranscript.Word[] getWordArray() {
+            CheetahTranscript.Word[] wordArray = new CheetahTranscript.Word[words.length];
+            for (int i = 0; i < words.length; i++) {
+                wordArray[i] = getWord(i);
+            }
+            return wordArray;
+        }
+
+        /**
+         * Getter for the start of the utterance in seconds.
+         *
+         * @return Start of the first word in seconds, or 0 if the utterance has no words.
+         */
+        public float getStartSec() {
+            return startSecs.length > 0 ? startSecs[0] : 0f;
+        }
+
+        /**
+         * Getter for the end of the utterance in seconds.
+         *
+         * @return End of the last word in seconds, or 0 if the utterance has no words.
+         */
+        public float getEndSec() {
+            return endSecs.length > 0 ? endSecs[endSecs.length - 1] : 0f;
+        }
+
+        /**
+         * Getter for the start of the utterance as an absolute sample index on the stream's
+         * {@link CheetahTimeline}.
+         *
+         * @return Index of the first sample of the first word, or -1 if unknown.
+         */
+        public long getStartSample() {
+            return startSamples.length > 0 ? startSamples[0] : -1;
+        }
+
+        /**
+         * Getter for the end of the utterance as an absolute sample index on the stream's {@link CheetahTimeline}.
+         *
+         * @return Index of the last sample of the last word, or -1 if unknown.
+         */
+        public long getEndSample() {
+            return endSamples.length > 0 ? endSamples[endSamples.length - 1] : -1;
+        }
+
+        /**
+         * Getter for the start of the utterance in seconds from the start of the stream, in double precision.
+         *
+         * @return Start of the first word in seconds, or 0 if the utterance has no words.
+         */
+        public double getAbsoluteStartSec() {
+            return words.length > 0 ? getWord(0).getAbsoluteStartSec() : 0.0;
+        }
+
+        /**
+         * Getter for the end of the utterance in seconds from the start of the stream, in double precision.
+         *
+         * @return End of the last word in seconds, or 0 if the utterance has no words.
+         */
+        public double getAbsoluteEndSec() {
+            return words.length > 0 ? getWord(words.length - 1).getAbsoluteEndSec() : 0.0;
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahUtteranceAssembler.
+     */
+    public static class Builder {
+        private float historyDurationSec = 60f;
+        private int maxHistoryChars = 16384;
+        private int maxUtteranceWords = 1024;
+
+        /**
+         * Setter for the history window duration.
+         *
+         * @param historyDurationSec Completed utterances that ended more than this many seconds before the most
+         *                           recent one are discarded. Set to 0 to keep no history, not even the
+         *                           most recent utterance.
+         */
+        public Builder setHistoryDuration(float historyDurationSec) {
+            this.historyDurationSec = historyDurationSec;
+            return this;
+        }
+
+        /**
+         * Setter for the history size limit.
+         *
+         * @param maxHistoryChars Maximum total number of transcript characters retained in the history. The
+         *                        oldest utterances are discarded first.
+         */
+        public Builder setMaxHistoryChars(int maxHistoryChars) {
+            this.maxHistoryChars = maxHistoryChars;
+            return this;
+        }
+
+        /**
+         * Setter for the maximum length of an utterance. Defaults to 1024 words, several minutes of continuous
+         * speech.
+         *
+         * @param maxUtteranceWords Number of words after which the utterance in progress is completed even though
+         *                          no endpoint was detected.
+         */
+        public Builder setMaxUtteranceWords(int maxUtteranceWords) {
+            this.maxUtteranceWords = maxUtteranceWords;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahUtteranceAssembler.
+         *
+         * @return An instance of CheetahUtteranceAssembler.
+         * @throws CheetahInvalidArgumentException if a property is out of range.
+         */
+        public CheetahUtteranceAssembler build() throws CheetahInvalidArgumentException {
+            if (historyDurationSec < 0f) {
+                throw new CheetahInvalidArgumentException("historyDuration must be greater than or equal to 0.0");
+            }
+
+            if (maxHistoryChars < 0) {
+                throw new CheetahInvalidArgumentException("maxHistoryChars must be greater than or equal to 0");
+            }
+
+            if (maxUtteranceWords <= 0) {
+                throw new CheetahInvalidArgumentException("maxUtteranceWords must be greater than 0");
+            }
+
+            return new CheetahUtteranceAssembler(historyDurationSec, maxHistoryChars, maxUtteranceWords);
+        }
+    }
+}
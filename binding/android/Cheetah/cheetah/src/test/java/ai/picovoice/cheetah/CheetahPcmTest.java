@@ -0,0 +1,77 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+public class CheetahPcmTest {
+
+    @Test
+    public void pcmKernels() throws CheetahException {
+        byte[] bytes = new byte[]{0x01, (byte) 0x80, (byte) 0xFF, 0x7F};
+        short[] samples = new short[2];
+        CheetahPcm.decodePcm16(bytes, 0, samples, 0, 2, false);
+        assertArrayEquals(new short[]{(short) 0x8001, 0x7FFF}, samples);
+        CheetahPcm.decodePcm16(bytes, 0, samples, 0, 2, true);
+        assertArrayEquals(new short[]{0x0180, (short) 0xFF7F}, samples);
+        byte[] encoded = new byte[4];
+        CheetahPcm.encodePcm16(new short[]{(short) 0x8001, 0x7FFF}, 0, encoded, 0, 2);
+        assertArrayEquals(bytes, encoded);
+
+        short[] mono = new short[2];
+        CheetahPcm.downmix(new short[]{100, -200, 400, 3, 6, 9}, 0, 3, mono, 0, 2);
+        assertArrayEquals(new short[]{100, 6}, mono);
+
+        // the right channel of little-endian stereo
+        short[] frame = new short[2];
+        CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+                .setInputChannelCount(2)
+                .setChannel(1)
+                .setFrameLength(2)
+                .build();
+        converter.process(new byte[]{1, 0, 2, 0, 3, 0, 4, 0}, 0, 8, f -> System.arraycopy(f, 0, frame, 0, 2));
+        assertArrayEquals(new short[]{2, 4}, frame);
+    }
+
+    @Test
+    public void telephonyDecoding() throws CheetahException {
+        short[] samples = new short[4];
+        CheetahPcm.decodeMulaw(new byte[]{(byte) 0x00, (byte) 0x80, (byte) 0xFF, (byte) 0x7F}, 0, samples, 0, 4);
+        assertArrayEquals(new short[]{-32124, 32124, 0, 0}, samples);
+        CheetahPcm.decodeAlaw(new byte[]{(byte) 0xD5, (byte) 0x55, (byte) 0xAA, (byte) 0x2A}, 0, samples, 0, 4);
+        assertArrayEquals(new short[]{8, -8, 32256, -32256}, samples);
+
+        // mono mu-law and stereo A-law go through the bulk path of the converter
+        short[] frame = new short[2];
+        CheetahAudioConverter mulawConverter = new CheetahAudioConverter.Builder()
+                .setInputSampleFormat(CheetahAudioConverter.SampleFormat.MULAW)
+                .setFrameLength(2)
+                .build();
+        mulawConverter.process(new byte[]{(byte) 0xFF, (byte) 0x7F}, 0, 2, f -> System.arraycopy(f, 0, frame, 0, 2));
+        assertArrayEquals(new short[]{0, 0}, frame);
+
+        CheetahAudioConverter alawConverter = new CheetahAudioConverter.Builder()
+                .setInputChannelCount(2)
+                .setInputSampleFormat(CheetahAudioConverter.SampleFormat.ALAW)
+                .setFrameLength(2)
+                .build();
+        alawConverter.process(
+                new byte[]{(byte) 0xD5, (byte) 0xD5, (byte) 0xAA, (byte) 0x2A},
+                0,
+                4,
+                f -> System.arraycopy(f, 0, frame, 0, 2));
+        assertArrayEquals(new short[]{8, 0}, frame);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class CheetahResamplerTest {
+
+    @Test
+    public void resamplerStopband() {
+        int[] inputSampleRates = {44100, 48000, 192000};
+        for (int inputSampleRate : inputSampleRates) {
+            // a tone in the passband is kept, and tones above the output Nyquist frequency must not alias into it
+            assertEquals(0.0, resampledToneGainDb(inputSampleRate, 6000), 0.5);
+            assertTrue(resampledToneGainDb(inputSampleRate, 8500) < -60);
+            assertTrue(resampledToneGainDb(inputSampleRate, 9000) < -60);
+            assertTrue(resampledToneGainDb(inputSampleRate, 12000) < -60);
+        }
+        assertEquals(CheetahResampler.TAPS_PER_PHASE * 12, new CheetahResampler(192000, 16000).getTapsPerPhase());
+        assertEquals(CheetahResampler.TAPS_PER_PHASE, new CheetahResampler(8000, 16000).getTapsPerPhase());
+    }
+
+    @Test
+    public void resamplerDrain() {
+        CheetahResampler resampler = new CheetahResampler(48000, 16000);
+        float[] input = new float[3000];
+        Arrays.fill(input, 0.5f);
+        float[] output = new float[resampler.getMaxOutputLength(input.length)];
+        float[] tail = new float[resampler.getMaxDrainLength()];
+        assertEquals(0, resampler.drain(tail));
+
+        int numOutput = resampler.process(input, 0, input.length, output);
+        assertEquals(0.5, output[numOutput - 1], 1e-3);
+
+        // the tail falls from the last input samples back to silence over the length of the filter
+        int numDrained = resampler.drain(tail);
+        assertEquals((resampler.getTapsPerPhase() - 1) / 3.0, numDrained, 1.0);
+        double sum = 0;
+        for (int i = 0; i < numDrained; i++) {
+            sum += tail[i];
+        }
+        assertEquals(0.5 * resampler.getTapsPerPhase() / 2 / 3, sum, 0.5);
+        assertEquals(0.0, tail[numDrained - 1], 1e-3);
+        assertEquals(0, resampler.drain(tail));
+    }
+
+    private static double resampledToneGainDb(int inputSampleRate, double frequency) {
+        CheetahResampler resampler = new CheetahResampler(inputSampleRate, 16000);
+        float[] input = new float[inputSampleRate];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (float) Math.sin(2 * Math.PI * frequency * i / inputSampleRate);
+        }
+        float[] output = new float[resampler.getMaxOutputLength(input.length)];
+        int numOutput = resampler.process(input, 0, input.length, output);
+
+        // skip the start-up transient of the filter
+        double power = 0;
+        for (int i = numOutput / 2; i < numOutput; i++) {
+            power += output[i] * output[i];
+        }
+        power /= numOutput - numOutput / 2;
+        return 10 * Math.log10(power / 0.5);
+    }
+}
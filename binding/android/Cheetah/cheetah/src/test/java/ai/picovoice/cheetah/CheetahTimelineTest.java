@@ -0,0 +1,62 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CheetahTimelineTest {
+
+    @Test
+    public void timeline() {
+        CheetahTimeline timeline = new CheetahTimeline(16000);
+        long tenHours = 16000L * 60 * 60 * 10;
+        timeline.advance((int) (tenHours / 2));
+        timeline.advance((int) (tenHours / 2));
+        timeline.advance(1);
+        assertEquals(tenHours + 1, timeline.getSampleCount());
+        assertEquals(36000.0000625, timeline.toSeconds(timeline.getSampleCount()), 0.0);
+
+        assertEquals(-1, timeline.toWallClockMillis(0));
+        timeline.setWallClockAnchor(16000, 1_700_000_000_000L);
+        assertEquals(1_700_000_000_000L + 36_000_000L - 1000L, timeline.toWallClockMillis(tenHours));
+    }
+
+    @Test
+    public void timelineWordPositions() {
+        CheetahTimeline timeline = new CheetahTimeline(16000);
+        CheetahTranscript.Word first = new CheetahTranscript.Word("first", 0.9f, 0.5f, 0.75f);
+        timeline.advance(16000);
+        timeline.resolve(new CheetahTranscript("first", new CheetahTranscript.Word[]{first}, false));
+        assertEquals(8000, first.getStartSample());
+        assertEquals(12000, first.getEndSample());
+
+        // past 2^24 samples a float can no longer count single samples
+        long flushSample = (1L << 24) + 16001;
+        timeline.advance((int) (flushSample - 16000));
+        CheetahTranscript flushed = new CheetahTranscript("", new CheetahTranscript.Word[0], false);
+        timeline.resolveFlush(flushed);
+        assertEquals(flushSample, flushed.getEndSample());
+
+        CheetahTranscript.Word second = new CheetahTranscript.Word("second", 0.9f, 0.0625f, 0.25f);
+        timeline.advance(16000);
+        CheetahTranscript transcript = new CheetahTranscript(
+                "second", new CheetahTranscript.Word[]{second}, false);
+        timeline.resolve(transcript);
+        assertEquals(flushSample + 16000, transcript.getEndSample());
+        assertEquals(flushSample + 1000, second.getStartSample());
+        assertEquals(flushSample + 4000, second.getEndSample());
+        assertEquals((flushSample + 1000) / 16000.0, second.getAbsoluteStartSec(), 0.0);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class CheetahUtteranceAssemblerTest {
+
+    @Test
+    public void utteranceAssembler() throws CheetahException {
+        CheetahUtteranceAssembler assembler = new CheetahUtteranceAssembler.Builder()
+                .setHistoryDuration(10f)
+                .build();
+
+        assembler.append(new CheetahTranscript("hello", new CheetahTranscript.Word[]{
+                new CheetahTranscript.Word("hello", 0.9f, 0.5f, 0.8f)}, false));
+        assembler.append(new CheetahTranscript("", new CheetahTranscript.Word[0], true));
+        assertEquals("hello", assembler.getPartialTranscript());
+
+        CheetahUtteranceAssembler.Utterance first = assembler.finish(
+                new CheetahTranscript(" world", new CheetahTranscript.Word[]{
+                        new CheetahTranscript.Word("world", 0.8f, 0.9f, 1.2f)}, false));
+        assertEquals("hello world", first.getTranscript());
+        assertEquals(2, first.getWordCount());
+        assertEquals(0.5f, first.getStartSec(), 0f);
+        assertEquals(1.2f, first.getEndSec(), 0f);
+        assertEquals("", assembler.getPartialTranscript());
+        assertEquals(0, assembler.getPartialWordCount());
+
+        assertNull(assembler.finish(new CheetahTranscript("", new CheetahTranscript.Word[0], false)));
+
+        assembler.finish(new CheetahTranscript("later", new CheetahTranscript.Word[]{
+                new CheetahTranscript.Word("later", 0.7f, 20f, 20.5f)}, false));
+        assertEquals(1, assembler.getHistory().size());
+        assertEquals("later", assembler.getHistory().get(0).getTranscript());
+    }
+
+    @Test
+    public void maxUtteranceWords() throws CheetahException {
+        // without endpoints, utterances are closed at the maximum length, and no history is kept
+        CheetahUtteranceAssembler bounded = new CheetahUtteranceAssembler.Builder()
+                .setHistoryDuration(0f)
+                .setMaxUtteranceWords(3)
+                .build();
+        CheetahUtteranceAssembler.Utterance closed = null;
+        for (int i = 0; i < 3; i++) {
+            assertNull(closed);
+            closed = bounded.append(new CheetahTranscript(" word", new CheetahTranscript.Word[]{
+                    new CheetahTranscript.Word("word", 0.9f, i, i + 0.5f)}, false));
+        }
+        assertEquals("word word word", closed.getTranscript());
+        assertEquals(3, closed.getWordCount());
+        assertEquals(0, bounded.getPartialWordCount());
+        assertEquals("", bounded.getPartialTranscript());
+        assertEquals(0, bounded.getHistory().size());
+
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahUtteranceAssembler.Builder()
+                .setMaxUtteranceWords(0)
+                .build());
+    }
+}
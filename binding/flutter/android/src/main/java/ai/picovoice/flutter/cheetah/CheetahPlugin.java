@@ -1,5 +1,5 @@
 //
-// Copyright 2022-2024 Picovoice Inc.
+// Copyright 2022-2026 Picovoice Inc.
 //
 // You may not use this file except in compliance with the license. A copy of the license is located in the "LICENSE"
 // file accompanying this source.
@@ -29,28 +29,60 @@ import ai.picovoice.cheetah.CheetahRuntimeException;
 import ai.picovoice.cheetah.CheetahTranscript;
 import ai.picovoice.cheetah.CheetahTranscriptAnnotated;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
+import io.flutter.plugin.common.StandardMethodCodec;
 
-public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
+public class CheetahPlugin implements FlutterPlugin, MethodCallHandler, EventChannel.StreamHandler {
 
+    // method calls run on the channel's background task queue while teardown runs on the main thread, so both
+    // hold `lock` while they touch the instances
+    private final Object lock = new Object();
     private final Map<String, Cheetah> cheetahPool = new HashMap<>();
+    private final Map<String, short[]> frameBuffers = new HashMap<>();
+    private final Map<String, CheetahRecorder> recorders = new HashMap<>();
+    private boolean isDetached = false;
     private Context flutterContext;
     private MethodChannel channel;
+    private EventChannel eventChannel;
+
+    // only accessed from the main thread
+    private EventChannel.EventSink eventSink;
 
     @Override
     public void onAttachedToEngine(@NonNull FlutterPluginBinding flutterPluginBinding) {
         flutterContext = flutterPluginBinding.getApplicationContext();
-        channel = new MethodChannel(flutterPluginBinding.getBinaryMessenger(), "cheetah");
+        BinaryMessenger messenger = flutterPluginBinding.getBinaryMessenger();
+        // runs method calls, including inference, off the platform thread
+        BinaryMessenger.TaskQueue taskQueue = messenger.makeBackgroundTaskQueue();
+        channel = new MethodChannel(messenger, "cheetah", StandardMethodCodec.INSTANCE, taskQueue);
         channel.setMethodCallHandler(this);
+        eventChannel = new EventChannel(messenger, "cheetah/transcripts");
+        eventChannel.setStreamHandler(this);
 
         Cheetah.setSdk("flutter");
     }
 
     @Override
     public void onMethodCall(@NonNull MethodCall call, @NonNull Result result) {
+        synchronized (lock) {
+            if (isDetached) {
+                // a call that was queued before the engine detached
+                result.error(
+                        CheetahInvalidStateException.class.getSimpleName(),
+                        "Cheetah plugin is detached from the engine.",
+                        null);
+                return;
+            }
+            handleMethodCall(call, result);
+        }
+    }
+
+    private void handleMethodCall(@NonNull MethodCall call, @NonNull Result result) {
         Method method;
         try {
             method = Method.valueOf(call.method);
@@ -93,13 +125,50 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             case DELETE:
                 cheetahDelete(call, result);
                 break;
+            case START_LISTENING:
+                cheetahStartListening(call, result);
+                break;
+            case STOP_LISTENING:
+                cheetahStopListening(call, result);
+                break;
             default:
         }
     }
 
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        eventSink = events;
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        eventSink = null;
+    }
+
     @Override
     public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding) {
         channel.setMethodCallHandler(null);
+        eventChannel.setStreamHandler(null);
+
+        // waits for a call in progress on the task queue, e.g. `process`, before deleting its instance
+        synchronized (lock) {
+            isDetached = true;
+
+            for (CheetahRecorder recorder : recorders.values()) {
+                try {
+                    recorder.stop();
+                } catch (CheetahException ignored) {
+                    // the instance is deleted below
+                }
+            }
+            recorders.clear();
+
+            for (Cheetah cheetah : cheetahPool.values()) {
+                cheetah.delete();
+            }
+            cheetahPool.clear();
+            frameBuffers.clear();
+        }
     }
 
     private void cheetahCreate(@NonNull MethodCall call, @NonNull Result result) {
@@ -121,6 +190,7 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
 
             Cheetah cheetah = cheetahBuilder.build(flutterContext);
             cheetahPool.put(String.valueOf(System.identityHashCode(cheetah)), cheetah);
+            frameBuffers.put(String.valueOf(System.identityHashCode(cheetah)), new short[cheetah.getFrameLength()]);
 
             Map<String, Object> param = new HashMap<>();
             param.put("handle", String.valueOf(System.identityHashCode(cheetah)));
@@ -138,7 +208,7 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
 
     private void cheetahProcess(@NonNull MethodCall call, @NonNull Result result) {
         String handle = call.argument("handle");
-        ArrayList<Integer> pcmList = call.argument("frame");
+        Object frame = call.argument("frame");
 
         if (!cheetahPool.containsKey(handle)) {
             result.error(
@@ -157,12 +227,17 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             return;
         }
 
-        short[] pcm = null;
-        if (pcmList != null) {
-            pcm = new short[pcmList.size()];
-            for (int i = 0; i < pcmList.size(); i++) {
-                pcm[i] = pcmList.get(i).shortValue();
-            }
+        if (rejectIfListening(handle, result)) {
+            return;
+        }
+
+        short[] pcm = frameBuffers.get(handle);
+        if (!decodeFrame(frame, pcm)) {
+            result.error(
+                    CheetahInvalidArgumentException.class.getSimpleName(),
+                    String.format("Frame must contain %d 16-bit samples.", pcm.length),
+                    null);
+            return;
         }
 
         try {
@@ -183,7 +258,7 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
 
     private void cheetahProcessAnnotated(@NonNull MethodCall call, @NonNull Result result) {
         String handle = call.argument("handle");
-        ArrayList<Integer> pcmList = call.argument("frame");
+        Object frame = call.argument("frame");
 
         if (!cheetahPool.containsKey(handle)) {
             result.error(
@@ -202,12 +277,17 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             return;
         }
 
-        short[] pcm = null;
-        if (pcmList != null) {
-            pcm = new short[pcmList.size()];
-            for (int i = 0; i < pcmList.size(); i++) {
-                pcm[i] = pcmList.get(i).shortValue();
-            }
+        if (rejectIfListening(handle, result)) {
+            return;
+        }
+
+        short[] pcm = frameBuffers.get(handle);
+        if (!decodeFrame(frame, pcm)) {
+            result.error(
+                    CheetahInvalidArgumentException.class.getSimpleName(),
+                    String.format("Frame must contain %d 16-bit samples.", pcm.length),
+                    null);
+            return;
         }
 
         try {
@@ -257,6 +337,10 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             return;
         }
 
+        if (rejectIfListening(handle, result)) {
+            return;
+        }
+
         try {
             CheetahTranscript transcriptObj = cheetah.flush();
 
@@ -292,6 +376,10 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             return;
         }
 
+        if (rejectIfListening(handle, result)) {
+            return;
+        }
+
         try {
             CheetahTranscriptAnnotated transcriptObj = cheetah.flushAnnotated();
 
@@ -329,15 +417,166 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
             return;
         }
 
+        CheetahRecorder recorder = recorders.remove(handle);
+        if (recorder != null) {
+            try {
+                recorder.stop();
+            } catch (CheetahException ignored) {
+                // the instance is deleted below
+            }
+        }
+
         Cheetah cheetah = cheetahPool.get(handle);
         if (cheetah != null) {
             cheetah.delete();
         }
         cheetahPool.remove(handle);
+        frameBuffers.remove(handle);
 
         result.success(null);
     }
 
+    private void cheetahStartListening(@NonNull MethodCall call, @NonNull Result result) {
+        String handle = call.argument("handle");
+
+        if (!cheetahPool.containsKey(handle)) {
+            result.error(
+                    CheetahInvalidStateException.class.getSimpleName(),
+                    "Invalid cheetah handle provided to native module",
+                    null);
+            return;
+        }
+
+        Cheetah cheetah = cheetahPool.get(handle);
+        if (cheetah == null) {
+            result.error(
+                    CheetahInvalidStateException.class.getSimpleName(),
+                    "Instance of Cheetah no longer exists.",
+                    null);
+            return;
+        }
+
+        if (rejectIfListening(handle, result)) {
+            return;
+        }
+
+        CheetahRecorder recorder = new CheetahRecorder(cheetah, new CheetahRecorder.Listener() {
+            @Override
+            public void onTranscript(String transcript, List<CheetahTranscript.Word> words, boolean isEndpoint) {
+                if (eventSink == null) {
+                    return;
+                }
+                Map<String, Object> event = new HashMap<>();
+                event.put("handle", handle);
+                event.put("transcript", transcript);
+                event.put("words", wordsToList(words.toArray(new CheetahTranscript.Word[0])));
+                event.put("isEndpoint", isEndpoint);
+                eventSink.success(event);
+            }
+
+            @Override
+            public void onError(CheetahException e) {
+                if (eventSink == null) {
+                    return;
+                }
+                eventSink.error(e.getClass().getSimpleName(), e.getMessage(), handle);
+            }
+        });
+
+        try {
+            recorder.start();
+            recorders.put(handle, recorder);
+            result.success(null);
+        } catch (CheetahException e) {
+            result.error(
+                    e.getClass().getSimpleName(),
+                    e.getMessage(),
+                    null);
+        }
+    }
+
+    private void cheetahStopListening(@NonNull MethodCall call, @NonNull Result result) {
+        String handle = call.argument("handle");
+
+        CheetahRecorder recorder = recorders.remove(handle);
+        if (recorder == null) {
+            result.error(
+                    CheetahInvalidStateException.class.getSimpleName(),
+                    "Cheetah is not listening.",
+                    null);
+            return;
+        }
+
+        try {
+            CheetahTranscriptAnnotated transcriptObj = recorder.stop();
+
+            Map<String, Object> param = new HashMap<>();
+            param.put("transcript", transcriptObj.getTranscript());
+            param.put("words", wordsToList(transcriptObj.getWordArray()));
+
+            result.success(param);
+        } catch (CheetahException e) {
+            result.error(
+                    e.getClass().getSimpleName(),
+                    e.getMessage(),
+                    null);
+        }
+    }
+
+    private boolean rejectIfListening(String handle, @NonNull Result result) {
+        if (recorders.containsKey(handle)) {
+            // the capture loop owns the instance until it is stopped
+            result.error(
+                    CheetahInvalidStateException.class.getSimpleName(),
+                    "Cheetah is listening. Call `stopListening()` first.",
+                    null);
+            return true;
+        }
+        return false;
+    }
+
+    private static ArrayList<Map<String, Object>> wordsToList(CheetahTranscript.Word[] wordArray) {
+        ArrayList<Map<String, Object>> words = new ArrayList<>();
+        for (CheetahTranscript.Word word : wordArray) {
+            Map<String, Object> wordObj = new HashMap<>();
+            wordObj.put("word", word.getWord());
+            wordObj.put("startSeconds", word.getStartSec());
+            wordObj.put("endSeconds", word.getEndSec());
+            wordObj.put("confidence", word.getConfidence());
+            words.add(wordObj);
+        }
+        return words;
+    }
+
+    /**
+     * Copies a frame into `pcm`. Frames arrive as little-endian bytes (`Uint8List`), or as a list of integers from
+     * older callers.
+     *
+     * @return Whether the frame holds exactly `pcm.length` samples.
+     */
+    private static boolean decodeFrame(Object frame, short[] pcm) {
+        if (frame instanceof byte[]) {
+            byte[] bytes = (byte[]) frame;
+            if (bytes.length != pcm.length * 2) {
+                return false;
+            }
+            for (int i = 0; i < pcm.length; i++) {
+                pcm[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+            }
+            return true;
+        } else if (frame instanceof List) {
+            List<?> samples = (List<?>) frame;
+            if (samples.size() != pcm.length) {
+                return false;
+            }
+            for (int i = 0; i < pcm.length; i++) {
+                pcm[i] = ((Number) samples.get(i)).shortValue();
+            }
+            return true;
+        }
+        return false;
+    }
+
     private enum Method {
         GET_AVAILABLE_DEVICES,
         CREATE,
@@ -345,6 +584,8 @@ public class CheetahPlugin implements FlutterPlugin, MethodCallHandler {
         PROCESS_ANNOTATED,
         FLUSH,
         FLUSH_ANNOTATED,
-        DELETE
+        DELETE,
+        START_LISTENING,
+        STOP_LISTENING
     }
 }
@@ -0,0 +1,243 @@
+//
+// Copyright 2026 Picovoice Inc.
+//
+// You may not use this file except in compliance with the license. A copy of the license is located in the "LICENSE"
+// file accompanying this source.
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+// an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations under the License.
+//
+
+import AVFoundation
+import Cheetah
+
+/// Captures audio from the microphone and transcribes it on the audio queue's thread, so that audio never crosses the
+/// platform channel. Transcripts and words are accumulated and delivered on the main queue at most once per UI frame.
+class CheetahRecorder {
+    /// Receives text and words transcribed since the previous call and whether they end at an endpoint. Text after
+    /// the endpoint is delivered in a later call.
+    typealias TranscriptCallback = (String, [CheetahWord], Bool) -> Void
+    typealias ErrorCallback = (CheetahError) -> Void
+
+    private static let eventInterval: TimeInterval = 1.0 / 60.0
+
+    // lets inference fall behind for a while, e.g. while the device is busy, without dropping audio
+    private static let numBuffers = 32
+
+    private let cheetah: Cheetah
+    private let onTranscript: TranscriptCallback
+    private let onError: ErrorCallback
+
+    private let lock = NSLock()
+    private var pendingTranscript = ""
+    private var pendingWords: [CheetahWord] = []
+    private var endpointTranscript: String?
+    private var endpointWords: [CheetahWord] = []
+    private var isEmitScheduled = false
+    private var lastEmitTime = Date.distantPast
+
+    private var audioQueue: AudioQueueRef?
+    private var frame = [Int16](repeating: 0, count: Int(Cheetah.frameLength))
+    private var isStopped = false
+
+    init(cheetah: Cheetah, onTranscript: @escaping TranscriptCallback, onError: @escaping ErrorCallback) {
+        self.cheetah = cheetah
+        self.onTranscript = onTranscript
+        self.onError = onError
+    }
+
+    func start() throws {
+        let audioSession = AVAudioSession.sharedInstance()
+        if audioSession.category != .record && audioSession.category != .playAndRecord {
+            try audioSession.setCategory(.playAndRecord, options: [.mixWithOthers, .defaultToSpeaker, .allowBluetooth])
+        }
+        try audioSession.setActive(true)
+
+        // the queue converts from the hardware format, so buffers hold exactly one frame of engine audio
+        var format = AudioStreamBasicDescription(
+            mSampleRate: Float64(Cheetah.sampleRate),
+            mFormatID: kAudioFormatLinearPCM,
+            mFormatFlags: kLinearPCMFormatFlagIsSignedInteger | kLinearPCMFormatFlagIsPacked,
+            mBytesPerPacket: 2,
+            mFramesPerPacket: 1,
+            mBytesPerFrame: 2,
+            mChannelsPerFrame: 1,
+            mBitsPerChannel: 16,
+            mReserved: 0)
+
+        var queue: AudioQueueRef?
+        var status = AudioQueueNewInput(
+            &format,
+            { userData, queue, buffer, _, _, _ in
+                let recorder = Unmanaged<CheetahRecorder>.fromOpaque(userData!).takeUnretainedValue()
+                recorder.onAudio(buffer)
+                AudioQueueEnqueueBuffer(queue, buffer, 0, nil)
+            },
+            Unmanaged.passUnretained(self).toOpaque(),
+            nil,
+            nil,
+            0,
+            &queue)
+        guard status == noErr, let queue = queue else {
+            throw CheetahRuntimeError("Failed to initialize audio capture (status \(status)).")
+        }
+
+        let bufferSize = UInt32(Cheetah.frameLength) * 2
+        for _ in 0..<CheetahRecorder.numBuffers {
+            var buffer: AudioQueueBufferRef?
+            AudioQueueAllocateBuffer(queue, bufferSize, &buffer)
+            if let buffer = buffer {
+                AudioQueueEnqueueBuffer(queue, buffer, 0, nil)
+            }
+        }
+
+        status = AudioQueueStart(queue, nil)
+        guard status == noErr else {
+            AudioQueueDispose(queue, true)
+            throw CheetahRuntimeError(
+                "Failed to start audio capture (status \(status)). Ensure microphone access is granted.")
+        }
+        audioQueue = queue
+    }
+
+    /// Stops capturing and flushes the engine. Batches that were not yet delivered are returned instead, so no events
+    /// follow this call.
+    ///
+    /// - Returns: Text and words that were not delivered to `onTranscript`, followed by those transcribed from audio
+    ///   that was captured but not yet transcribed.
+    func stop() throws -> CheetahTranscriptAnnotated {
+        lock.lock()
+        isStopped = true
+        lock.unlock()
+        if let queue = audioQueue {
+            // waits for the callback in progress to return
+            AudioQueueStop(queue, true)
+            AudioQueueDispose(queue, true)
+            audioQueue = nil
+        }
+
+        lock.lock()
+        let transcript = (endpointTranscript ?? "") + pendingTranscript
+        let words = endpointWords + pendingWords
+        endpointTranscript = nil
+        endpointWords = []
+        pendingTranscript = ""
+        pendingWords = []
+        lock.unlock()
+
+        let remaining = try cheetah.flushAnnotated()
+        return CheetahTranscriptAnnotated(
+            transcript: transcript + remaining.transcript,
+            isEndpoint: false,
+            words: words + remaining.words)
+    }
+
+    private func onAudio(_ buffer: AudioQueueBufferRef) {
+        lock.lock()
+        let isStopped = self.isStopped
+        lock.unlock()
+        if isStopped || Int(buffer.pointee.mAudioDataByteSize) != frame.count * 2 {
+            return
+        }
+
+        frame.withUnsafeMutableBytes {
+            $0.copyMemory(from: UnsafeRawBufferPointer(
+                start: buffer.pointee.mAudioData,
+                count: Int(buffer.pointee.mAudioDataByteSize)))
+        }
+
+        do {
+            let result = try cheetah.processAnnotated(frame)
+            if result.isEndpoint {
+                let remaining = try cheetah.flushAnnotated()
+                append(
+                    result.transcript + remaining.transcript,
+                    words: result.words + remaining.words,
+                    isEndpoint: true)
+            } else if !result.transcript.isEmpty || !result.words.isEmpty {
+                append(result.transcript, words: result.words, isEndpoint: false)
+            }
+        } catch {
+            lock.lock()
+            self.isStopped = true
+            lock.unlock()
+            let cheetahError = error as? CheetahError ?? CheetahError(error.localizedDescription)
+            DispatchQueue.main.async {
+                self.onError(cheetahError)
+            }
+        }
+    }
+
+    private func append(_ transcript: String, words: [CheetahWord], isEndpoint: Bool) {
+        lock.lock()
+        defer { lock.unlock() }
+
+        if isEndpoint {
+            endpointTranscript = (endpointTranscript ?? "") + pendingTranscript + transcript
+            endpointWords += pendingWords + words
+            pendingTranscript = ""
+            pendingWords = []
+        } else {
+            pendingTranscript += transcript
+            pendingWords += words
+        }
+
+        if !isEmitScheduled {
+            scheduleEmit()
+        }
+    }
+
+    /// Must be called with `lock` held.
+    private func scheduleEmit() {
+        isEmitScheduled = true
+        let delay = max(0, lastEmitTime.addingTimeInterval(CheetahRecorder.eventInterval).timeIntervalSinceNow)
+        DispatchQueue.main.asyncAfter(deadline: .now() + delay) { [weak self] in
+            guard let self = self else {
+                return
+            }
+            self.lock.lock()
+            self.isEmitScheduled = false
+            self.lock.unlock()
+            if self.emitNext() {
+                self.lock.lock()
+                if !self.isEmitScheduled {
+                    self.scheduleEmit()
+                }
+                self.lock.unlock()
+            }
+        }
+    }
+
+    /// Delivers pending text up to the next endpoint, or all of it if there is none.
+    ///
+    /// - Returns: Whether text is still pending.
+    private func emitNext() -> Bool {
+        lock.lock()
+        let transcript: String
+        let words: [CheetahWord]
+        let isEndpoint: Bool
+        if let endpoint = endpointTranscript {
+            transcript = endpoint
+            words = endpointWords
+            isEndpoint = true
+            endpointTranscript = nil
+            endpointWords = []
+        } else if !pendingTranscript.isEmpty || !pendingWords.isEmpty {
+            transcript = pendingTranscript
+            words = pendingWords
+            isEndpoint = false
+            pendingTranscript = ""
+            pendingWords = []
+        } else {
+            lock.unlock()
+            return false
+        }
+        lastEmitTime = Date()
+        let hasMore = !pendingTranscript.isEmpty || !pendingWords.isEmpty
+        lock.unlock()
+
+        onTranscript(transcript, words, isEndpoint)
+        return hasMore
+    }
+}
@@ -1,5 +1,5 @@
 //
-// Copyright 2022-2025 Picovoice Inc.
+// Copyright 2022-2026 Picovoice Inc.
 //
 // You may not use this file except in compliance with the license. A copy of the license is located in the "LICENSE"
 // file accompanying this source.
@@ -21,17 +21,34 @@ enum Method: String {
     case FLUSH
     case FLUSH_ANNOTATED
     case DELETE
+    case START_LISTENING
+    case STOP_LISTENING
 }
 
-public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
+public class SwiftCheetahPlugin: NSObject, FlutterPlugin, FlutterStreamHandler {
+    // only accessed from the channel's serial task queue
     private var cheetahPool: [String: Cheetah] = [:]
+    private var frameBuffers: [String: [Int16]] = [:]
+    private var recorders: [String: CheetahRecorder] = [:]
+
+    // only accessed from the main thread
+    private var eventSink: FlutterEventSink?
 
     public static func register(with registrar: FlutterPluginRegistrar) {
         let instance = SwiftCheetahPlugin()
 
-        let methodChannel = FlutterMethodChannel(name: "cheetah", binaryMessenger: registrar.messenger())
+        // runs method calls, including inference, off the main thread
+        let taskQueue = registrar.messenger().makeBackgroundTaskQueue?()
+        let methodChannel = FlutterMethodChannel(
+            name: "cheetah",
+            binaryMessenger: registrar.messenger(),
+            codec: FlutterStandardMethodCodec.sharedInstance(),
+            taskQueue: taskQueue)
         registrar.addMethodCallDelegate(instance, channel: methodChannel)
 
+        let eventChannel = FlutterEventChannel(name: "cheetah/transcripts", binaryMessenger: registrar.messenger())
+        eventChannel.setStreamHandler(instance)
+
         Cheetah.setSdk(sdk: "flutter")
     }
 
@@ -72,6 +89,7 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
 
                     let handle: String = String(describing: cheetah)
                     cheetahPool[handle] = cheetah
+                    frameBuffers[handle] = [Int16](repeating: 0, count: Int(Cheetah.frameLength))
 
                     let param: [String: Any] = [
                         "handle": handle,
@@ -92,8 +110,16 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
         case .PROCESS:
             do {
                 if let handle = args["handle"] as? String,
-                    let frame = args["frame"] as? [Int16] {
+                    let frameArg = args["frame"] {
                     if let cheetah = cheetahPool[handle] {
+                        if rejectIfListening(handle, result: result) {
+                            return
+                        }
+                        guard let frame = decodeFrame(frameArg, handle: handle) else {
+                            result(errorToFlutterError(CheetahInvalidArgumentError(
+                                "Frame must contain \(Cheetah.frameLength) 16-bit samples")))
+                            return
+                        }
                         let (transcript, isEndpoint) = try cheetah.process(frame)
                         let results: [String: Any] = [
                             "transcript": transcript,
@@ -116,8 +142,16 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
         case .PROCESS_ANNOTATED:
             do {
                 if let handle = args["handle"] as? String,
-                    let frame = args["frame"] as? [Int16] {
+                    let frameArg = args["frame"] {
                     if let cheetah = cheetahPool[handle] {
+                        if rejectIfListening(handle, result: result) {
+                            return
+                        }
+                        guard let frame = decodeFrame(frameArg, handle: handle) else {
+                            result(errorToFlutterError(CheetahInvalidArgumentError(
+                                "Frame must contain \(Cheetah.frameLength) 16-bit samples")))
+                            return
+                        }
                         let transcript = try cheetah.processAnnotated(frame)
                         let results: [String: Any] = [
                             "transcript": transcript.transcript,
@@ -147,6 +181,9 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
             do {
                 if let handle = args["handle"] as? String {
                     if let cheetah = cheetahPool[handle] {
+                        if rejectIfListening(handle, result: result) {
+                            return
+                        }
                         let transcript = try cheetah.flush()
                         let results: [String: Any] = [
                             "transcript": transcript
@@ -168,6 +205,9 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
             do {
                 if let handle = args["handle"] as? String {
                     if let cheetah = cheetahPool[handle] {
+                        if rejectIfListening(handle, result: result) {
+                            return
+                        }
                         let transcript = try cheetah.flushAnnotated()
                         let results: [String: Any] = [
                             "transcript": transcript.transcript,
@@ -193,11 +233,126 @@ public class SwiftCheetahPlugin: NSObject, FlutterPlugin {
             }
         case .DELETE:
             if let handle = args["handle"] as? String {
+                if let recorder = recorders.removeValue(forKey: handle) {
+                    _ = try? recorder.stop()
+                }
                 if let cheetah = cheetahPool.removeValue(forKey: handle) {
                     cheetah.delete()
                 }
+                frameBuffers.removeValue(forKey: handle)
+            }
+        case .START_LISTENING:
+            do {
+                if let handle = args["handle"] as? String {
+                    if let cheetah = cheetahPool[handle] {
+                        if rejectIfListening(handle, result: result) {
+                            return
+                        }
+                        let recorder = CheetahRecorder(
+                            cheetah: cheetah,
+                            onTranscript: { [weak self] transcript, words, isEndpoint in
+                                self?.eventSink?([
+                                    "handle": handle,
+                                    "transcript": transcript,
+                                    "words": words.map { [
+                                        "word": $0.word,
+                                        "startSeconds": $0.startSec,
+                                        "endSeconds": $0.endSec,
+                                        "confidence": $0.confidence
+                                    ] },
+                                    "isEndpoint": isEndpoint
+                                ])
+                            },
+                            onError: { [weak self] error in
+                                guard let self = self else {
+                                    return
+                                }
+                                let flutterError = self.errorToFlutterError(error)
+                                self.eventSink?(FlutterError(
+                                    code: flutterError.code,
+                                    message: flutterError.message,
+                                    details: handle))
+                            })
+                        try recorder.start()
+                        recorders[handle] = recorder
+                        result(nil)
+                    } else {
+                        result(errorToFlutterError(
+                            CheetahInvalidStateError("Invalid handle provided to Cheetah 'startListening'")))
+                    }
+                } else {
+                    result(errorToFlutterError(CheetahInvalidArgumentError("missing required arguments 'handle'")))
+                }
+            } catch let error as CheetahError {
+                result(errorToFlutterError(error))
+            } catch {
+                result(errorToFlutterError(CheetahError(error.localizedDescription)))
+            }
+        case .STOP_LISTENING:
+            do {
+                if let handle = args["handle"] as? String {
+                    if let recorder = recorders.removeValue(forKey: handle) {
+                        let transcript = try recorder.stop()
+                        let results: [String: Any] = [
+                            "transcript": transcript.transcript,
+                            "words": transcript.words.map { [
+                                "word": $0.word,
+                                "startSeconds": $0.startSec,
+                                "endSeconds": $0.endSec,
+                                "confidence": $0.confidence
+                            ] }
+                        ]
+                        result(results)
+                    } else {
+                        result(errorToFlutterError(CheetahInvalidStateError("Cheetah is not listening")))
+                    }
+                } else {
+                    result(errorToFlutterError(CheetahInvalidArgumentError("missing required arguments 'handle'")))
+                }
+            } catch let error as CheetahError {
+                result(errorToFlutterError(error))
+            } catch {
+                result(errorToFlutterError(CheetahError(error.localizedDescription)))
+            }
+        }
+    }
+
+    public func onListen(withArguments arguments: Any?, eventSink events: @escaping FlutterEventSink) -> FlutterError? {
+        eventSink = events
+        return nil
+    }
+
+    public func onCancel(withArguments arguments: Any?) -> FlutterError? {
+        eventSink = nil
+        return nil
+    }
+
+    /// The capture loop owns the instance until it is stopped.
+    private func rejectIfListening(_ handle: String, result: FlutterResult) -> Bool {
+        if recorders[handle] != nil {
+            result(errorToFlutterError(CheetahInvalidStateError("Cheetah is listening. Call `stopListening()` first")))
+            return true
+        }
+        return false
+    }
+
+    /// Copies a frame into the frame buffer of the instance. Frames arrive as little-endian bytes (`Uint8List`), or
+    /// as a list of integers from older callers.
+    private func decodeFrame(_ frame: Any, handle: String) -> [Int16]? {
+        guard let frameLength = frameBuffers[handle]?.count else {
+            return nil
+        }
+        if let typedData = frame as? FlutterStandardTypedData {
+            guard typedData.data.count == frameLength * MemoryLayout<Int16>.size else {
+                return nil
             }
+            frameBuffers[handle]!.withUnsafeMutableBytes { _ = typedData.data.copyBytes(to: $0) }
+        } else if let samples = frame as? [Int16], samples.count == frameLength {
+            frameBuffers[handle] = samples
+        } else {
+            return nil
         }
+        return frameBuffers[handle]
     }
 
     private func errorToFlutterError(_ error: CheetahError) -> FlutterError {
@@ -1,5 +1,5 @@
 //
-// Copyright 2022-2025 Picovoice Inc.
+// Copyright 2022-2026 Picovoice Inc.
 //
 // You may not use this file except in compliance with the license. A copy of the license is located in the "LICENSE"
 // file accompanying this source.
@@ -11,6 +11,7 @@
 
 import 'dart:async';
 import 'dart:io';
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart';
 import 'package:path_provider/path_provider.dart';
@@ -30,7 +31,11 @@ enum _NativeFunctions {
   // ignore:constant_identifier_names
   FLUSH_ANNOTATED,
   // ignore:constant_identifier_names
-  DELETE
+  DELETE,
+  // ignore:constant_identifier_names
+  START_LISTENING,
+  // ignore:constant_identifier_names
+  STOP_LISTENING
 }
 
 class CheetahTranscript {
@@ -67,13 +72,23 @@ class CheetahTranscriptAnnotated {
   bool get isEndpoint => _isEndpoint ?? false;
 }
 
+/// Receives transcripts produced while Cheetah is listening.
+typedef CheetahTranscriptCallback = void Function(CheetahTranscriptAnnotated transcript);
+
+/// Receives errors that stop Cheetah from listening.
+typedef CheetahErrorCallback = void Function(CheetahException error);
+
 class Cheetah {
   static final MethodChannel _channel = MethodChannel("cheetah");
+  static final Stream<dynamic> _transcriptEvents =
+      const EventChannel("cheetah/transcripts").receiveBroadcastStream();
 
   String? _handle;
   final int _frameLength;
   final int _sampleRate;
   final String _version;
+  final Int16List _frameBuffer;
+  StreamSubscription<dynamic>? _transcriptSubscription;
 
   /// Cheetah version string
   String get version => _version;
@@ -138,18 +153,42 @@ class Cheetah {
   }
 
   // private constructor
-  Cheetah._(this._handle, this._frameLength, this._sampleRate, this._version);
+  Cheetah._(this._handle, this._frameLength, this._sampleRate, this._version)
+      : _frameBuffer = Int16List(_frameLength);
+
+  /// Frames are sent to the platform as bytes in host order, which is little-endian on every supported platform. The
+  /// standard codec transfers them as a single buffer rather than as a list of boxed integers.
+  /// `Int16List` frames are viewed in place; other lists are copied into a buffer that is reused for every frame. The
+  /// codec copies the bytes as soon as the method is invoked, so the buffer is free again before the call completes.
+  Uint8List? _frameBytes(List<int>? frame) {
+    if (frame == null) {
+      return null;
+    }
+    Int16List samples;
+    if (frame is Int16List) {
+      samples = frame;
+    } else if (frame.length == _frameLength) {
+      _frameBuffer.setAll(0, frame);
+      samples = _frameBuffer;
+    } else {
+      throw CheetahInvalidArgumentException(
+          "Frame must contain $_frameLength samples, but contains ${frame.length}");
+    }
+    return samples.buffer.asUint8List(samples.offsetInBytes, samples.lengthInBytes);
+  }
 
   /// Process a frame of pcm audio with the speech-to-text engine.
   ///
   /// [frame] frame of 16-bit integers of 16kHz linear PCM mono audio.
   /// The specific array length is obtained from Cheetah via the frameLength field.
+  /// Passing an `Int16List` avoids copying the frame before it is sent to the platform.
   ///
   /// returns CheetahTranscript object.
   Future<CheetahTranscript> process(List<int>? frame) async {
+    Uint8List? frameBytes = _frameBytes(frame);
     try {
       Map<String, dynamic> transcript = Map<String, dynamic>.from(await _channel
-          .invokeMethod(_NativeFunctions.PROCESS.name, {'handle': _handle, 'frame': frame}));
+          .invokeMethod(_NativeFunctions.PROCESS.name, {'handle': _handle, 'frame': frameBytes}));
 
       if (transcript['transcript'] == null) {
         throw CheetahInvalidStateException("field 'transcript' must be always present");
@@ -167,12 +206,14 @@ class Cheetah {
   ///
   /// [frame] frame of 16-bit integers of 16kHz linear PCM mono audio.
   /// The specific array length is obtained from Cheetah via the frameLength field.
+  /// Passing an `Int16List` avoids copying the frame before it is sent to the platform.
   ///
   /// returns CheetahTranscriptAnnotated object.
   Future<CheetahTranscriptAnnotated> processAnnotated(List<int>? frame) async {
+    Uint8List? frameBytes = _frameBytes(frame);
     try {
       Map<String, dynamic> transcript = Map<String, dynamic>.from(await _channel
-          .invokeMethod(_NativeFunctions.PROCESS_ANNOTATED.name, {'handle': _handle, 'frame': frame}));
+          .invokeMethod(_NativeFunctions.PROCESS_ANNOTATED.name, {'handle': _handle, 'frame': frameBytes}));
 
       if (transcript['transcript'] == null) {
         throw CheetahInvalidStateException("field 'transcript' must be always present");
@@ -242,8 +283,88 @@ class Cheetah {
     }
   }
 
+  /// Starts capturing audio from the microphone and transcribing it in native code. Audio is never sent to Dart; only
+  /// transcripts and words are, batched to at most one event per UI frame. The app must have been granted microphone
+  /// permission.
+  ///
+  /// While listening, `process`, `processAnnotated`, `flush` and `flushAnnotated` throw a
+  /// `CheetahInvalidStateException`.
+  ///
+  /// [transcriptCallback] Called with the text and words transcribed since the previous call. `isEndpoint` is set if
+  ///                      they end at an endpoint, in which case they include what was flushed at the endpoint.
+  ///
+  /// [errorCallback] (Optional) Called if capture or transcription fails. Listening stops, but `stopListening` must
+  ///                            still be called.
+  Future<void> startListening(CheetahTranscriptCallback transcriptCallback,
+      {CheetahErrorCallback? errorCallback}) async {
+    if (_transcriptSubscription != null) {
+      throw CheetahInvalidStateException("Cheetah is already listening");
+    }
+
+    final String? handle = _handle;
+    _transcriptSubscription = _transcriptEvents.listen((event) {
+      Map<String, dynamic> transcript = Map<String, dynamic>.from(event as Map);
+      if (transcript['handle'] != handle) {
+        return;
+      }
+      List<CheetahWord> words = (transcript['words'] as List).map(
+        (obj) {
+          Map<String, dynamic> word = Map<String, dynamic>.from(obj as Map);
+          return CheetahWord(word["word"], word["startSeconds"], word["endSeconds"], word["confidence"]);
+        }
+      ).toList();
+      transcriptCallback(CheetahTranscriptAnnotated(transcript['transcript'], words, transcript['isEndpoint']));
+    }, onError: (Object error) {
+      if (error is PlatformException && error.details == handle && errorCallback != null) {
+        errorCallback(cheetahStatusToException(error.code, error.message));
+      }
+    });
+
+    try {
+      await _channel.invokeMethod(_NativeFunctions.START_LISTENING.name, {'handle': _handle});
+    } on PlatformException catch (error) {
+      await _cancelTranscriptSubscription();
+      throw cheetahStatusToException(error.code, error.message);
+    } on Exception catch (error) {
+      await _cancelTranscriptSubscription();
+      throw CheetahException(error.toString());
+    }
+  }
+
+  /// Stops capturing audio and flushes the engine. No events follow this call.
+  ///
+  /// returns CheetahTranscriptAnnotated object with text that was not yet delivered to the callback passed to
+  /// `startListening`, followed by text transcribed from audio that was captured but not yet transcribed.
+  Future<CheetahTranscriptAnnotated> stopListening() async {
+    try {
+      Map<String, dynamic> transcript = Map<String, dynamic>.from(await _channel
+          .invokeMethod(_NativeFunctions.STOP_LISTENING.name, {'handle': _handle}));
+
+      List<CheetahWord> words = (transcript['words'] as List).map(
+        (obj) {
+          Map<String, dynamic> word = Map<String, dynamic>.from(obj as Map);
+          return CheetahWord(word["word"], word["startSeconds"], word["endSeconds"], word["confidence"]);
+        }
+      ).toList();
+      return CheetahTranscriptAnnotated(transcript['transcript'], words, null);
+    } on PlatformException catch (error) {
+      throw cheetahStatusToException(error.code, error.message);
+    } on Exception catch (error) {
+      throw CheetahException(error.toString());
+    } finally {
+      await _cancelTranscriptSubscription();
+    }
+  }
+
+  Future<void> _cancelTranscriptSubscription() async {
+    StreamSubscription<dynamic>? subscription = _transcriptSubscription;
+    _transcriptSubscription = null;
+    await subscription?.cancel();
+  }
+
   /// Frees memory that was allocated for Cheetah
   Future<void> delete() async {
+    await _cancelTranscriptSubscription();
     if (_handle != null) {
       await _channel
           .invokeMethod(_NativeFunctions.DELETE.name, {'handle': _handle});
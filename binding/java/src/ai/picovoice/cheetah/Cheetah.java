@@ -14,11 +14,13 @@ package ai.picovoice.cheetah;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Cheetah Class.
  */
-public class Cheetah {
+public class Cheetah implements AutoCloseable {
 
     private static String sdk = "java";
 
@@ -34,7 +36,28 @@ public class Cheetah {
         Cheetah.sdk = sdk;
     }
 
-    private long handle;
+    /**
+     * Enables or disables debug mode. In debug mode the allocation site of each new instance is recorded, and
+     * instances that are garbage collected without a call to {@link #delete()} are logged along with it.
+     *
+     * @param debug Set to `true` to enable debug mode.
+     */
+    public static void setDebug(boolean debug) {
+        CheetahCleaner.setDebug(debug);
+    }
+
+    /**
+     * Getter for the number of Cheetah instances whose native resources have not been released yet.
+     *
+     * @return Number of live native handles.
+     */
+    public static int getLiveHandleCount() {
+        return CheetahCleaner.getLiveCount();
+    }
+
+    private final CheetahHandle handle;
+    private final CheetahCleaner.Cleanable cleanable;
+    private final CheetahTimeline timeline;
 
     /**
      * Constructor.
@@ -79,23 +102,36 @@ public class Cheetah {
         }
         CheetahNative.setSdk(Cheetah.sdk);
 
-        handle = CheetahNative.init(
+        final long nativeHandle = CheetahNative.init(
                 accessKey,
                 modelPath,
                 device,
                 endpointDurationSec,
                 enableAutomaticPunctuation,
                 enableTextNormalization);
+
+        // the cleaning actions must not capture `this`, otherwise the instance never becomes unreachable
+        handle = new CheetahHandle(nativeHandle, () -> CheetahNative.delete(nativeHandle));
+        cleanable = CheetahCleaner.register(this, handle::close);
+        timeline = new CheetahTimeline(CheetahNative.getSampleRate());
     }
 
     /**
-     * Releases resources acquired by Cheetah.
+     * Releases resources acquired by Cheetah. Instances that are garbage collected without being deleted are
+     * released by a background cleaner, but the time at which that happens is not guaranteed.
+     * It is safe to call this while another thread is inside a Cheetah call: the native resources are released
+     * once that call returns, and any call made after this returns throws {@link CheetahInvalidStateException}.
      */
     public void delete() {
-        if (handle != 0) {
-            CheetahNative.delete(handle);
-            handle = 0;
-        }
+        cleanable.clean();
+    }
+
+    /**
+     * Releases resources acquired by Cheetah. Equivalent to {@link #delete()}.
+     */
+    @Override
+    public void close() {
+        delete();
     }
 
     /**
@@ -109,20 +145,27 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscript process(short[] pcm) throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah process after delete.");
         }
 
-        if (pcm == null) {
-            throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
-        }
+        try {
+            if (pcm == null) {
+                throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
+            }
 
-        if (pcm.length != getFrameLength()) {
-            throw new CheetahInvalidArgumentException(
-                    String.format("Cheetah process requires frames of length %d. " +
-                            "Received frame of size %d.", getFrameLength(), pcm.length));
+            if (pcm.length != getFrameLength()) {
+                throw new CheetahInvalidArgumentException(
+                        String.format("Cheetah process requires frames of length %d. " +
+                                "Received frame of size %d.", getFrameLength(), pcm.length));
+            }
+            CheetahTranscript transcript = CheetahNative.process(handle.get(), pcm);
+            timeline.advance(pcm.length);
+            timeline.resolve(transcript);
+            return transcript;
+        } finally {
+            handle.release();
         }
-        return CheetahNative.process(handle, pcm);
     }
 
     /**
@@ -132,10 +175,17 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscript flush() throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah flush after delete.");
         }
-        return CheetahNative.flush(handle);
+
+        try {
+            CheetahTranscript transcript = CheetahNative.flush(handle.get());
+            timeline.resolveFlush(transcript);
+            return transcript;
+        } finally {
+            handle.release();
+        }
     }
 
     /**
@@ -149,25 +199,28 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscriptAnnotated processAnnotated(short[] pcm) throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah process after delete.");
         }
 
-        if (pcm == null) {
-            throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
-        }
+        try {
+            if (pcm == null) {
+                throw new CheetahInvalidArgumentException("Passed null frame to Cheetah process.");
+            }
 
-        if (pcm.length != getFrameLength()) {
-            throw new CheetahInvalidArgumentException(
-                    String.format("Cheetah process requires frames of length %d. " +
-                            "Received frame of size %d.", getFrameLength(), pcm.length));
-        }
+            if (pcm.length != getFrameLength()) {
+                throw new CheetahInvalidArgumentException(
+                        String.format("Cheetah process requires frames of length %d. " +
+                                "Received frame of size %d.", getFrameLength(), pcm.length));
+            }
 
-        CheetahTranscript transcript = CheetahNative.process(handle, pcm);
-        return new CheetahTranscriptAnnotated(
-            transcript.getTranscript(),
-            transcript.getWordArray(),
-            transcript.getIsEndpoint());
+            CheetahTranscript transcript = CheetahNative.process(handle.get(), pcm);
+            timeline.advance(pcm.length);
+            timeline.resolve(transcript);
+            return toAnnotated(transcript);
+        } finally {
+            handle.release();
+        }
     }
 
     /**
@@ -177,15 +230,36 @@ public class Cheetah {
      * @throws CheetahException if there is an error while processing the audio frame.
      */
     public CheetahTranscriptAnnotated flushAnnotated() throws CheetahException {
-        if (handle == 0) {
+        if (!handle.acquire()) {
             throw new CheetahInvalidStateException("Attempted to call Cheetah flush after delete.");
         }
 
-        CheetahTranscript transcript =  CheetahNative.flush(handle);
-        return new CheetahTranscriptAnnotated(
+        try {
+            CheetahTranscript transcript =  CheetahNative.flush(handle.get());
+            timeline.resolveFlush(transcript);
+            return toAnnotated(transcript);
+        } finally {
+            handle.release();
+        }
+    }
+
+    private static CheetahTranscriptAnnotated toAnnotated(CheetahTranscript transcript) {
+        CheetahTranscriptAnnotated transcriptAnnotated = new CheetahTranscriptAnnotated(
             transcript.getTranscript(),
             transcript.getWordArray(),
             transcript.getIsEndpoint());
+        transcriptAnnotated.setEndSample(transcript.getEndSample());
+        return transcriptAnnotated;
+    }
+
+    /**
+     * Getter for the timeline of the audio stream processed by this instance. Word and endpoint positions
+     * returned by Cheetah are absolute sample indices on this timeline, which is never reset by flush.
+     *
+     * @return Timeline of the audio stream.
+     */
+    public CheetahTimeline getTimeline() {
+        return timeline;
     }
 
     /**
@@ -247,6 +321,50 @@ public class Cheetah {
         }
     }
 
+    /**
+     * Trains a model using the specified `newWords` and `boostWords` arguments. Use {@link CheetahModelTrainer} to
+     * cache trained models or to train asynchronously.
+     *
+     * @param accessKey  AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).
+     * @param outputPath Path to file where the trained model will be saved.
+     * @param language   Two character language code for the model (e.g. "en", "fr").
+     * @param newWords   A dictionary of words to pronunciations to add to the new model.
+     * @param boostWords A Set of words to "boost". The engine will be more likely to select the boosted words.
+     * @throws CheetahException if model training fails.
+     */
+    public static void trainModelFromWords(
+            String accessKey,
+            String outputPath,
+            String language,
+            Map<String, Set<String>> newWords,
+            Set<String> boostWords) throws CheetahException {
+        new CheetahModelTrainer.Builder()
+                .setAccessKey(accessKey)
+                .build()
+                .trainModelFromWords(outputPath, language, newWords, boostWords);
+    }
+
+    /**
+     * Trains a model using a YAML configuration string. Use {@link CheetahModelTrainer} to cache trained models or to
+     * train asynchronously.
+     *
+     * @param accessKey   AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).
+     * @param outputPath  Path to file where the trained model will be saved.
+     * @param language    Two character language code for the model (e.g. "en", "fr").
+     * @param yamlContent YAML configuration in string to be used for training.
+     * @throws CheetahException if model training fails.
+     */
+    public static void trainModelFromYaml(
+            String accessKey,
+            String outputPath,
+            String language,
+            String yamlContent) throws CheetahException {
+        new CheetahModelTrainer.Builder()
+                .setAccessKey(accessKey)
+                .build()
+                .trainModelFromYaml(outputPath, language, yamlContent);
+    }
+
     /**
      * Builder for creating an instance of Cheetah with a mixture of default arguments.
      */
@@ -0,0 +1,110 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Releases native resources owned by objects that were garbage collected without being explicitly released.
+ * Works like `java.lang.ref.Cleaner`, which is not available on Java 8.
+ */
+class CheetahCleaner {
+
+    private static final Logger logger = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    private static final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private static final Set<Cleanable> cleanables = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private static volatile boolean isDebug = false;
+
+    static {
+        Thread thread = new Thread(CheetahCleaner::run, "cheetah-cleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static void setDebug(boolean isDebug) {
+        CheetahCleaner.isDebug = isDebug;
+    }
+
+    static int getLiveCount() {
+        return cleanables.size();
+    }
+
+    /**
+     * Registers `action` to be run once `owner` becomes phantom reachable, unless it was run explicitly before.
+     * The action must not hold a reference to `owner`, otherwise the owner never becomes unreachable.
+     */
+    static Cleanable register(Object owner, Runnable action) {
+        Throwable allocationSite = null;
+        if (isDebug) {
+            allocationSite = new Throwable(String.format(
+                    "%s@%x allocated here",
+                    owner.getClass().getSimpleName(),
+                    System.identityHashCode(owner)));
+        }
+
+        Cleanable cleanable = new Cleanable(owner, action, allocationSite);
+        cleanables.add(cleanable);
+        return cleanable;
+    }
+
+    private static void run() {
+        while (true) {
+            try {
+                Cleanable cleanable = (Cleanable) queue.remove();
+                if (cleanable.allocationSite != null) {
+                    logger.log(
+                            Level.WARNING,
+                            "Cheetah instance was garbage collected without being deleted. " +
+                                    "Call `delete()` or `close()` to release its resources.",
+                            cleanable.allocationSite);
+                }
+                cleanable.clean();
+            } catch (InterruptedException ignored) {
+                // the cleaner thread lives for the lifetime of the process
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Failed to release Cheetah resources.", t);
+            }
+        }
+    }
+
+    static final class Cleanable extends PhantomReference<Object> {
+        private final Runnable action;
+        private final Throwable allocationSite;
+        private final AtomicBoolean isCleaned = new AtomicBoolean(false);
+
+        private Cleanable(Object owner, Runnable action, Throwable allocationSite) {
+            super(owner, queue);
+            this.action = action;
+            this.allocationSite = allocationSite;
+        }
+
+        /**
+         * Unregisters and runs the cleaning action. The action runs at most once.
+         */
+        void clean() {
+            if (isCleaned.compareAndSet(false, true)) {
+                cleanables.remove(this);
+                clear();
+                action.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,502 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming JSON and JSON Lines serializer for transcripts and words.
+ *
+ * <p>Output goes either to a reusable UTF-8 byte buffer owned by the writer, or to an {@link Appendable} given at
+ * construction. Strings are escaped and encoded character by character and numbers are formatted into a scratch
+ * array, so once the byte buffer has grown to the size of the largest message, serializing does not allocate.
+ *
+ * <p>A transcript is written as
+ * `{"transcript":"...","isEndpoint":false,"words":[{"word":"...","startSec":0.32,"endSec":0.64,"confidence":0.9}]}`,
+ * with the same keys as the transcripts returned by the mobile bindings. Other layouts can be written with the
+ * lower-level {@link #beginObject()}, {@link #name(String)} and `value` methods, which insert separators
+ * automatically. Call {@link #newLine()} between top-level values to produce JSON Lines.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class CheetahJsonWriter {
+
+    private static final int MAX_DEPTH = 32;
+    private static final int DEFAULT_FRACTION_DIGITS = 3;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Appendable appendable;
+    private byte[] buffer;
+    private int size = 0;
+
+    private final boolean[] hasElements = new boolean[MAX_DEPTH + 1];
+    private int depth = 0;
+    private boolean isAfterName = false;
+    private final char[] digits = new char[19];
+
+    /**
+     * Constructor for a writer that serializes into its own byte buffer.
+     */
+    public CheetahJsonWriter() {
+        this.appendable = null;
+        this.buffer = new byte[256];
+    }
+
+    /**
+     * Constructor for a writer that appends to `appendable`. I/O errors of the appendable are rethrown as
+     * {@link IllegalStateException}.
+     *
+     * @param appendable Destination of the serialized characters.
+     */
+    public CheetahJsonWriter(Appendable appendable) {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null.");
+        }
+        this.appendable = appendable;
+        this.buffer = null;
+    }
+
+    /**
+     * Writes a transcript object.
+     *
+     * @param transcript Transcript returned by {@link Cheetah#process(short[])} or {@link Cheetah#flush()}.
+     * @return This writer.
+     */
+    public CheetahJsonWriter writeTranscript(CheetahTranscript transcript) {
+        return writeTranscript(transcript.getTranscript(), transcript.getIsEndpoint(), transcript.getWordArray());
+    }
+
+    /**
+     * Writes a transcript object.
+     *
+     * @param transcript Transcript returned by {@link Cheetah#processAnnotated(short[])} or
+     *                   {@link Cheetah#flushAnnotated()}.
+     * @return This writer.
+     */
+    public CheetahJsonWriter writeTranscript(CheetahTranscriptAnnotated transcript) {
+        return writeTranscript(transcript.getTranscript(), transcript.getIsEndpoint(), transcript.getWordArray());
+    }
+
+    private CheetahJsonWriter writeTranscript(String transcript, boolean isEndpoint, CheetahTranscript.Word[] words) {
+        beginObject();
+        name("transcript").value(transcript);
+        name("isEndpoint").value(isEndpoint);
+        name("words");
+        writeWords(words);
+        return endObject();
+    }
+
+    /**
+     * Writes an array of word objects.
+     *
+     * @param words Transcribed words and their associated metadata.
+     * @return This writer.
+     */
+    public CheetahJsonWriter writeWords(CheetahTranscript.Word[] words) {
+        beginArray();
+        for (CheetahTranscript.Word word : words) {
+            writeWord(word);
+        }
+        return endArray();
+    }
+
+    /**
+     * Writes a word object.
+     *
+     * @param word Transcribed word and its associated metadata.
+     * @return This writer.
+     */
+    public CheetahJsonWriter writeWord(CheetahTranscript.Word word) {
+        beginObject();
+        name("word").value(word.getWord());
+        name("startSec").value(word.getStartSec());
+        name("endSec").value(word.getEndSec());
+        name("confidence").value(word.getConfidence());
+        return endObject();
+    }
+
+    /**
+     * Begins a JSON object.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter beginObject() {
+        return open('{');
+    }
+
+    /**
+     * Ends the current JSON object.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter endObject() {
+        return close('}');
+    }
+
+    /**
+     * Begins a JSON array.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter beginArray() {
+        return open('[');
+    }
+
+    /**
+     * Ends the current JSON array.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter endArray() {
+        return close(']');
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name Member name.
+     * @return This writer.
+     */
+    public CheetahJsonWriter name(String name) {
+        if (depth == 0 || isAfterName) {
+            throw new IllegalStateException("A name must be followed by a value and is only valid in an object.");
+        }
+        separate();
+        writeString(name);
+        put(':');
+        isAfterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or `null` if `value` is null.
+     *
+     * @param value String value.
+     * @return This writer.
+     */
+    public CheetahJsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        writeString(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value Boolean value.
+     * @return This writer.
+     */
+    public CheetahJsonWriter value(boolean value) {
+        separate();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes an integer value.
+     *
+     * @param value Integer value.
+     * @return This writer.
+     */
+    public CheetahJsonWriter value(long value) {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return this;
+        }
+        if (value < 0) {
+            put('-');
+        }
+        writeDigits(Math.abs(value));
+        return this;
+    }
+
+    /**
+     * Writes a number rounded to 3 fraction digits, which is millisecond resolution for times in seconds.
+     *
+     * @param value Number value. NaN and infinities are written as `null`.
+     * @return This writer.
+     */
+    public CheetahJsonWriter value(double value) {
+        return value(value, DEFAULT_FRACTION_DIGITS);
+    }
+
+    /**
+     * Writes a number rounded to `fractionDigits` fraction digits. Trailing zeros are omitted.
+     *
+     * @param value          Number value. NaN and infinities are written as `null`.
+     * @param fractionDigits Number of fraction digits, within [0, 9].
+     * @return This writer.
+     */
+    public CheetahJsonWriter value(double value, int fractionDigits) {
+        if (fractionDigits < 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException(
+                    String.format("Fraction digits must be within [0, %d].", POWERS_OF_TEN.length - 1));
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        long scale = POWERS_OF_TEN[fractionDigits];
+        double magnitude = Math.abs(value);
+        if (magnitude * scale >= Long.MAX_VALUE) {
+            // beyond the range of fixed-point formatting; rare enough to take the allocating path
+            separate();
+            writeAscii(Double.toString(value));
+            return this;
+        }
+
+        long scaled = Math.round(magnitude * scale);
+        separate();
+        if (value < 0 && scaled != 0) {
+            put('-');
+        }
+        writeDigits(scaled / scale);
+        long fraction = scaled % scale;
+        if (fraction != 0) {
+            int numDigits = fractionDigits;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                numDigits--;
+            }
+            put('.');
+            for (int i = numDigits - 1; i >= 0; i--) {
+                put((char) ('0' + (fraction / POWERS_OF_TEN[i]) % 10));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes `null`.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter nullValue() {
+        separate();
+        writeAscii("null");
+        return this;
+    }
+
+    /**
+     * Ends the current line of JSON Lines output. Only valid between top-level values.
+     *
+     * @return This writer.
+     */
+    public CheetahJsonWriter newLine() {
+        if (depth != 0) {
+            throw new IllegalStateException("Lines can only end between top-level values.");
+        }
+        put('\n');
+        hasElements[0] = false;
+        return this;
+    }
+
+    /**
+     * Getter for the byte buffer. Only the first {@link #size()} bytes are valid, and the array may be replaced
+     * when the writer grows it.
+     *
+     * @return UTF-8 bytes written since the last {@link #reset()}.
+     */
+    public byte[] getBuffer() {
+        checkBuffered();
+        return buffer;
+    }
+
+    /**
+     * Getter for the number of bytes in the buffer.
+     *
+     * @return Number of bytes written since the last {@link #reset()}.
+     */
+    public int size() {
+        checkBuffered();
+        return size;
+    }
+
+    /**
+     * Writes the buffered bytes to a stream. The buffer is not cleared.
+     *
+     * @param outputStream Destination stream.
+     * @throws IOException if writing to the stream fails.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        checkBuffered();
+        outputStream.write(buffer, 0, size);
+    }
+
+    /**
+     * Clears the buffer and the nesting state so that the writer can serialize a new message.
+     */
+    public void reset() {
+        size = 0;
+        depth = 0;
+        isAfterName = false;
+        hasElements[0] = false;
+    }
+
+    @Override
+    public String toString() {
+        if (appendable != null) {
+            return appendable.toString();
+        }
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private CheetahJsonWriter open(char bracket) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException(String.format("Nesting is limited to %d levels.", MAX_DEPTH));
+        }
+        separate();
+        put(bracket);
+        hasElements[++depth] = false;
+        return this;
+    }
+
+    private CheetahJsonWriter close(char bracket) {
+        if (depth == 0 || isAfterName) {
+            throw new IllegalStateException("No object or array to close.");
+        }
+        depth--;
+        put(bracket);
+        return this;
+    }
+
+    private void separate() {
+        if (isAfterName) {
+            isAfterName = false;
+            return;
+        }
+        if (hasElements[depth] && depth > 0) {
+            put(',');
+        }
+        hasElements[depth] = true;
+    }
+
+    private void writeDigits(long value) {
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (int i = start; i < digits.length; i++) {
+            put(digits[i]);
+        }
+    }
+
+    private void writeAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+    }
+
+    private void writeString(String value) {
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    put('\\');
+                    put('"');
+                    break;
+                case '\\':
+                    put('\\');
+                    put('\\');
+                    break;
+                case '\n':
+                    put('\\');
+                    put('n');
+                    break;
+                case '\r':
+                    put('\\');
+                    put('r');
+                    break;
+                case '\t':
+                    put('\\');
+                    put('t');
+                    break;
+                default:
+                    if (c < 0x20) {
+                        put('\\');
+                        put('u');
+                        put('0');
+                        put('0');
+                        put(HEX_DIGITS[c >> 4]);
+                        put(HEX_DIGITS[c & 0xF]);
+                    } else if (appendable == null && Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        putCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+                    } else {
+                        put(c);
+                    }
+            }
+        }
+        put('"');
+    }
+
+    private void put(char c) {
+        if (appendable != null) {
+            try {
+                appendable.append(c);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to append JSON output.", e);
+            }
+            return;
+        }
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) c;
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[size++] = (byte) (0xC0 | (c >> 6));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            // unpaired surrogates cannot be encoded
+            ensureCapacity(1);
+            buffer[size++] = '?';
+        } else {
+            ensureCapacity(3);
+            buffer[size++] = (byte) (0xE0 | (c >> 12));
+            buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void putCodePoint(int codePoint) {
+        ensureCapacity(4);
+        buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void ensureCapacity(int numBytes) {
+        if (size + numBytes > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, size + numBytes)];
+            System.arraycopy(buffer, 0, grown, 0, size);
+            buffer = grown;
+        }
+    }
+
+    private void checkBuffered() {
+        if (appendable != null) {
+            throw new IllegalStateException("Writer appends to an Appendable and has no buffer.");
+        }
+    }
+}
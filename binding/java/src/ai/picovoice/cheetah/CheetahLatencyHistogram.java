@@ -0,0 +1,151 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.Arrays;
+
+/**
+ * Distribution of latencies, recorded with microsecond resolution in a fixed amount of memory.
+ *
+ * <p>Latencies below 64 microseconds are counted exactly. Larger ones are counted in buckets that are at most 1/32
+ * of their value wide, so percentiles are accurate to about 3%, from microseconds up to days. Recording never
+ * allocates. Instances are not thread-safe; use one per thread and {@link #add} them together to aggregate.
+ */
+public class CheetahLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_COUNT = 2 * SUB_BUCKET_COUNT;
+    private static final int BUCKET_COUNT = LINEAR_COUNT + (Long.SIZE - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long sumMicros = 0;
+    private long maxMicros = 0;
+
+    /**
+     * Records a latency. Negative latencies, which can only come from clock adjustments, are recorded as 0.
+     *
+     * @param latencyNanos Latency in nanoseconds.
+     */
+    public void record(long latencyNanos) {
+        long micros = Math.max(0, latencyNanos / 1000);
+        counts[bucketIndex(micros)]++;
+        count++;
+        sumMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /**
+     * Adds all latencies recorded by another histogram to this one.
+     *
+     * @param other Histogram to add.
+     */
+    public void add(CheetahLatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sumMicros += other.sumMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    /**
+     * Discards all recorded latencies.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sumMicros = 0;
+        maxMicros = 0;
+    }
+
+    /**
+     * Getter for the number of recorded latencies.
+     *
+     * @return Number of recorded latencies.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Getter for a percentile of the recorded latencies.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper bound of the latency, in milliseconds, that the given percentage of recorded latencies does not
+     *         exceed, or 0 if nothing was recorded.
+     */
+    public double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long numSeen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            numSeen += counts[i];
+            if (numSeen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros) / 1000.0;
+            }
+        }
+        return maxMicros / 1000.0;
+    }
+
+    /**
+     * Getter for the mean of the recorded latencies.
+     *
+     * @return Mean latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanMillis() {
+        return count == 0 ? 0 : (double) sumMicros / count / 1000.0;
+    }
+
+    /**
+     * Getter for the largest recorded latency.
+     *
+     * @return Maximum latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public double getMaxMillis() {
+        return maxMicros / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                count,
+                getMeanMillis(),
+                getPercentileMillis(50),
+                getPercentileMillis(90),
+                getPercentileMillis(99),
+                getMaxMillis());
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros < LINEAR_COUNT) {
+            return (int) micros;
+        }
+        // the top SUB_BUCKET_BITS + 1 bits of the value select the bucket
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(micros)) - SUB_BUCKET_BITS;
+        return LINEAR_COUNT + (shift - 1) * SUB_BUCKET_COUNT + (int) (micros >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < LINEAR_COUNT) {
+            return index;
+        }
+        int shift = (index - LINEAR_COUNT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - LINEAR_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
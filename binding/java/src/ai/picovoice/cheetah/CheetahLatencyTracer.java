@@ -0,0 +1,280 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+/**
+ * Measures the latency of a {@link CheetahStream} as experienced by its listeners: the time from the audio of a word
+ * being captured to the word being reported.
+ *
+ * <p>Each frame is tagged with the {@link System#nanoTime()} at which its last sample was captured by calling
+ * {@link #tagFrame(long)} before the frame is processed. The tracer listens to the stream, and when an endpoint
+ * or a word is reported it looks up the tag of the frame holding its last sample, through its position on the
+ * {@link CheetahTimeline}. Three distributions are kept:
+ *
+ * <ul>
+ *     <li>endpoint-to-final latency: from the audio at which the endpoint was detected being captured to the
+ *     final transcript being reported.</li>
+ *     <li>word latency: from the end of a word being captured to the word being reported.</li>
+ *     <li>speech-end-to-final latency: from the end of the last word of an utterance being captured to the final
+ *     transcript being reported. This includes the endpoint duration, so it is the number to compare when tuning
+ *     it.</li>
+ * </ul>
+ *
+ * <p>The last two need the position of every word, which makes the stream copy the words out of every transcript.
+ * They are only kept if {@link Builder#setTraceWords(boolean)} is enabled, so that tracing a stream that only
+ * reports text does not add that work to the latency it measures.
+ *
+ * <p>A tracer follows one stream, and must be used on the thread that processes it.
+ */
+public class CheetahLatencyTracer {
+
+    private final int frameLength;
+    private final int sampleRate;
+    private final long[] frameTags;
+    private final boolean isTracingWords;
+    private long numTaggedFrames;
+
+    private long endpointSample = -1;
+    private long speechEndSample = -1;
+    private long numUntracedWords = 0;
+
+    private final CheetahLatencyHistogram wordLatency = new CheetahLatencyHistogram();
+    private final CheetahLatencyHistogram endpointToFinalLatency = new CheetahLatencyHistogram();
+    private final CheetahLatencyHistogram speechEndToFinalLatency = new CheetahLatencyHistogram();
+
+    private CheetahLatencyTracer(
+            int frameLength,
+            int sampleRate,
+            int historyFrames,
+            long startSample,
+            boolean isTracingWords) {
+        this.frameLength = frameLength;
+        this.sampleRate = sampleRate;
+        this.frameTags = new long[historyFrames];
+        this.isTracingWords = isTracingWords;
+        this.numTaggedFrames = startSample / frameLength;
+    }
+
+    /**
+     * Registers the tracer's listeners with a stream that is being built.
+     *
+     * @param builder Builder of the stream to trace.
+     * @return The same builder.
+     */
+    public CheetahStream.Builder attach(CheetahStream.Builder builder) {
+        builder.addEndpointListener(this::onEndpoint)
+                .addFinalTranscriptListener(this::onFinalTranscript);
+        if (isTracingWords) {
+            builder.addPartialWordListener(this::onWords);
+        }
+        return builder;
+    }
+
+    /**
+     * Tags the next frame with the time it was captured. Must be called once for every frame, in order, before the
+     * frame is processed.
+     *
+     * @param captureNanos {@link System#nanoTime()} at which the last sample of the frame was captured.
+     */
+    public void tagFrame(long captureNanos) {
+        frameTags[(int) (numTaggedFrames % frameTags.length)] = captureNanos;
+        numTaggedFrames++;
+    }
+
+    /**
+     * Getter for the distribution of word latencies.
+     *
+     * @return Latencies from the end of a word being captured to the word being reported. Empty unless words are
+     *         traced.
+     */
+    public CheetahLatencyHistogram getWordLatency() {
+        return wordLatency;
+    }
+
+    /**
+     * Getter for the distribution of endpoint-to-final latencies.
+     *
+     * @return Latencies from the audio at which an endpoint was detected being captured to the final transcript
+     *         being reported.
+     */
+    public CheetahLatencyHistogram getEndpointToFinalLatency() {
+        return endpointToFinalLatency;
+    }
+
+    /**
+     * Getter for the distribution of speech-end-to-final latencies.
+     *
+     * @return Latencies from the end of the last word of an utterance being captured to the final transcript being
+     *         reported. Empty unless words are traced.
+     */
+    public CheetahLatencyHistogram getSpeechEndToFinalLatency() {
+        return speechEndToFinalLatency;
+    }
+
+    /**
+     * Getter for the number of words whose audio was no longer, or not yet, tagged when they were reported. A
+     * large number means that the history is too short or that frames are not tagged.
+     *
+     * @return Number of words not included in the word latencies.
+     */
+    public long getNumUntracedWords() {
+        return numUntracedWords;
+    }
+
+    /**
+     * Discards all measurements. Frame tags are kept.
+     */
+    public void reset() {
+        wordLatency.reset();
+        endpointToFinalLatency.reset();
+        speechEndToFinalLatency.reset();
+        numUntracedWords = 0;
+    }
+
+    void onWords(CheetahTranscript.Word[] words) {
+        long nowNanos = System.nanoTime();
+        for (CheetahTranscript.Word word : words) {
+            long captureNanos = captureNanos(word.getEndSample());
+            if (captureNanos == Long.MIN_VALUE) {
+                numUntracedWords++;
+            } else {
+                wordLatency.record(nowNanos - captureNanos);
+            }
+            speechEndSample = Math.max(speechEndSample, word.getEndSample());
+        }
+    }
+
+    void onEndpoint(long endSample) {
+        // the last sample of the frame in which the endpoint was detected
+        endpointSample = endSample - 1;
+    }
+
+    void onFinalTranscript(String transcript) {
+        long nowNanos = System.nanoTime();
+        if (endpointSample >= 0) {
+            long captureNanos = captureNanos(endpointSample);
+            if (captureNanos != Long.MIN_VALUE) {
+                endpointToFinalLatency.record(nowNanos - captureNanos);
+            }
+            endpointSample = -1;
+        }
+        if (speechEndSample >= 0) {
+            long captureNanos = captureNanos(speechEndSample);
+            if (captureNanos != Long.MIN_VALUE) {
+                speechEndToFinalLatency.record(nowNanos - captureNanos);
+            }
+            speechEndSample = -1;
+        }
+    }
+
+    private long captureNanos(long sample) {
+        if (sample < 0) {
+            return Long.MIN_VALUE;
+        }
+        long frame = sample / frameLength;
+        if (frame >= numTaggedFrames || frame < numTaggedFrames - frameTags.length) {
+            return Long.MIN_VALUE;
+        }
+        // the tag is the capture time of the last sample of the frame
+        long numLaterSamples = (frame + 1) * frameLength - 1 - sample;
+        return frameTags[(int) (frame % frameTags.length)] - numLaterSamples * 1_000_000_000L / sampleRate;
+    }
+
+    /**
+     * Builder for creating an instance of CheetahLatencyTracer.
+     */
+    public static class Builder {
+        private int frameLength = 0;
+        private int sampleRate = 0;
+        private int historyFrames = 2048;
+        private long startSample = 0;
+        private boolean isTracingWords = false;
+
+        /**
+         * Setter for the frame length of the stream.
+         *
+         * @param frameLength Number of samples per frame, from {@link Cheetah#getFrameLength()}.
+         */
+        public Builder setFrameLength(int frameLength) {
+            this.frameLength = frameLength;
+            return this;
+        }
+
+        /**
+         * Setter for the sample rate of the stream.
+         *
+         * @param sampleRate Sample rate in Hz, from {@link Cheetah#getSampleRate()}.
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for the number of frame tags kept. Words reported later than this many frames after their audio
+         * are not traced. Defaults to 2048 frames, about a minute of audio.
+         *
+         * @param historyFrames Number of frame tags kept.
+         */
+        public Builder setHistoryFrames(int historyFrames) {
+            this.historyFrames = historyFrames;
+            return this;
+        }
+
+        /**
+         * Setter for the position of the first tagged frame on the stream's {@link CheetahTimeline}. Defaults to 0,
+         * which is correct if the Cheetah instance has not processed any audio yet. Otherwise pass
+         * `cheetah.getTimeline().getSampleCount()`.
+         *
+         * @param startSample Absolute index of the first sample of the first tagged frame.
+         */
+        public Builder setStartSample(long startSample) {
+            this.startSample = startSample;
+            return this;
+        }
+
+        /**
+         * Setter for whether word and speech-end-to-final latencies are measured. Defaults to false, since it makes
+         * the stream copy the words out of every transcript. Enable it if the stream reports words anyway.
+         *
+         * @param traceWords Whether to trace the position of every word.
+         */
+        public Builder setTraceWords(boolean traceWords) {
+            this.isTracingWords = traceWords;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahLatencyTracer.
+         *
+         * @return An instance of CheetahLatencyTracer.
+         * @throws CheetahInvalidArgumentException if a property is out of range.
+         */
+        public CheetahLatencyTracer build() throws CheetahInvalidArgumentException {
+            if (frameLength <= 0) {
+                throw new CheetahInvalidArgumentException("frameLength must be greater than 0");
+            }
+            if (sampleRate <= 0) {
+                throw new CheetahInvalidArgumentException("sampleRate must be greater than 0");
+            }
+            if (historyFrames <= 0) {
+                throw new CheetahInvalidArgumentException("historyFrames must be greater than 0");
+            }
+            if (startSample < 0 || startSample % frameLength != 0) {
+                throw new CheetahInvalidArgumentException(
+                        "startSample must be greater than or equal to 0 and a multiple of frameLength");
+            }
+            return new CheetahLatencyTracer(frameLength, sampleRate, historyFrames, startSample, isTracingWords);
+        }
+    }
+}
@@ -0,0 +1,664 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulates concurrent live streams to find how many a machine can transcribe in real time.
+ *
+ * <p>Each stream feeds its own Cheetah instance from a loop over the audio corpus, starting at a different point so
+ * that streams do not transcribe the same audio at the same time. Frames are paced at true real time: a frame is
+ * only processed once its last sample would have been captured, and the lag of a frame is the time from that point
+ * to `process` returning. A frame that is not done by the time the next one is due is a deadline miss.
+ *
+ * <p>{@link #run()} ramps the number of streams, running each step for the step duration, and stops at the first
+ * step whose 99th percentile lag exceeds the target. The corpus is decoded once into a PCM cache file, keyed by the
+ * audio files and frame format, and memory-mapped, so all streams share one copy and later runs skip decoding.
+ */
+public class CheetahLoadGenerator {
+
+    private final Cheetah.Builder cheetahBuilder;
+    private final List<File> audioFiles;
+    private final File cacheDirectory;
+    private final int startStreams;
+    private final int streamStep;
+    private final int maxStreams;
+    private final float stepDurationSec;
+    private final float warmupDurationSec;
+    private final float targetP99LagSec;
+
+    private CheetahLoadGenerator(
+            Cheetah.Builder cheetahBuilder,
+            List<File> audioFiles,
+            File cacheDirectory,
+            int startStreams,
+            int streamStep,
+            int maxStreams,
+            float stepDurationSec,
+            float warmupDurationSec,
+            float targetP99LagSec) {
+        this.cheetahBuilder = cheetahBuilder;
+        this.audioFiles = audioFiles;
+        this.cacheDirectory = cacheDirectory;
+        this.startStreams = startStreams;
+        this.streamStep = streamStep;
+        this.maxStreams = maxStreams;
+        this.stepDurationSec = stepDurationSec;
+        this.warmupDurationSec = warmupDurationSec;
+        this.targetP99LagSec = targetP99LagSec;
+    }
+
+    /**
+     * Runs the ramp. Cheetah instances are created as the number of streams grows, and all of them are deleted
+     * before this returns.
+     *
+     * @return The results of every step that was run.
+     * @throws CheetahException if an instance fails to initialize, the corpus cannot be decoded or cached, or
+     *                          processing fails.
+     */
+    public Result run() throws CheetahException {
+        List<Cheetah> instances = new ArrayList<>();
+        try {
+            instances.add(cheetahBuilder.build());
+            int frameLength = instances.get(0).getFrameLength();
+            int sampleRate = instances.get(0).getSampleRate();
+            ShortBuffer corpus = mapCorpus(audioFiles, cacheDirectory, sampleRate, frameLength);
+
+            long frameNanos = frameLength * 1_000_000_000L / sampleRate;
+            long numFrames = Math.max(1, (long) (stepDurationSec * sampleRate / frameLength));
+            long numWarmupFrames = Math.min(numFrames - 1, (long) (warmupDurationSec * sampleRate / frameLength));
+
+            List<Step> steps = new ArrayList<>();
+            int maxSustainableStreams = 0;
+            for (int numStreams = startStreams; numStreams <= maxStreams; numStreams += streamStep) {
+                while (instances.size() < numStreams) {
+                    instances.add(cheetahBuilder.build());
+                }
+
+                Step step = runStep(
+                        instances.subList(0, numStreams),
+                        corpus,
+                        frameLength,
+                        frameNanos,
+                        numFrames,
+                        numWarmupFrames);
+                steps.add(step);
+                if (!step.isSustainable()) {
+                    break;
+                }
+                maxSustainableStreams = numStreams;
+            }
+            return new Result(steps, maxSustainableStreams);
+        } finally {
+            for (Cheetah cheetah : instances) {
+                cheetah.delete();
+            }
+        }
+    }
+
+    private Step runStep(
+            List<Cheetah> instances,
+            ShortBuffer corpus,
+            int frameLength,
+            long frameNanos,
+            long numFrames,
+            long numWarmupFrames) throws CheetahException {
+        int numStreams = instances.size();
+        int numCorpusFrames = corpus.capacity() / frameLength;
+        StreamWorker[] workers = new StreamWorker[numStreams];
+        Thread[] threads = new Thread[numStreams];
+
+        // streams start a fraction of a frame apart, like independent callers, rather than all at once
+        long startNanos = System.nanoTime() + 100_000_000L;
+        for (int i = 0; i < numStreams; i++) {
+            workers[i] = new StreamWorker(
+                    instances.get(i),
+                    corpus.duplicate(),
+                    frameLength,
+                    (long) i * numCorpusFrames / numStreams,
+                    startNanos + i * frameNanos / numStreams,
+                    frameNanos,
+                    numFrames,
+                    numWarmupFrames);
+            threads[i] = new Thread(workers[i], "CheetahLoadGenerator-" + i);
+            threads[i].start();
+        }
+
+        boolean isInterrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        CheetahLatencyHistogram lag = new CheetahLatencyHistogram();
+        long numDeadlineMisses = 0;
+        for (StreamWorker worker : workers) {
+            if (worker.error != null) {
+                throw worker.error;
+            }
+            lag.add(worker.lag);
+            numDeadlineMisses += worker.numDeadlineMisses;
+        }
+        boolean isSustainable = lag.getPercentileMillis(99) <= targetP99LagSec * 1000;
+        return new Step(numStreams, lag, numDeadlineMisses, isSustainable);
+    }
+
+    /**
+     * Decodes the audio files, concatenated and converted to frames of the given format, into a cache file and maps
+     * it into memory. Each file is padded with silence to a whole number of frames.
+     */
+    static ShortBuffer mapCorpus(List<File> audioFiles, File cacheDirectory, int sampleRate, int frameLength)
+            throws CheetahException {
+        Path cachePath = cacheDirectory.toPath().resolve(
+                String.format("corpus-%s.pcm", cacheKey(audioFiles, sampleRate, frameLength)));
+        try {
+            if (!Files.exists(cachePath)) {
+                Files.createDirectories(cacheDirectory.toPath());
+                Path tmpPath = Files.createTempFile(cacheDirectory.toPath(), "corpus-", ".tmp");
+                try {
+                    try (OutputStream outputStream = Files.newOutputStream(tmpPath)) {
+                        for (File audioFile : audioFiles) {
+                            decode(audioFile, outputStream, sampleRate, frameLength);
+                        }
+                    }
+                    // concurrent runs may decode the same corpus; either copy is complete
+                    Files.move(tmpPath, cachePath, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmpPath);
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size == 0 || size > Integer.MAX_VALUE) {
+                    throw new CheetahInvalidArgumentException(String.format(
+                            "Decoded audio corpus must be between 1 frame and 2 GiB, but is %d bytes", size));
+                }
+                // the mapping stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asShortBuffer();
+            }
+        } catch (IOException e) {
+            throw new CheetahIOException(e);
+        }
+    }
+
+    private static void decode(File audioFile, OutputStream outputStream, int sampleRate, int frameLength)
+            throws CheetahException, IOException {
+        AudioInputStream audioInputStream;
+        try {
+            audioInputStream = AudioSystem.getAudioInputStream(audioFile);
+        } catch (UnsupportedAudioFileException e) {
+            throw new CheetahInvalidArgumentException(String.format("Unsupported audio file '%s'", audioFile));
+        }
+
+        try {
+            AudioFormat format = audioInputStream.getFormat();
+            CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+                    .setInputSampleRate((int) format.getSampleRate())
+                    .setInputChannelCount(format.getChannels())
+                    .setInputSampleFormat(toSampleFormat(format, audioFile))
+                    .setInputBigEndian(format.isBigEndian())
+                    .setOutputSampleRate(sampleRate)
+                    .setFrameLength(frameLength)
+                    .build();
+
+            byte[] frameBytes = new byte[frameLength * 2];
+            CheetahAudioConverter.FrameListener listener = frame -> {
+                CheetahPcm.encodePcm16(frame, 0, frameBytes, 0, frameLength);
+                try {
+                    outputStream.write(frameBytes);
+                } catch (IOException e) {
+                    throw new CheetahIOException(e);
+                }
+            };
+
+            byte[] buffer = new byte[format.getFrameSize() * frameLength];
+            int numBytesRead;
+            while ((numBytesRead = audioInputStream.read(buffer)) != -1) {
+                converter.process(buffer, 0, numBytesRead, listener);
+            }
+            converter.flush(listener);
+        } finally {
+            audioInputStream.close();
+        }
+    }
+
+    private static CheetahAudioConverter.SampleFormat toSampleFormat(AudioFormat format, File audioFile)
+            throws CheetahInvalidArgumentException {
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int sampleSizeInBits = format.getSampleSizeInBits();
+        if (encoding.equals(AudioFormat.Encoding.PCM_SIGNED)) {
+            switch (sampleSizeInBits) {
+                case 8:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_8;
+                case 16:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_16;
+                case 24:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_24;
+                case 32:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_32;
+                default:
+                    break;
+            }
+        }
+        if (encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED) && sampleSizeInBits == 8) {
+            return CheetahAudioConverter.SampleFormat.UNSIGNED_8;
+        }
+        if (encoding.equals(AudioFormat.Encoding.PCM_FLOAT) && sampleSizeInBits == 32) {
+            return CheetahAudioConverter.SampleFormat.FLOAT_32;
+        }
+        if (encoding.equals(AudioFormat.Encoding.ULAW)) {
+            return CheetahAudioConverter.SampleFormat.MULAW;
+        }
+        if (encoding.equals(AudioFormat.Encoding.ALAW)) {
+            return CheetahAudioConverter.SampleFormat.ALAW;
+        }
+        throw new CheetahInvalidArgumentException(String.format(
+                "Unsupported audio encoding in '%s': %s, %d-bit", audioFile, encoding, sampleSizeInBits));
+    }
+
+    private static String cacheKey(List<File> audioFiles, int sampleRate, int frameLength) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        StringBuilder description = new StringBuilder()
+                .append(sampleRate).append('\n')
+                .append(frameLength).append('\n');
+        for (File audioFile : audioFiles) {
+            description.append(audioFile.getAbsolutePath()).append('\n')
+                    .append(audioFile.length()).append('\n')
+                    .append(audioFile.lastModified()).append('\n');
+        }
+        byte[] hash = digest.digest(description.toString().getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            hex.append(String.format("%02x", hash[i]));
+        }
+        return hex.toString();
+    }
+
+    private static final class StreamWorker implements Runnable {
+        private final Cheetah cheetah;
+        private final ShortBuffer corpus;
+        private final int frameLength;
+        private final long startFrame;
+        private final long startNanos;
+        private final long frameNanos;
+        private final long numFrames;
+        private final long numWarmupFrames;
+
+        private final CheetahLatencyHistogram lag = new CheetahLatencyHistogram();
+        private long numDeadlineMisses = 0;
+        private CheetahException error = null;
+
+        StreamWorker(
+                Cheetah cheetah,
+                ShortBuffer corpus,
+                int frameLength,
+                long startFrame,
+                long startNanos,
+                long frameNanos,
+                long numFrames,
+                long numWarmupFrames) {
+            this.cheetah = cheetah;
+            this.corpus = corpus;
+            this.frameLength = frameLength;
+            this.startFrame = startFrame;
+            this.startNanos = startNanos;
+            this.frameNanos = frameNanos;
+            this.numFrames = numFrames;
+            this.numWarmupFrames = numWarmupFrames;
+        }
+
+        @Override
+        public void run() {
+            int numCorpusFrames = corpus.capacity() / frameLength;
+            short[] frame = new short[frameLength];
+            try {
+                for (long i = 0; i < numFrames; i++) {
+                    // the moment the last sample of the frame would have been captured
+                    long dueNanos = startNanos + (i + 1) * frameNanos;
+                    long waitNanos;
+                    while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+
+                    corpus.position((int) ((startFrame + i) % numCorpusFrames) * frameLength);
+                    corpus.get(frame);
+                    if (cheetah.process(frame).getIsEndpoint()) {
+                        cheetah.flush();
+                    }
+
+                    long lagNanos = System.nanoTime() - dueNanos;
+                    if (i >= numWarmupFrames) {
+                        lag.record(lagNanos);
+                        if (lagNanos > frameNanos) {
+                            numDeadlineMisses++;
+                        }
+                    }
+                }
+                cheetah.flush();
+            } catch (CheetahException e) {
+                error = e;
+            }
+        }
+    }
+
+    /**
+     * Measurements of one step of the ramp.
+     */
+    public static class Step {
+        private final int numStreams;
+        private final CheetahLatencyHistogram lag;
+        private final long numDeadlineMisses;
+        private final boolean isSustainable;
+
+        private Step(int numStreams, CheetahLatencyHistogram lag, long numDeadlineMisses, boolean isSustainable) {
+            this.numStreams = numStreams;
+            this.lag = lag;
+            this.numDeadlineMisses = numDeadlineMisses;
+            this.isSustainable = isSustainable;
+        }
+
+        /**
+         * Getter for the number of concurrent streams.
+         *
+         * @return Number of streams in this step.
+         */
+        public int getNumStreams() {
+            return numStreams;
+        }
+
+        /**
+         * Getter for the lag of all frames of all streams, after the warmup.
+         *
+         * @return Distribution of the time from a frame being due to it being processed.
+         */
+        public CheetahLatencyHistogram getLag() {
+            return lag;
+        }
+
+        /**
+         * Getter for the number of frames, after the warmup, that were not processed before the next frame was due.
+         *
+         * @return Number of deadline misses across all streams.
+         */
+        public long getNumDeadlineMisses() {
+            return numDeadlineMisses;
+        }
+
+        /**
+         * Getter for whether the 99th percentile lag stayed within the target.
+         *
+         * @return Whether this number of streams can be sustained.
+         */
+        public boolean isSustainable() {
+            return isSustainable;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d streams: %s, %d deadline misses%s",
+                    numStreams,
+                    lag,
+                    numDeadlineMisses,
+                    isSustainable ? "" : " (not sustainable)");
+        }
+    }
+
+    /**
+     * Results of a ramp.
+     */
+    public static class Result {
+        private final List<Step> steps;
+        private final int maxSustainableStreams;
+
+        private Result(List<Step> steps, int maxSustainableStreams) {
+            this.steps = Collections.unmodifiableList(steps);
+            this.maxSustainableStreams = maxSustainableStreams;
+        }
+
+        /**
+         * Getter for the steps that were run, in order.
+         *
+         * @return Measurements of each step.
+         */
+        public List<Step> getSteps() {
+            return steps;
+        }
+
+        /**
+         * Getter for the largest number of streams whose 99th percentile lag stayed within the target.
+         *
+         * @return Maximum sustainable number of streams, or 0 if even the first step exceeded the target.
+         */
+        public int getMaxSustainableStreams() {
+            return maxSustainableStreams;
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahLoadGenerator.
+     */
+    public static class Builder {
+        private Cheetah.Builder cheetahBuilder = null;
+        private String[] audioPaths = null;
+        private String cacheDirectory = null;
+        private int startStreams = 1;
+        private int streamStep = 1;
+        private int maxStreams = 64;
+        private float stepDurationSec = 30f;
+        private float warmupDurationSec = 2f;
+        private float targetP99LagSec = 0.2f;
+
+        /**
+         * Setter for the builder used to create the Cheetah instance of each stream.
+         *
+         * @param cheetahBuilder A configured Cheetah Builder.
+         */
+        public Builder setCheetahBuilder(Cheetah.Builder cheetahBuilder) {
+            this.cheetahBuilder = cheetahBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the audio corpus. Files are concatenated in the given order; directories contribute their
+         * `.wav` files in name order.
+         *
+         * @param audioPaths Paths to audio files or directories.
+         */
+        public Builder setAudioPaths(String... audioPaths) {
+            this.audioPaths = audioPaths;
+            return this;
+        }
+
+        /**
+         * Setter for the directory the decoded corpus is cached in. Defaults to the system temporary directory.
+         *
+         * @param cacheDirectory Path to the cache directory.
+         */
+        public Builder setCacheDirectory(String cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Setter for the number of streams of the first step. Defaults to 1.
+         *
+         * @param startStreams Number of streams.
+         */
+        public Builder setStartStreams(int startStreams) {
+            this.startStreams = startStreams;
+            return this;
+        }
+
+        /**
+         * Setter for the number of streams added at each step. Defaults to 1.
+         *
+         * @param streamStep Number of streams.
+         */
+        public Builder setStreamStep(int streamStep) {
+            this.streamStep = streamStep;
+            return this;
+        }
+
+        /**
+         * Setter for the largest number of streams to try. Defaults to 64.
+         *
+         * @param maxStreams Number of streams.
+         */
+        public Builder setMaxStreams(int maxStreams) {
+            this.maxStreams = maxStreams;
+            return this;
+        }
+
+        /**
+         * Setter for the length of the session each stream transcribes at each step. The corpus is looped if it is
+         * shorter. Defaults to 30 seconds.
+         *
+         * @param stepDurationSec Step duration in seconds.
+         */
+        public Builder setStepDuration(float stepDurationSec) {
+            this.stepDurationSec = stepDurationSec;
+            return this;
+        }
+
+        /**
+         * Setter for the start of each session that is excluded from the measurements. Defaults to 2 seconds.
+         *
+         * @param warmupDurationSec Warmup duration in seconds.
+         */
+        public Builder setWarmupDuration(float warmupDurationSec) {
+            this.warmupDurationSec = warmupDurationSec;
+            return this;
+        }
+
+        /**
+         * Setter for the largest 99th percentile lag at which a number of streams counts as sustainable. Defaults
+         * to 0.2 seconds.
+         *
+         * @param targetP99LagSec Target lag in seconds.
+         */
+        public Builder setTargetP99Lag(float targetP99LagSec) {
+            this.targetP99LagSec = targetP99LagSec;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahLoadGenerator.
+         *
+         * @return An instance of CheetahLoadGenerator.
+         * @throws CheetahInvalidArgumentException if a property is missing or out of range.
+         */
+        public CheetahLoadGenerator build() throws CheetahInvalidArgumentException {
+            if (cheetahBuilder == null) {
+                throw new CheetahInvalidArgumentException("cheetahBuilder must be set");
+            }
+            if (audioPaths == null || audioPaths.length == 0) {
+                throw new CheetahInvalidArgumentException("audioPaths must be set");
+            }
+            if (startStreams <= 0) {
+                throw new CheetahInvalidArgumentException("startStreams must be greater than 0");
+            }
+            if (streamStep <= 0) {
+                throw new CheetahInvalidArgumentException("streamStep must be greater than 0");
+            }
+            if (maxStreams < startStreams) {
+                throw new CheetahInvalidArgumentException("maxStreams must be greater than or equal to startStreams");
+            }
+            if (!(stepDurationSec > 0)) {
+                throw new CheetahInvalidArgumentException("stepDuration must be greater than 0");
+            }
+            if (!(warmupDurationSec >= 0)) {
+                throw new CheetahInvalidArgumentException("warmupDuration must be greater than or equal to 0");
+            }
+            if (!(targetP99LagSec > 0)) {
+                throw new CheetahInvalidArgumentException("targetP99Lag must be greater than 0");
+            }
+
+            List<File> audioFiles = new ArrayList<>();
+            for (String audioPath : audioPaths) {
+                File file = new File(audioPath);
+                if (file.isDirectory()) {
+                    File[] wavFiles = file.listFiles((dir, name) -> name.toLowerCase().endsWith(".wav"));
+                    if (wavFiles != null) {
+                        Arrays.sort(wavFiles);
+                        audioFiles.addAll(Arrays.asList(wavFiles));
+                    }
+                } else if (file.isFile()) {
+                    audioFiles.add(file);
+                } else {
+                    throw new CheetahInvalidArgumentException(
+                            String.format("Couldn't find audio file at '%s'", audioPath));
+                }
+            }
+            if (audioFiles.isEmpty()) {
+                throw new CheetahInvalidArgumentException("audioPaths must contain at least one audio file");
+            }
+
+            File cacheDir = cacheDirectory != null
+                    ? new File(cacheDirectory)
+                    : new File(System.getProperty("java.io.tmpdir"), "cheetah-load-generator");
+            return new CheetahLoadGenerator(
+                    cheetahBuilder,
+                    audioFiles,
+                    cacheDir,
+                    startStreams,
+                    streamStep,
+                    maxStreams,
+                    stepDurationSec,
+                    warmupDurationSec,
+                    targetP99LagSec);
+        }
+    }
+}
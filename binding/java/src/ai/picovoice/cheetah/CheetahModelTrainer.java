@@ -0,0 +1,558 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Trains Cheetah models with custom vocabulary using the Picovoice model API.
+ *
+ * <p>When a cache directory is set, trained models are stored in it under a hash of the language and the normalized
+ * YAML configuration. Training the same configuration again copies the cached model instead of making a request,
+ * and concurrent requests for the same configuration share a single training. The cache is capped in size; the
+ * least recently used models are evicted first. A model that another trainer evicts while it is being copied is
+ * trained again.
+ *
+ * <p>Models are streamed from the response to disk and only become visible under their final name once complete.
+ */
+public class CheetahModelTrainer {
+
+    private static final Set<String> VALID_LANGUAGES =
+            new HashSet<>(Arrays.asList("de", "en", "es", "fr", "it", "pt"));
+
+    private static final String MODEL_EXTENSION = ".pv";
+
+    private static final int CONNECT_TIMEOUT_MS = 30 * 1000;
+    // training runs while the request is open, so the response can take minutes to start
+    private static final int READ_TIMEOUT_MS = 10 * 60 * 1000;
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "CheetahModelTrainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String accessKey;
+    private final String apiUrl;
+    private final Path cacheDirectory;
+    private final long maxCacheSizeBytes;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<Path>> pendingTrainings = new ConcurrentHashMap<>();
+
+    private CheetahModelTrainer(
+            String accessKey,
+            String apiUrl,
+            Path cacheDirectory,
+            long maxCacheSizeBytes,
+            Executor executor) {
+        this.accessKey = accessKey;
+        this.apiUrl = apiUrl;
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheSizeBytes = maxCacheSizeBytes;
+        this.executor = executor;
+    }
+
+    /**
+     * Trains a model using the specified `newWords` and `boostWords` arguments. Words and pronunciations are sorted,
+     * so equal sets train, and are cached as, the same model regardless of their iteration order.
+     *
+     * @param outputPath Path to file where the trained model will be saved.
+     * @param language   Two character language code for the model (e.g. "en", "fr").
+     *                   See https://picovoice.ai/docs/model-api/cheetah/ for supported languages.
+     * @param newWords   A dictionary of words to pronunciations to add to the new model.
+     *                   Keys should be the word string. Values are a Set of pronunciations
+     *                   for the given word, each pronunciation is a string of space separated
+     *                   IPA phonemes. An empty Set will result in the training
+     *                   generating a default pronunciation.
+     * @param boostWords A Set of words to "boost". The engine will be more likely to select the boosted words.
+     * @throws CheetahIOException      if the request times out or fails, or the model cannot be written.
+     * @throws CheetahRuntimeException if the model API rejects the request.
+     * @throws CheetahException        if model training fails for another reason.
+     */
+    public void trainModelFromWords(
+            String outputPath,
+            String language,
+            Map<String, Set<String>> newWords,
+            Set<String> boostWords) throws CheetahException {
+        trainModelFromYaml(outputPath, language, toYaml(newWords, boostWords));
+    }
+
+    /**
+     * Trains a model using a YAML configuration string.
+     *
+     * @param outputPath  Path to file where the trained model will be saved.
+     * @param language    Two character language code for the model (e.g. "en", "fr").
+     *                    See https://picovoice.ai/docs/model-api/cheetah/ for supported languages.
+     * @param yamlContent YAML configuration in string to be used for training.
+     * @throws CheetahIOException      if the request times out or fails, or the model cannot be written.
+     * @throws CheetahRuntimeException if the model API rejects the request.
+     * @throws CheetahException        if model training fails for another reason.
+     */
+    public void trainModelFromYaml(String outputPath, String language, String yamlContent) throws CheetahException {
+        if (outputPath == null) {
+            throw new CheetahInvalidArgumentException("Output path must not be null");
+        }
+        if (!VALID_LANGUAGES.contains(language)) {
+            throw new CheetahInvalidArgumentException("Invalid language ('" + language + "')");
+        }
+        if (yamlContent == null) {
+            throw new CheetahInvalidArgumentException("YAML content must not be null");
+        }
+
+        Path output = Paths.get(outputPath);
+        String normalizedYaml = normalizeYaml(yamlContent);
+        if (cacheDirectory == null) {
+            train(language, normalizedYaml, output);
+            return;
+        }
+
+        copyCachedModel(language, normalizedYaml, trainCached(language, normalizedYaml), output);
+    }
+
+    /**
+     * Asynchronous version of {@link #trainModelFromWords(String, String, Map, Set)}.
+     *
+     * @param outputPath Path to file where the trained model will be saved.
+     * @param language   Two character language code for the model.
+     * @param newWords   A dictionary of words to pronunciations to add to the new model.
+     * @param boostWords A Set of words to "boost".
+     * @return Future that completes once the model has been saved, or completes exceptionally with the
+     *         {@link CheetahException} that caused training to fail.
+     */
+    public CompletableFuture<Void> trainModelFromWordsAsync(
+            String outputPath,
+            String language,
+            Map<String, Set<String>> newWords,
+            Set<String> boostWords) {
+        return trainModelFromYamlAsync(outputPath, language, toYaml(newWords, boostWords));
+    }
+
+    /**
+     * Asynchronous version of {@link #trainModelFromYaml(String, String, String)}.
+     *
+     * @param outputPath  Path to file where the trained model will be saved.
+     * @param language    Two character language code for the model.
+     * @param yamlContent YAML configuration in string to be used for training.
+     * @return Future that completes once the model has been saved, or completes exceptionally with the
+     *         {@link CheetahException} that caused training to fail.
+     */
+    public CompletableFuture<Void> trainModelFromYamlAsync(String outputPath, String language, String yamlContent) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                trainModelFromYaml(outputPath, language, yamlContent);
+            } catch (CheetahException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Getter for the path at which a configuration is cached. The file exists only once the configuration has been
+     * trained and as long as it has not been evicted.
+     *
+     * @param language    Two character language code for the model.
+     * @param yamlContent YAML configuration in string to be used for training.
+     * @return Path of the cached model, or `null` if the trainer has no cache directory.
+     */
+    public Path getCachedModelPath(String language, String yamlContent) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        return cacheDirectory.resolve(cacheKey(language, normalizeYaml(yamlContent)) + MODEL_EXTENSION);
+    }
+
+    /**
+     * Copies a cached model to `output`. Another trainer sharing the cache directory may evict the model after it
+     * was found and before it is copied, in which case it is trained again.
+     */
+    void copyCachedModel(String language, String normalizedYaml, Path cachedModel, Path output)
+            throws CheetahException {
+        try {
+            try {
+                copyAtomically(cachedModel, output);
+            } catch (NoSuchFileException e) {
+                if (Files.exists(cachedModel)) {
+                    throw e;
+                }
+                copyAtomically(trainCached(language, normalizedYaml), output);
+            }
+        } catch (IOException e) {
+            throw new CheetahIOException(e);
+        }
+    }
+
+    private Path trainCached(String language, String normalizedYaml) throws CheetahException {
+        String key = cacheKey(language, normalizedYaml);
+        Path cachedModel = cacheDirectory.resolve(key + MODEL_EXTENSION);
+        if (touch(cachedModel)) {
+            return cachedModel;
+        }
+
+        CompletableFuture<Path> training = new CompletableFuture<>();
+        CompletableFuture<Path> pendingTraining = pendingTrainings.putIfAbsent(key, training);
+        if (pendingTraining != null) {
+            return await(pendingTraining);
+        }
+
+        try {
+            if (!touch(cachedModel)) {
+                Files.createDirectories(cacheDirectory);
+                train(language, normalizedYaml, cachedModel);
+                evict(cachedModel);
+            }
+            training.complete(cachedModel);
+        } catch (CheetahException e) {
+            training.completeExceptionally(e);
+        } catch (IOException e) {
+            training.completeExceptionally(new CheetahIOException(e));
+        } finally {
+            pendingTrainings.remove(key);
+        }
+        return await(training);
+    }
+
+    private void train(String language, String yamlContent, Path output) throws CheetahException {
+        CheetahJsonWriter payload = new CheetahJsonWriter()
+                .beginObject()
+                .name("engine").value("cheetah")
+                .name("model_type").value("default")
+                .name("yaml_content").value(yamlContent)
+                .endObject();
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(apiUrl + language + "/api/cat").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            // the request is small, and not streaming it keeps the body of an authentication error readable
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("x-api-key", accessKey);
+            try (OutputStream os = connection.getOutputStream()) {
+                payload.writeTo(os);
+            }
+
+            int status = connection.getResponseCode();
+            if (status < 200 || status >= 300) {
+                throw new CheetahRuntimeException("Failed to train model: " + readError(connection));
+            }
+
+            try (InputStream is = connection.getInputStream()) {
+                Path tmpOutput = temporarySibling(output);
+                try {
+                    long numBytes = Files.copy(is, tmpOutput, StandardCopyOption.REPLACE_EXISTING);
+                    if (numBytes == 0) {
+                        throw new CheetahRuntimeException("Empty response body");
+                    }
+                    Files.move(tmpOutput, output, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmpOutput);
+                }
+            }
+        } catch (IOException e) {
+            throw new CheetahIOException(e);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Removes the least recently used models until the cache fits its size cap. The model that was just added is
+     * never removed.
+     */
+    private void evict(Path keep) throws IOException {
+        List<Path> models = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDirectory, "*" + MODEL_EXTENSION)) {
+            for (Path model : stream) {
+                models.add(model);
+            }
+        }
+
+        Map<Path, FileTime> lastUsed = new TreeMap<>();
+        long totalSize = 0;
+        for (Path model : new ArrayList<>(models)) {
+            try {
+                lastUsed.put(model, Files.getLastModifiedTime(model));
+                totalSize += Files.size(model);
+            } catch (NoSuchFileException e) {
+                // evicted concurrently
+                models.remove(model);
+            }
+        }
+        if (totalSize <= maxCacheSizeBytes) {
+            return;
+        }
+
+        models.sort(Comparator.comparing(lastUsed::get));
+        for (Path model : models) {
+            if (totalSize <= maxCacheSizeBytes) {
+                break;
+            }
+            if (model.equals(keep)) {
+                continue;
+            }
+            try {
+                long size = Files.size(model);
+                Files.delete(model);
+                totalSize -= size;
+            } catch (NoSuchFileException ignored) {
+                // evicted concurrently
+            }
+        }
+    }
+
+    private static boolean touch(Path model) {
+        try {
+            // the modification time of a cached model is the time it was last used
+            Files.setLastModifiedTime(model, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void copyAtomically(Path src, Path dst) throws IOException {
+        Path tmp = temporarySibling(dst);
+        try {
+            Files.copy(src, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, dst, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static Path temporarySibling(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    }
+
+    private static Path await(CompletableFuture<Path> training) throws CheetahException {
+        try {
+            return training.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CheetahException) {
+                throw (CheetahException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String readError(HttpURLConnection connection) throws IOException {
+        InputStream es = connection.getErrorStream();
+        if (es == null) {
+            return "";
+        }
+        try (InputStream is = es) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int numBytesRead;
+            while ((numBytesRead = is.read(buffer)) != -1) {
+                body.write(buffer, 0, numBytesRead);
+            }
+            return new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Normalizes line endings and trailing whitespace, which do not change the meaning of the configuration.
+     */
+    static String normalizeYaml(String yamlContent) {
+        String[] lines = yamlContent.replace("\r\n", "\n").replace('\r', '\n').split("\n");
+        StringBuilder normalized = new StringBuilder(yamlContent.length());
+        for (String line : lines) {
+            int end = line.length();
+            while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            normalized.append(line, 0, end).append('\n');
+        }
+        int length = normalized.length();
+        while (length > 0 && normalized.charAt(length - 1) == '\n') {
+            length--;
+        }
+        normalized.setLength(length);
+        return normalized.append('\n').toString();
+    }
+
+    static String cacheKey(String language, String normalizedYaml) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(language.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        byte[] hash = digest.digest(normalizedYaml.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder key = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    static String toYaml(Map<String, Set<String>> newWords, Set<String> boostWords) {
+        StringBuilder yaml = new StringBuilder();
+        Map<String, Set<String>> sortedNewWords = newWords != null ? new TreeMap<>(newWords) : Collections.emptyMap();
+        if (sortedNewWords.isEmpty()) {
+            yaml.append("new: {}\n");
+        } else {
+            yaml.append("new:\n");
+            for (Map.Entry<String, Set<String>> entry : sortedNewWords.entrySet()) {
+                yaml.append("  ");
+                appendQuoted(yaml, entry.getKey());
+                yaml.append(": ");
+                appendFlowSequence(yaml, entry.getValue());
+                yaml.append('\n');
+            }
+        }
+        yaml.append("boost: ");
+        appendFlowSequence(yaml, boostWords);
+        return yaml.append('\n').toString();
+    }
+
+    private static void appendFlowSequence(StringBuilder yaml, Set<String> values) {
+        yaml.append('[');
+        if (values != null) {
+            String separator = "";
+            for (String value : new TreeSet<>(values)) {
+                yaml.append(separator);
+                appendQuoted(yaml, value);
+                separator = ", ";
+            }
+        }
+        yaml.append(']');
+    }
+
+    private static void appendQuoted(StringBuilder yaml, String value) {
+        // JSON string escapes are a subset of YAML's double-quoted scalar escapes
+        new CheetahJsonWriter(yaml).value(value);
+    }
+
+    /**
+     * Builder for creating instances of CheetahModelTrainer.
+     */
+    public static class Builder {
+
+        private static final String DEFAULT_API_URL = "https://rest.picovoice.ai/";
+        private static final long DEFAULT_MAX_CACHE_SIZE_BYTES = 1024L * 1024L * 1024L;
+
+        private String accessKey = null;
+        private String apiUrl = DEFAULT_API_URL;
+        private Path cacheDirectory = null;
+        private long maxCacheSizeBytes = DEFAULT_MAX_CACHE_SIZE_BYTES;
+        private Executor executor = DEFAULT_EXECUTOR;
+
+        /**
+         * Setter for the AccessKey.
+         *
+         * @param accessKey AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).
+         */
+        public Builder setAccessKey(String accessKey) {
+            this.accessKey = accessKey;
+            return this;
+        }
+
+        /**
+         * Setter for the cache directory. If not set, every call trains a model.
+         *
+         * @param cacheDirectory Directory in which trained models are kept. It is created if it does not exist.
+         */
+        public Builder setCacheDirectory(String cacheDirectory) {
+            this.cacheDirectory = cacheDirectory != null ? Paths.get(cacheDirectory) : null;
+            return this;
+        }
+
+        /**
+         * Setter for the size cap of the cache. Default is 1 GiB.
+         *
+         * @param maxCacheSizeBytes Maximum total size of cached models in bytes.
+         */
+        public Builder setMaxCacheSizeBytes(long maxCacheSizeBytes) {
+            this.maxCacheSizeBytes = maxCacheSizeBytes;
+            return this;
+        }
+
+        /**
+         * Setter for the executor that runs asynchronous training. Default is a shared pool of daemon threads.
+         *
+         * @param executor Executor for the `Async` methods.
+         */
+        public Builder setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        Builder setApiUrl(String apiUrl) {
+            this.apiUrl = apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahModelTrainer.
+         *
+         * @return An instance of CheetahModelTrainer.
+         * @throws CheetahException if the properties are invalid.
+         */
+        public CheetahModelTrainer build() throws CheetahException {
+            if (accessKey == null || accessKey.equals("")) {
+                throw new CheetahInvalidArgumentException("No AccessKey was provided to CheetahModelTrainer");
+            }
+            if (maxCacheSizeBytes <= 0) {
+                throw new CheetahInvalidArgumentException("Maximum cache size must be greater than 0");
+            }
+            if (executor == null) {
+                throw new CheetahInvalidArgumentException("Executor must not be null");
+            }
+            return new CheetahModelTrainer(accessKey, apiUrl, cacheDirectory, maxCacheSizeBytes, executor);
+        }
+    }
+}
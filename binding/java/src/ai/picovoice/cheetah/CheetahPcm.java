@@ -0,0 +1,187 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+/**
+ * Bulk kernels for preparing PCM audio for Cheetah.
+ *
+ * <p>The kernels operate on caller-provided arrays and never allocate. They are plain index loops without
+ * branches or calls in their bodies, so that the JIT compiler can unroll and vectorize them on the targets it
+ * supports.
+ */
+public final class CheetahPcm {
+
+    static final short[] MULAW_TABLE = new short[256];
+    static final short[] ALAW_TABLE = new short[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int mulaw = ~i & 0xFF;
+            int exponent = (mulaw >> 4) & 0x07;
+            int sample = ((((mulaw & 0x0F) << 3) + 0x84) << exponent) - 0x84;
+            MULAW_TABLE[i] = (short) ((mulaw & 0x80) != 0 ? -sample : sample);
+
+            int alaw = i ^ 0x55;
+            exponent = (alaw >> 4) & 0x07;
+            sample = exponent == 0
+                    ? ((alaw & 0x0F) << 4) + 8
+                    : (((alaw & 0x0F) << 4) + 0x108) << (exponent - 1);
+            ALAW_TABLE[i] = (short) ((alaw & 0x80) != 0 ? sample : -sample);
+        }
+    }
+
+    private CheetahPcm() { }
+
+    /**
+     * Decodes 16-bit PCM bytes into samples.
+     *
+     * @param src         Raw PCM bytes.
+     * @param srcOffset   Offset of the first byte in `src`.
+     * @param dst         Destination samples.
+     * @param dstOffset   Offset of the first sample in `dst`.
+     * @param numSamples  Number of samples to decode.
+     * @param isBigEndian Whether the bytes are big-endian.
+     */
+    public static void decodePcm16(
+            byte[] src,
+            int srcOffset,
+            short[] dst,
+            int dstOffset,
+            int numSamples,
+            boolean isBigEndian) {
+        // offsets of the high and low byte of each sample
+        int hi = isBigEndian ? 0 : 1;
+        int lo = 1 - hi;
+        for (int i = 0; i < numSamples; i++) {
+            int byteOffset = srcOffset + 2 * i;
+            dst[dstOffset + i] = (short) ((src[byteOffset + hi] << 8) | (src[byteOffset + lo] & 0xFF));
+        }
+    }
+
+    /**
+     * Encodes samples as little-endian 16-bit PCM bytes.
+     *
+     * @param src        Source samples.
+     * @param srcOffset  Offset of the first sample in `src`.
+     * @param dst        Destination bytes.
+     * @param dstOffset  Offset of the first byte in `dst`.
+     * @param numSamples Number of samples to encode.
+     */
+    public static void encodePcm16(short[] src, int srcOffset, byte[] dst, int dstOffset, int numSamples) {
+        for (int i = 0; i < numSamples; i++) {
+            short sample = src[srcOffset + i];
+            dst[dstOffset + 2 * i] = (byte) sample;
+            dst[dstOffset + 2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * Decodes G.711 mu-law bytes into 16-bit samples.
+     *
+     * @param src        G.711 mu-law bytes.
+     * @param srcOffset  Offset of the first byte in `src`.
+     * @param dst        Destination samples.
+     * @param dstOffset  Offset of the first sample in `dst`.
+     * @param numSamples Number of samples to decode.
+     */
+    public static void decodeMulaw(byte[] src, int srcOffset, short[] dst, int dstOffset, int numSamples) {
+        for (int i = 0; i < numSamples; i++) {
+            dst[dstOffset + i] = MULAW_TABLE[src[srcOffset + i] & 0xFF];
+        }
+    }
+
+    /**
+     * Decodes G.711 A-law bytes into 16-bit samples.
+     *
+     * @param src        G.711 A-law bytes.
+     * @param srcOffset  Offset of the first byte in `src`.
+     * @param dst        Destination samples.
+     * @param dstOffset  Offset of the first sample in `dst`.
+     * @param numSamples Number of samples to decode.
+     */
+    public static void decodeAlaw(byte[] src, int srcOffset, short[] dst, int dstOffset, int numSamples) {
+        for (int i = 0; i < numSamples; i++) {
+            dst[dstOffset + i] = ALAW_TABLE[src[srcOffset + i] & 0xFF];
+        }
+    }
+
+    /**
+     * Converts floating point samples in the range [-1, 1] to 16-bit samples. Values outside the range are
+     * clipped.
+     *
+     * @param src        Source samples.
+     * @param srcOffset  Offset of the first sample in `src`.
+     * @param dst        Destination samples.
+     * @param dstOffset  Offset of the first sample in `dst`.
+     * @param numSamples Number of samples to convert.
+     */
+    public static void floatToPcm16(float[] src, int srcOffset, short[] dst, int dstOffset, int numSamples) {
+        for (int i = 0; i < numSamples; i++) {
+            // offset into the positive range so that truncation rounds to nearest, like `Math.round`
+            float sample = src[srcOffset + i] * 32768f + 32768.5f;
+            sample = sample < 0.5f ? 0.5f : sample;
+            sample = sample > 65535.5f ? 65535.5f : sample;
+            dst[dstOffset + i] = (short) ((int) sample - 32768);
+        }
+    }
+
+    /**
+     * Averages interleaved stereo samples into a single channel.
+     *
+     * @param src       Interleaved stereo samples.
+     * @param srcOffset Offset of the first sample in `src`.
+     * @param dst       Destination mono samples.
+     * @param dstOffset Offset of the first sample in `dst`.
+     * @param numFrames Number of stereo frames to downmix.
+     */
+    public static void downmixStereo(short[] src, int srcOffset, short[] dst, int dstOffset, int numFrames) {
+        for (int i = 0; i < numFrames; i++) {
+            dst[dstOffset + i] = (short) ((src[srcOffset + 2 * i] + src[srcOffset + 2 * i + 1]) >> 1);
+        }
+    }
+
+    /**
+     * Averages interleaved samples of any number of channels into a single channel.
+     *
+     * @param src          Interleaved samples.
+     * @param srcOffset    Offset of the first sample in `src`.
+     * @param channelCount Number of interleaved channels.
+     * @param dst          Destination mono samples.
+     * @param dstOffset    Offset of the first sample in `dst`.
+     * @param numFrames    Number of frames to downmix.
+     */
+    public static void downmix(
+            short[] src,
+            int srcOffset,
+            int channelCount,
+            short[] dst,
+            int dstOffset,
+            int numFrames) {
+        if (channelCount == 1) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, numFrames);
+            return;
+        }
+        if (channelCount == 2) {
+            downmixStereo(src, srcOffset, dst, dstOffset, numFrames);
+            return;
+        }
+        for (int i = 0; i < numFrames; i++) {
+            int sum = 0;
+            int frameOffset = srcOffset + i * channelCount;
+            for (int c = 0; c < channelCount; c++) {
+                sum += src[frameOffset + c];
+            }
+            dst[dstOffset + i] = (short) (sum / channelCount);
+        }
+    }
+}
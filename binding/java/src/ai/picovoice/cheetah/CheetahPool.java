@@ -0,0 +1,196 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size pool of pre-initialized Cheetah instances for servers that handle many independent streams.
+ *
+ * <p>All instances are created when the pool is built, so acquiring one never pays the initialization cost.
+ * The pool size is also the maximum number of streams that can be transcribed concurrently. An instance is
+ * flushed when it is released, so the next stream starts from a clean state.
+ */
+public class CheetahPool implements AutoCloseable {
+
+    private final List<Cheetah> instances;
+    private final BlockingQueue<Cheetah> idle;
+    private final Set<Cheetah> checkedOut = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+    private volatile boolean isClosed = false;
+
+    private CheetahPool(List<Cheetah> instances) {
+        this.instances = instances;
+        this.idle = new ArrayBlockingQueue<>(instances.size(), false, instances);
+    }
+
+    /**
+     * Takes an idle instance, waiting until one is released if all are in use.
+     *
+     * @return A Cheetah instance that must be returned with {@link #release(Cheetah)}.
+     * @throws InterruptedException         if interrupted while waiting.
+     * @throws CheetahInvalidStateException if the pool has been closed.
+     */
+    public Cheetah acquire() throws InterruptedException, CheetahInvalidStateException {
+        checkOpen();
+        return checkOut(idle.take());
+    }
+
+    /**
+     * Takes an idle instance, waiting up to the given time for one to be released if all are in use.
+     *
+     * @param timeout Maximum time to wait. Set to 0 to return immediately.
+     * @param unit    Unit of `timeout`.
+     * @return A Cheetah instance that must be returned with {@link #release(Cheetah)}, or `null` if none became
+     *         available in time.
+     * @throws InterruptedException         if interrupted while waiting.
+     * @throws CheetahInvalidStateException if the pool has been closed.
+     */
+    public Cheetah tryAcquire(long timeout, TimeUnit unit)
+            throws InterruptedException, CheetahInvalidStateException {
+        checkOpen();
+        return checkOut(idle.poll(timeout, unit));
+    }
+
+    /**
+     * Flushes an instance and returns it to the pool.
+     *
+     * @param cheetah Instance obtained from this pool.
+     * @throws CheetahInvalidArgumentException if the instance does not belong to this pool.
+     * @throws CheetahInvalidStateException    if the instance is not checked out, e.g. because it has already
+     *                                         been released.
+     * @throws CheetahException                if flushing fails. The instance is returned to the pool regardless.
+     */
+    public void release(Cheetah cheetah) throws CheetahException {
+        if (!checkedOut.remove(cheetah)) {
+            if (!instances.contains(cheetah)) {
+                throw new CheetahInvalidArgumentException("Instance does not belong to this pool");
+            }
+            throw new CheetahInvalidStateException("Instance has already been released");
+        }
+        try {
+            if (!isClosed) {
+                cheetah.flush();
+            }
+        } finally {
+            idle.offer(cheetah);
+        }
+    }
+
+    /**
+     * Getter for the number of instances in the pool.
+     *
+     * @return Pool size.
+     */
+    public int getSize() {
+        return instances.size();
+    }
+
+    /**
+     * Getter for the number of idle instances.
+     *
+     * @return Number of instances that can be acquired without waiting.
+     */
+    public int getAvailableCount() {
+        return idle.size();
+    }
+
+    /**
+     * Releases the resources of all instances. Instances that are still in use must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        for (Cheetah cheetah : instances) {
+            cheetah.delete();
+        }
+    }
+
+    private Cheetah checkOut(Cheetah cheetah) {
+        if (cheetah != null) {
+            checkedOut.add(cheetah);
+        }
+        return cheetah;
+    }
+
+    private void checkOpen() throws CheetahInvalidStateException {
+        if (isClosed) {
+            throw new CheetahInvalidStateException("Cannot acquire from a closed CheetahPool");
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahPool.
+     */
+    public static class Builder {
+        private Cheetah.Builder cheetahBuilder = null;
+        private int size = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Setter for the builder used to create the pooled instances.
+         *
+         * @param cheetahBuilder Fully configured Cheetah builder.
+         */
+        public Builder setCheetahBuilder(Cheetah.Builder cheetahBuilder) {
+            this.cheetahBuilder = cheetahBuilder;
+            return this;
+        }
+
+        /**
+         * Setter for the number of pooled instances. Defaults to the number of available processors.
+         *
+         * @param size Number of instances.
+         */
+        public Builder setSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates all pooled instances.
+         *
+         * @return An instance of CheetahPool.
+         * @throws CheetahException if any instance fails to initialize. Instances created before the failure are
+         *                          released.
+         */
+        public CheetahPool build() throws CheetahException {
+            if (cheetahBuilder == null) {
+                throw new CheetahInvalidArgumentException("cheetahBuilder must be set");
+            }
+
+            if (size <= 0) {
+                throw new CheetahInvalidArgumentException("size must be greater than 0");
+            }
+
+            List<Cheetah> instances = new ArrayList<>(size);
+            try {
+                for (int i = 0; i < size; i++) {
+                    instances.add(cheetahBuilder.build());
+                }
+            } catch (CheetahException e) {
+                for (Cheetah cheetah : instances) {
+                    cheetah.delete();
+                }
+                throw e;
+            }
+            return new CheetahPool(instances);
+        }
+    }
+}
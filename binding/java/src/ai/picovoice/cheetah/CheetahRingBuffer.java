@@ -0,0 +1,421 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded buffer of 16-bit samples for handing audio from exactly one producer thread, such as a capture loop, to
+ * exactly one consumer thread that calls {@link Cheetah#process(short[])}.
+ *
+ * <p>Samples live in one preallocated `short` array. The producer writes chunks of any length and the consumer reads
+ * whole frames directly into the array it passes to `process`, so no call allocates or takes a lock. Each side owns
+ * one sequence counter, padded onto its own cache line, and only reads the other side's counter when its cached copy
+ * says the buffer is full or empty.
+ *
+ * <p>The non-blocking {@link #offer} and {@link #read} never wait; a real-time producer should use `offer`, which drops
+ * a chunk that does not fit rather than stall capture. The blocking {@link #put} and {@link #take} spin briefly and
+ * then park until the other side makes progress, so an idle consumer does not occupy a core.
+ *
+ * <p>Overruns (chunks dropped because the buffer was full) and underruns (reads that found less than a frame) are
+ * counted, which shows whether the consumer keeps up with the producer.
+ */
+public final class CheetahRingBuffer implements AutoCloseable {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final short[] buffer;
+    private final int mask;
+    private final int spinIterations;
+
+    // owned by the producer: `value` is the sequence of the next sample to write
+    private final Sequence tail = new Sequence();
+    // owned by the consumer: `value` is the sequence of the next sample to read
+    private final Sequence head = new Sequence();
+
+    private volatile Thread parkedProducer;
+    private volatile Thread parkedConsumer;
+    private volatile boolean isClosed = false;
+
+    private CheetahRingBuffer(int capacity, int spinIterations) {
+        this.buffer = new short[capacity];
+        this.mask = capacity - 1;
+        this.spinIterations = spinIterations;
+    }
+
+    /**
+     * Writes samples if there is room for all of them. Called from the producer thread only.
+     *
+     * @param pcm Samples to write.
+     * @return `false` if the samples were dropped because the buffer was full or closed.
+     */
+    public boolean offer(short[] pcm) {
+        return offer(pcm, 0, pcm.length);
+    }
+
+    /**
+     * Writes samples if there is room for all of them. Called from the producer thread only.
+     *
+     * @param pcm    Array holding the samples to write.
+     * @param offset Index of the first sample in `pcm`.
+     * @param length Number of samples to write.
+     * @return `false` if the samples were dropped because the buffer was full or closed.
+     */
+    public boolean offer(short[] pcm, int offset, int length) {
+        checkRange(pcm, offset, length);
+        if (isClosed || !hasSpace(length)) {
+            tail.numMissed++;
+            tail.numMissedSamples += length;
+            return false;
+        }
+        write(pcm, offset, length);
+        return true;
+    }
+
+    /**
+     * Writes samples, waiting for the consumer to make room if necessary. Called from the producer thread only.
+     *
+     * @param pcm    Array holding the samples to write.
+     * @param offset Index of the first sample in `pcm`.
+     * @param length Number of samples to write. Must not exceed {@link #getCapacity()}.
+     * @return `false` if the buffer was closed before the samples could be written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean put(short[] pcm, int offset, int length) throws InterruptedException {
+        checkRange(pcm, offset, length);
+        if (length > buffer.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot put %d samples into a buffer with capacity %d", length, buffer.length));
+        }
+
+        int numSpins = 0;
+        while (!hasSpace(length)) {
+            if (isClosed) {
+                return false;
+            }
+            numSpins = await(numSpins, length, true);
+        }
+        if (isClosed) {
+            return false;
+        }
+        write(pcm, offset, length);
+        return true;
+    }
+
+    /**
+     * Reads a frame if enough samples are available. Called from the consumer thread only.
+     *
+     * @param frame Array that receives `frame.length` samples, typically the one passed to
+     *              {@link Cheetah#process(short[])}.
+     * @return `false` if fewer than `frame.length` samples were available; nothing is read in that case.
+     */
+    public boolean read(short[] frame) {
+        return read(frame, 0, frame.length);
+    }
+
+    /**
+     * Reads samples if enough are available. Called from the consumer thread only.
+     *
+     * @param frame  Array that receives the samples.
+     * @param offset Index in `frame` at which to store the first sample.
+     * @param length Number of samples to read.
+     * @return `false` if fewer than `length` samples were available; nothing is read in that case.
+     */
+    public boolean read(short[] frame, int offset, int length) {
+        checkRange(frame, offset, length);
+        if (!hasSamples(length)) {
+            head.numMissed++;
+            return false;
+        }
+        copyOut(frame, offset, length);
+        return true;
+    }
+
+    /**
+     * Reads a frame, waiting for the producer if necessary. Called from the consumer thread only.
+     *
+     * @param frame Array that receives `frame.length` samples. Must not be longer than {@link #getCapacity()}.
+     * @return `false` if the buffer was closed and fewer than `frame.length` samples remain.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean take(short[] frame) throws InterruptedException {
+        return take(frame, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads a frame, waiting up to the given time for the producer if necessary. Called from the consumer thread
+     * only.
+     *
+     * @param frame   Array that receives `frame.length` samples. Must not be longer than {@link #getCapacity()}.
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of `timeout`.
+     * @return `false` if the time elapsed, or the buffer was closed, before `frame.length` samples were available.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean take(short[] frame, long timeout, TimeUnit unit) throws InterruptedException {
+        int length = frame.length;
+        if (length > buffer.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot take %d samples from a buffer with capacity %d", length, buffer.length));
+        }
+
+        if (!hasSamples(length)) {
+            head.numMissed++;
+            long timeoutNanos = unit.toNanos(timeout);
+            long start = timeoutNanos == Long.MAX_VALUE ? 0 : System.nanoTime();
+            int numSpins = 0;
+            while (!hasSamples(length)) {
+                if (isClosed) {
+                    // samples published before closing are visible once `isClosed` is
+                    if (!hasSamples(length)) {
+                        return false;
+                    }
+                    break;
+                }
+                if (timeoutNanos != Long.MAX_VALUE && System.nanoTime() - start >= timeoutNanos) {
+                    return false;
+                }
+                numSpins = await(numSpins, length, false);
+            }
+        }
+        copyOut(frame, 0, length);
+        return true;
+    }
+
+    /**
+     * Marks the end of the stream. Samples already written can still be read, after which {@link #take} returns
+     * `false` instead of waiting. Writes fail from then on.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(parkedProducer);
+        LockSupport.unpark(parkedConsumer);
+    }
+
+    /**
+     * Getter for whether the buffer has been closed.
+     *
+     * @return Whether {@link #close()} has been called.
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Getter for the number of samples that can be read. Only a snapshot if called from the producer thread.
+     *
+     * @return Number of buffered samples.
+     */
+    public int size() {
+        // reads `head` first, so the difference cannot be negative
+        long consumed = head.value;
+        return (int) (tail.value - consumed);
+    }
+
+    /**
+     * Getter for the capacity.
+     *
+     * @return Maximum number of buffered samples.
+     */
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Getter for the number of writes that were dropped because the buffer was full or closed.
+     *
+     * @return Number of overruns.
+     */
+    public long getNumOverruns() {
+        return tail.numMissed;
+    }
+
+    /**
+     * Getter for the number of samples that were dropped because the buffer was full or closed.
+     *
+     * @return Number of dropped samples.
+     */
+    public long getNumDroppedSamples() {
+        return tail.numMissedSamples;
+    }
+
+    /**
+     * Getter for the number of reads that found fewer samples than requested, whether they then returned or waited.
+     * A consumer that keeps up with a real-time producer typically underruns about once per frame while it waits for
+     * the next one.
+     *
+     * @return Number of underruns.
+     */
+    public long getNumUnderruns() {
+        return head.numMissed;
+    }
+
+    private boolean hasSpace(int length) {
+        long sequence = tail.value;
+        if (sequence + length - tail.cachedOther > buffer.length) {
+            tail.cachedOther = head.value;
+            return sequence + length - tail.cachedOther <= buffer.length;
+        }
+        return true;
+    }
+
+    private boolean hasSamples(int length) {
+        long sequence = head.value;
+        if (head.cachedOther - sequence < length) {
+            head.cachedOther = tail.value;
+            return head.cachedOther - sequence >= length;
+        }
+        return true;
+    }
+
+    private void write(short[] pcm, int offset, int length) {
+        long sequence = tail.value;
+        int index = (int) (sequence & mask);
+        int firstLength = Math.min(length, buffer.length - index);
+        System.arraycopy(pcm, offset, buffer, index, firstLength);
+        System.arraycopy(pcm, offset + firstLength, buffer, 0, length - firstLength);
+        // the volatile store publishes the samples and orders the read of `parkedConsumer` after it
+        tail.value = sequence + length;
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void copyOut(short[] frame, int offset, int length) {
+        long sequence = head.value;
+        int index = (int) (sequence & mask);
+        int firstLength = Math.min(length, buffer.length - index);
+        System.arraycopy(buffer, index, frame, offset, firstLength);
+        System.arraycopy(buffer, 0, frame, offset + firstLength, length - firstLength);
+        head.value = sequence + length;
+        Thread producer = parkedProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    /**
+     * Waits for the other side to make progress: spins first, then parks for increasing periods. The other side
+     * unparks this thread as soon as it moves its sequence, so the periods only bound the cost of a spurious wakeup.
+     */
+    private int await(int numSpins, int length, boolean isProducer) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (numSpins < spinIterations) {
+            return numSpins + 1;
+        }
+
+        // the sequence is checked again after announcing the parked thread, so a concurrent update either sees the
+        // thread and unparks it, or is seen here
+        if (isProducer) {
+            parkedProducer = Thread.currentThread();
+            if (!isClosed && !hasSpace(length)) {
+                LockSupport.parkNanos(this, parkNanos(numSpins));
+            }
+            parkedProducer = null;
+        } else {
+            parkedConsumer = Thread.currentThread();
+            if (!isClosed && !hasSamples(length)) {
+                LockSupport.parkNanos(this, parkNanos(numSpins));
+            }
+            parkedConsumer = null;
+        }
+        return numSpins + 1;
+    }
+
+    private long parkNanos(int numSpins) {
+        int numParks = numSpins - spinIterations;
+        return Math.min(MAX_PARK_NANOS, 1000L << Math.min(numParks, 20));
+    }
+
+    private static void checkRange(short[] pcm, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > pcm.length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range [%d, %d) is out of bounds for an array of length %d", offset, offset + length, pcm.length));
+        }
+    }
+
+    /**
+     * Sequence counter with the owner's cached copy of the other side's counter and the owner's statistics, padded
+     * so that nothing else shares its cache line.
+     */
+    private static final class Sequence extends SequenceFields {
+        @SuppressWarnings("unused")
+        private long p9, p10, p11, p12, p13, p14, p15;
+    }
+
+    private static class SequenceFields extends SequencePadding {
+        volatile long value;
+        long cachedOther;
+        volatile long numMissed;
+        volatile long numMissedSamples;
+    }
+
+    private static class SequencePadding {
+        @SuppressWarnings("unused")
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    /**
+     * Builder for creating an instance of CheetahRingBuffer.
+     */
+    public static class Builder {
+        private int capacity = 16384;
+        private int spinIterations = 100;
+
+        /**
+         * Setter for the capacity. Defaults to 16384 samples, about one second of audio at 16kHz.
+         *
+         * @param capacity Minimum number of samples the buffer holds. Rounded up to a power of two.
+         */
+        public Builder setCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Setter for how long {@link #put} and {@link #take} spin before parking. Spinning reacts faster to the
+         * other side, but occupies a core while waiting. Defaults to 100.
+         *
+         * @param spinIterations Number of checks before the waiting thread parks. Set to 0 to park immediately.
+         */
+        public Builder setSpinIterations(int spinIterations) {
+            this.spinIterations = spinIterations;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahRingBuffer.
+         *
+         * @return An instance of CheetahRingBuffer.
+         * @throws CheetahInvalidArgumentException if a property is out of range.
+         */
+        public CheetahRingBuffer build() throws CheetahInvalidArgumentException {
+            if (capacity <= 0 || capacity > (1 << 30)) {
+                throw new CheetahInvalidArgumentException("capacity must be between 1 and 2^30");
+            }
+            if (spinIterations < 0) {
+                throw new CheetahInvalidArgumentException("spinIterations must not be negative");
+            }
+            int powerOfTwoCapacity = Integer.highestOneBit(capacity);
+            if (powerOfTwoCapacity < capacity) {
+                powerOfTwoCapacity <<= 1;
+            }
+            return new CheetahRingBuffer(powerOfTwoCapacity, spinIterations);
+        }
+    }
+}
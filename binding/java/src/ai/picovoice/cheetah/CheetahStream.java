@@ -0,0 +1,361 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers the results of a Cheetah instance to registered listeners instead of returning them from each call.
+ *
+ * <p>Every frame passed to {@link #process(short[])} is transcribed, and newly transcribed text and words are
+ * reported to the partial listeners. When Cheetah detects an endpoint, the endpoint listeners are called, the stream
+ * is flushed, and the whole utterance is reported to the final listeners. {@link #finish()} does the same at the end
+ * of the audio. An utterance that reaches {@link Builder#setMaxUtteranceWords(int) the maximum length} without an
+ * endpoint is reported to the final and utterance listeners at that point, so the stream keeps a bounded amount of
+ * text and words even when endpointing is disabled.
+ *
+ * <p>Only the work the registered listeners need is done. Words are only copied out of a transcript if a word or
+ * utterance listener is registered, and the text of an utterance is only kept if a final listener is registered.
+ *
+ * <p>Listeners are called on the thread that calls `process` or `finish`. The stream must be used from one thread
+ * at a time.
+ */
+public class CheetahStream {
+
+    /**
+     * Receives transcript text.
+     */
+    public interface TranscriptListener {
+        /**
+         * Called with transcribed text.
+         *
+         * @param transcript Transcribed text. Never empty.
+         */
+        void onTranscript(String transcript);
+    }
+
+    /**
+     * Receives newly transcribed words.
+     */
+    public interface WordListener {
+        /**
+         * Called with words as soon as they are transcribed.
+         *
+         * @param words Transcribed words and their associated metadata. Never empty.
+         */
+        void onWords(CheetahTranscript.Word[] words);
+    }
+
+    /**
+     * Receives endpoints.
+     */
+    public interface EndpointListener {
+        /**
+         * Called when Cheetah detects an endpoint, before the stream is flushed.
+         *
+         * @param endSample Absolute index, on the stream's {@link CheetahTimeline}, of the sample at which the
+         *                  endpoint was detected.
+         */
+        void onEndpoint(long endSample);
+    }
+
+    /**
+     * Receives completed utterances.
+     */
+    public interface UtteranceListener {
+        /**
+         * Called once an utterance is complete.
+         *
+         * @param utterance The completed utterance.
+         */
+        void onUtterance(CheetahUtteranceAssembler.Utterance utterance);
+    }
+
+    private final Cheetah cheetah;
+    private final TranscriptListener[] partialTranscriptListeners;
+    private final WordListener[] partialWordListeners;
+    private final EndpointListener[] endpointListeners;
+    private final TranscriptListener[] finalTranscriptListeners;
+    private final UtteranceListener[] utteranceListeners;
+
+    // only kept when there are listeners for them
+    private final CheetahUtteranceAssembler assembler;
+    private final StringBuilder utteranceTranscript;
+    private final int maxUtteranceWords;
+    private int numUtteranceWords = 0;
+    private boolean isAtWordBoundary = true;
+
+    private CheetahStream(
+            Cheetah cheetah,
+            TranscriptListener[] partialTranscriptListeners,
+            WordListener[] partialWordListeners,
+            EndpointListener[] endpointListeners,
+            TranscriptListener[] finalTranscriptListeners,
+            UtteranceListener[] utteranceListeners,
+            CheetahUtteranceAssembler assembler,
+            int maxUtteranceWords) {
+        this.cheetah = cheetah;
+        this.partialTranscriptListeners = partialTranscriptListeners;
+        this.partialWordListeners = partialWordListeners;
+        this.endpointListeners = endpointListeners;
+        this.finalTranscriptListeners = finalTranscriptListeners;
+        this.utteranceListeners = utteranceListeners;
+        this.assembler = assembler;
+        this.utteranceTranscript = assembler == null && finalTranscriptListeners.length > 0
+                ? new StringBuilder()
+                : null;
+        this.maxUtteranceWords = maxUtteranceWords;
+    }
+
+    /**
+     * Transcribes a frame of audio and reports the results to the listeners. If the frame ends an utterance, the
+     * stream is flushed and the utterance is reported before this returns.
+     *
+     * @param pcm A frame of audio samples. The number of samples per frame can be attained by calling
+     *            {@link Cheetah#getFrameLength()}.
+     * @throws CheetahException if there is an error while processing the audio frame.
+     */
+    public void process(short[] pcm) throws CheetahException {
+        CheetahTranscript transcript = cheetah.process(pcm);
+        emitPartial(transcript);
+        if (assembler != null) {
+            // an utterance that reached the assembler's maximum length is reported without an endpoint
+            CheetahUtteranceAssembler.Utterance utterance = assembler.append(transcript);
+            if (utterance != null) {
+                emitUtterance(utterance);
+            }
+        } else if (utteranceTranscript != null && numUtteranceWords >= maxUtteranceWords) {
+            // the same bound for the text kept for final listeners
+            emitUtteranceTranscript();
+        }
+
+        if (transcript.getIsEndpoint()) {
+            for (EndpointListener listener : endpointListeners) {
+                listener.onEndpoint(transcript.getEndSample());
+            }
+            finish();
+        }
+    }
+
+    /**
+     * Flushes the stream and reports the utterance in progress, if any, to the listeners. Call this at the end of
+     * the audio.
+     *
+     * @throws CheetahException if there is an error while flushing.
+     */
+    public void finish() throws CheetahException {
+        CheetahTranscript transcript = cheetah.flush();
+        emitPartial(transcript);
+
+        if (assembler != null) {
+            CheetahUtteranceAssembler.Utterance utterance = assembler.finish(transcript);
+            if (utterance != null) {
+                emitUtterance(utterance);
+            }
+        } else if (utteranceTranscript != null) {
+            emitUtteranceTranscript();
+        }
+    }
+
+    /**
+     * Getter for the Cheetah instance the stream transcribes with.
+     *
+     * @return The Cheetah instance.
+     */
+    public Cheetah getCheetah() {
+        return cheetah;
+    }
+
+    private void emitUtterance(CheetahUtteranceAssembler.Utterance utterance) {
+        for (TranscriptListener listener : finalTranscriptListeners) {
+            listener.onTranscript(utterance.getTranscript());
+        }
+        for (UtteranceListener listener : utteranceListeners) {
+            listener.onUtterance(utterance);
+        }
+    }
+
+    private void emitUtteranceTranscript() {
+        String text = utteranceTranscript.toString().trim();
+        utteranceTranscript.setLength(0);
+        numUtteranceWords = 0;
+        isAtWordBoundary = true;
+        if (!text.isEmpty()) {
+            for (TranscriptListener listener : finalTranscriptListeners) {
+                listener.onTranscript(text);
+            }
+        }
+    }
+
+    private void countWords(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            boolean isWhitespace = Character.isWhitespace(text.charAt(i));
+            if (isAtWordBoundary && !isWhitespace) {
+                numUtteranceWords++;
+            }
+            isAtWordBoundary = isWhitespace;
+        }
+    }
+
+    private void emitPartial(CheetahTranscript transcript) {
+        String text = transcript.getTranscript();
+        if (!text.isEmpty()) {
+            for (TranscriptListener listener : partialTranscriptListeners) {
+                listener.onTranscript(text);
+            }
+            if (utteranceTranscript != null) {
+                utteranceTranscript.append(text);
+                countWords(text);
+            }
+        }
+
+        if (partialWordListeners.length > 0) {
+            CheetahTranscript.Word[] words = transcript.getWordArray();
+            if (words != null && words.length > 0) {
+                for (WordListener listener : partialWordListeners) {
+                    listener.onWords(words);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahStream.
+     */
+    public static class Builder {
+        private Cheetah cheetah = null;
+        private final List<TranscriptListener> partialTranscriptListeners = new ArrayList<>();
+        private final List<WordListener> partialWordListeners = new ArrayList<>();
+        private final List<EndpointListener> endpointListeners = new ArrayList<>();
+        private final List<TranscriptListener> finalTranscriptListeners = new ArrayList<>();
+        private final List<UtteranceListener> utteranceListeners = new ArrayList<>();
+        private int maxUtteranceWords = 1024;
+
+        /**
+         * Setter for the Cheetah instance to transcribe with. The stream does not delete it.
+         *
+         * @param cheetah An initialized Cheetah instance.
+         */
+        public Builder setCheetah(Cheetah cheetah) {
+            this.cheetah = cheetah;
+            return this;
+        }
+
+        /**
+         * Adds a listener for the text of every partial result, including the text returned by the flush at the
+         * end of an utterance. Concatenated, the partial transcripts are the full transcript of the stream.
+         *
+         * @param listener Listener for partial transcripts.
+         */
+        public Builder addPartialTranscriptListener(TranscriptListener listener) {
+            partialTranscriptListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for the words of every partial result, including the words returned by the flush at the
+         * end of an utterance.
+         *
+         * @param listener Listener for partial words.
+         */
+        public Builder addPartialWordListener(WordListener listener) {
+            partialWordListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for endpoints.
+         *
+         * @param listener Listener for endpoints.
+         */
+        public Builder addEndpointListener(EndpointListener listener) {
+            endpointListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for the trimmed text of every completed utterance.
+         *
+         * @param listener Listener for final transcripts.
+         */
+        public Builder addFinalTranscriptListener(TranscriptListener listener) {
+            finalTranscriptListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Adds a listener for every completed utterance, including its words.
+         *
+         * @param listener Listener for utterances.
+         */
+        public Builder addUtteranceListener(UtteranceListener listener) {
+            utteranceListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Setter for the maximum length of an utterance. Defaults to 1024 words, several minutes of continuous
+         * speech.
+         *
+         * @param maxUtteranceWords Number of words after which the utterance in progress is reported to the final
+         *                          and utterance listeners even though no endpoint was detected.
+         */
+        public Builder setMaxUtteranceWords(int maxUtteranceWords) {
+            this.maxUtteranceWords = maxUtteranceWords;
+            return this;
+        }
+
+        /**
+         * Validates properties and creates an instance of CheetahStream.
+         *
+         * @return An instance of CheetahStream.
+         * @throws CheetahInvalidArgumentException if the Cheetah instance or a listener is missing, or the maximum
+         *                                         utterance length is not positive.
+         */
+        public CheetahStream build() throws CheetahInvalidArgumentException {
+            if (cheetah == null) {
+                throw new CheetahInvalidArgumentException("cheetah must be set");
+            }
+            if (partialTranscriptListeners.contains(null)
+                    || partialWordListeners.contains(null)
+                    || endpointListeners.contains(null)
+                    || finalTranscriptListeners.contains(null)
+                    || utteranceListeners.contains(null)) {
+                throw new CheetahInvalidArgumentException("listeners must not be null");
+            }
+            if (maxUtteranceWords <= 0) {
+                throw new CheetahInvalidArgumentException("maxUtteranceWords must be greater than 0");
+            }
+
+            // words are only collected for utterance listeners, and no history is kept
+            CheetahUtteranceAssembler assembler = null;
+            if (!utteranceListeners.isEmpty()) {
+                assembler = new CheetahUtteranceAssembler.Builder()
+                        .setHistoryDuration(0f)
+                        .setMaxUtteranceWords(maxUtteranceWords)
+                        .build();
+            }
+
+            return new CheetahStream(
+                    cheetah,
+                    partialTranscriptListeners.toArray(new TranscriptListener[0]),
+                    partialWordListeners.toArray(new WordListener[0]),
+                    endpointListeners.toArray(new EndpointListener[0]),
+                    finalTranscriptListeners.toArray(new TranscriptListener[0]),
+                    utteranceListeners.toArray(new UtteranceListener[0]),
+                    assembler,
+                    maxUtteranceWords);
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class CheetahTranscript {
     private final String transcript;
     private final Word[] wordArray;
     private final boolean isEndpoint;
+    private long endSample = -1;
 
     /**
      * Constructor.
@@ -62,6 +63,21 @@ public class CheetahTranscript {
         return isEndpoint;
     }
 
+    /**
+     * Getter for the position of the end of the audio covered by this transcript. For a transcript with an
+     * endpoint, this is the position at which the endpoint was detected.
+     *
+     * @return Absolute index of the sample following the last sample processed, on the stream's
+     *         {@link CheetahTimeline}, or -1 if the transcript was not produced by Cheetah.
+     */
+    public long getEndSample() {
+        return endSample;
+    }
+
+    void setEndSample(long endSample) {
+        this.endSample = endSample;
+    }
+
     /**
      * Cheetah Speech-to-Text engine Word Object.
      */
@@ -70,6 +86,9 @@ public class CheetahTranscript {
         private final float confidence;
         private final float startSec;
         private final float endSec;
+        private long startSample = -1;
+        private long endSample = -1;
+        private int sampleRate = 0;
 
         /**
          * Constructor.
@@ -121,5 +140,51 @@ public class CheetahTranscript {
         public float getEndSec() {
             return endSec;
         }
+
+        /**
+         * Getter for the start of word as an absolute sample index on the stream's {@link CheetahTimeline}.
+         *
+         * @return Index of the first sample of the word, or -1 if the word was not produced by Cheetah.
+         */
+        public long getStartSample() {
+            return startSample;
+        }
+
+        /**
+         * Getter for the end of word as an absolute sample index on the stream's {@link CheetahTimeline}.
+         *
+         * @return Index of the last sample of the word, or -1 if the word was not produced by Cheetah.
+         */
+        public long getEndSample() {
+            return endSample;
+        }
+
+        /**
+         * Getter for the start of word in seconds from the start of the stream, in double precision.
+         *
+         * @return Start of word in seconds.
+         */
+        public double getAbsoluteStartSec() {
+            return sampleRate > 0 ? (double) startSample / sampleRate : startSec;
+        }
+
+        /**
+         * Getter for the end of word in seconds from the start of the stream, in double precision.
+         *
+         * @return End of word in seconds.
+         */
+        public double getAbsoluteEndSec() {
+            return sampleRate > 0 ? (double) endSample / sampleRate : endSec;
+        }
+
+        int getSampleRate() {
+            return sampleRate;
+        }
+
+        void setSampleRange(long startSample, long endSample, int sampleRate) {
+            this.startSample = startSample;
+            this.endSample = endSample;
+            this.sampleRate = sampleRate;
+        }
     }
 }
@@ -0,0 +1,323 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetah;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records 16-bit mono PCM to a WAV file as it is captured, without holding the recording in memory.
+ *
+ * <p>{@link #write} copies samples into a {@link CheetahRingBuffer} and returns immediately, so it can be called from
+ * a capture thread without waiting on the disk, or on the thread that transcribes the audio. A background thread
+ * appends the samples to the file through a {@link FileChannel} in large blocks. At every sync interval it also
+ * patches the sizes in the RIFF header and forces the file to storage, so a crash loses at most one interval of
+ * audio and leaves a readable file. The header is patched a final time on {@link #close()}.
+ *
+ * <p>If the disk falls behind by more than the buffer duration, samples are dropped and counted rather than
+ * blocking the caller.
+ */
+public final class CheetahWavWriter implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 44;
+    private static final int BYTES_PER_SAMPLE = 2;
+    // the RIFF size field counts the file after its first 8 bytes, and is limited to 32 bits
+    private static final long MAX_DATA_SIZE = 0xFFFFFFFFL - (HEADER_SIZE - 8);
+
+    private final FileChannel channel;
+    private final int sampleRate;
+    private final long syncIntervalNanos;
+    private final CheetahRingBuffer ring;
+    private final Thread writerThread;
+
+    private final short[] block;
+    private final ByteBuffer blockBytes;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private volatile long numWrittenSamples = 0;
+    private volatile IOException error = null;
+    private boolean isClosed = false;
+
+    private CheetahWavWriter(FileChannel channel, int sampleRate, float syncIntervalSec, CheetahRingBuffer ring)
+            throws IOException {
+        this.channel = channel;
+        this.sampleRate = sampleRate;
+        this.syncIntervalNanos = (long) (syncIntervalSec * 1e9);
+        this.ring = ring;
+
+        // up to a tenth of a second of audio per file write
+        this.block = new short[Math.max(1, Math.min(sampleRate / 10, ring.getCapacity()))];
+        this.blockBytes = ByteBuffer.allocate(block.length * BYTES_PER_SAMPLE);
+
+        channel.truncate(0);
+        writeHeader();
+
+        this.writerThread = new Thread(this::drain, "CheetahWavWriter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues samples to be appended to the file. Never waits.
+     *
+     * @param pcm Samples to append.
+     * @return `false` if the samples were dropped because the writer has fallen behind, failed or been closed.
+     */
+    public boolean write(short[] pcm) {
+        return write(pcm, 0, pcm.length);
+    }
+
+    /**
+     * Queues samples to be appended to the file. Never waits. Must be called from one thread at a time.
+     *
+     * @param pcm    Array holding the samples to append.
+     * @param offset Index of the first sample in `pcm`.
+     * @param length Number of samples to append.
+     * @return `false` if the samples were dropped because the writer has fallen behind, failed or been closed.
+     */
+    public boolean write(short[] pcm, int offset, int length) {
+        return error == null && ring.offer(pcm, offset, length);
+    }
+
+    /**
+     * Getter for the number of samples appended to the file so far.
+     *
+     * @return Number of samples written.
+     */
+    public long getNumWrittenSamples() {
+        return numWrittenSamples;
+    }
+
+    /**
+     * Getter for the number of samples that were dropped because the writer had fallen behind or been closed.
+     *
+     * @return Number of dropped samples.
+     */
+    public long getNumDroppedSamples() {
+        return ring.getNumDroppedSamples();
+    }
+
+    /**
+     * Appends all queued samples, patches the header and closes the file.
+     *
+     * @throws CheetahIOException if writing to the file failed at any point.
+     */
+    @Override
+    public synchronized void close() throws CheetahIOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+
+        ring.close();
+        boolean isInterrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        try {
+            if (error == null) {
+                writeHeader();
+                channel.force(true);
+            }
+            channel.close();
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw new CheetahIOException(error);
+        }
+    }
+
+    private void drain() {
+        try {
+            long lastSyncNanos = System.nanoTime();
+            boolean isOpen = true;
+            while (isOpen) {
+                int length = block.length;
+                long timeoutNanos = Math.max(0, lastSyncNanos + syncIntervalNanos - System.nanoTime());
+                if (!ring.take(block, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    // the interval elapsed, or the stream ended, before a whole block arrived; samples written before
+                    // the buffer was closed are all visible once the close is
+                    boolean isClosed = ring.isClosed();
+                    length = Math.min(ring.size(), block.length);
+                    ring.read(block, 0, length);
+                    isOpen = !isClosed || ring.size() > 0;
+                }
+                append(length);
+
+                if (System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+                    writeHeader();
+                    channel.force(false);
+                    lastSyncNanos = System.nanoTime();
+                }
+            }
+        } catch (IOException e) {
+            error = e;
+        } catch (InterruptedException e) {
+            error = new IOException(e);
+        }
+    }
+
+    private void append(int length) throws IOException {
+        long numSamples = numWrittenSamples;
+        // samples past the largest size a WAV header can describe are dropped
+        length = (int) Math.min(length, MAX_DATA_SIZE / BYTES_PER_SAMPLE - numSamples);
+        if (length <= 0) {
+            return;
+        }
+
+        CheetahPcm.encodePcm16(block, 0, blockBytes.array(), 0, length);
+        blockBytes.clear().limit(length * BYTES_PER_SAMPLE);
+        long position = HEADER_SIZE + numSamples * BYTES_PER_SAMPLE;
+        while (blockBytes.hasRemaining()) {
+            position += channel.write(blockBytes, position);
+        }
+        numWrittenSamples = numSamples + length;
+    }
+
+    private void writeHeader() throws IOException {
+        long dataSize = numWrittenSamples * BYTES_PER_SAMPLE;
+        header.clear();
+        header.put(new byte[]{'R', 'I', 'F', 'F'})
+                .putInt((int) (HEADER_SIZE - 8 + dataSize))
+                .put(new byte[]{'W', 'A', 'V', 'E'})
+                .put(new byte[]{'f', 'm', 't', ' '})
+                .putInt(16)
+                .putShort((short) 1)
+                .putShort((short) 1)
+                .putInt(sampleRate)
+                .putInt(sampleRate * BYTES_PER_SAMPLE)
+                .putShort((short) BYTES_PER_SAMPLE)
+                .putShort((short) (8 * BYTES_PER_SAMPLE))
+                .put(new byte[]{'d', 'a', 't', 'a'})
+                .putInt((int) dataSize);
+        header.flip();
+
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * Builder for creating an instance of CheetahWavWriter.
+     */
+    public static class Builder {
+        private String outputPath = null;
+        private int sampleRate = 16000;
+        private float syncIntervalSec = 1f;
+        private float bufferDurationSec = 10f;
+
+        /**
+         * Setter for the path of the WAV file. An existing file is overwritten.
+         *
+         * @param outputPath Path to the WAV file.
+         */
+        public Builder setOutputPath(String outputPath) {
+            this.outputPath = outputPath;
+            return this;
+        }
+
+        /**
+         * Setter for the sample rate stored in the header. Defaults to 16000, the sample rate of Cheetah.
+         *
+         * @param sampleRate Sample rate in Hz.
+         */
+        public Builder setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Setter for how often the header is patched and the file is forced to storage. Defaults to 1 second.
+         *
+         * @param syncIntervalSec Sync interval in seconds.
+         */
+        public Builder setSyncInterval(float syncIntervalSec) {
+            this.syncIntervalSec = syncIntervalSec;
+            return this;
+        }
+
+        /**
+         * Setter for how much audio is queued for the disk before samples are dropped. Defaults to 10 seconds.
+         *
+         * @param bufferDurationSec Buffer duration in seconds.
+         */
+        public Builder setBufferDuration(float bufferDurationSec) {
+            this.bufferDurationSec = bufferDurationSec;
+            return this;
+        }
+
+        /**
+         * Validates properties, creates the file and writes its header.
+         *
+         * @return An instance of CheetahWavWriter.
+         * @throws CheetahException if a property is invalid or the file cannot be created.
+         */
+        public CheetahWavWriter build() throws CheetahException {
+            if (outputPath == null) {
+                throw new CheetahInvalidArgumentException("outputPath must be set");
+            }
+            if (sampleRate <= 0) {
+                throw new CheetahInvalidArgumentException("sampleRate must be greater than 0");
+            }
+            if (!(syncIntervalSec > 0)) {
+                throw new CheetahInvalidArgumentException("syncInterval must be greater than 0");
+            }
+            long bufferCapacity = (long) Math.ceil(bufferDurationSec * sampleRate);
+            if (bufferCapacity <= 0 || bufferCapacity > (1 << 30)) {
+                throw new CheetahInvalidArgumentException(
+                        "bufferDuration must be greater than 0 and hold at most 2^30 samples");
+            }
+            // the writer thread parks right away, since it has a whole sync interval to wait
+            CheetahRingBuffer ring = new CheetahRingBuffer.Builder()
+                    .setCapacity((int) bufferCapacity)
+                    .setSpinIterations(0)
+                    .build();
+
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(
+                        Paths.get(outputPath),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                return new CheetahWavWriter(channel, sampleRate, syncIntervalSec, ring);
+            } catch (IOException e) {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // the original error is more useful
+                    }
+                }
+                throw new CheetahIOException(e);
+            }
+        }
+    }
+}
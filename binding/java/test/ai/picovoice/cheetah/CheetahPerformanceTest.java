@@ -12,15 +12,23 @@
 
 package ai.picovoice.cheetah;
 
+import com.google.gson.Gson;
 import org.junit.jupiter.api.Test;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -115,4 +123,310 @@ public class CheetahPerformanceTest {
                         avgPerfSec)
         );
     }
+
+    @Test
+    void lifecycleGuardPerformance() throws Exception {
+        Cheetah cheetah = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setModelPath(Utils.getPackagedModelPath())
+                .setLibraryPath(Utils.getPackagedLibraryPath())
+                .build();
+
+        short[] cheetahFrame = new short[cheetah.getFrameLength()];
+        int numFrames = 100;
+        long before = System.nanoTime();
+        for (int i = 0; i < numFrames; i++) {
+            cheetah.process(cheetahFrame);
+        }
+        double procNSecPerFrame = (double) (System.nanoTime() - before) / numFrames;
+        cheetah.delete();
+
+        CheetahHandle handle = new CheetahHandle(1, () -> { });
+        int numCalls = 10_000_000;
+        long[] perfResults = new long[numTestIterations];
+        for (int i = 0; i < numTestIterations + 1; i++) {
+            before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                handle.acquire();
+                handle.release();
+            }
+            if (i > 0) {
+                perfResults[i - 1] = System.nanoTime() - before;
+            }
+        }
+
+        double guardNSecPerCall = (double) Arrays.stream(perfResults).sum() / numTestIterations / numCalls;
+        double overhead = guardNSecPerCall / procNSecPerFrame;
+        System.out.printf(
+                "Lifecycle guard: %.2fns per call, %.4f%% of process time per frame\n",
+                guardNSecPerCall,
+                overhead * 100);
+        assertTrue(
+                overhead <= 0.001,
+                String.format("Expected lifecycle guard overhead below 0.1%%, was %.4f%%", overhead * 100));
+    }
+
+    @Test
+    void pcmKernelPerformance() {
+        int numSamples = 512;
+        int numCalls = 200_000;
+        byte[] pcm = new byte[numSamples * 2];
+        float[] floatPcm = new float[numSamples];
+        short[] frame = new short[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            pcm[2 * i] = (byte) (i * 31);
+            pcm[2 * i + 1] = (byte) (i * 7);
+            floatPcm[i] = (float) Math.sin(i);
+        }
+
+        double[] decodeResults = new double[2];
+        double[] floatResults = new double[2];
+        for (int i = 0; i < numTestIterations + 1; i++) {
+            long before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                ByteBuffer buffer = ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN);
+                for (int k = 0; k < numSamples; k++) {
+                    frame[k] = buffer.getShort(2 * k);
+                }
+            }
+            long scalarDecodeTime = System.nanoTime() - before;
+
+            before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                CheetahPcm.decodePcm16(pcm, 0, frame, 0, numSamples, false);
+            }
+            long kernelDecodeTime = System.nanoTime() - before;
+
+            before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                for (int k = 0; k < numSamples; k++) {
+                    float sample = Math.min(Math.max(floatPcm[k] * 32768f, -32768f), 32767f);
+                    frame[k] = (short) Math.round(sample);
+                }
+            }
+            long scalarFloatTime = System.nanoTime() - before;
+
+            before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                CheetahPcm.floatToPcm16(floatPcm, 0, frame, 0, numSamples);
+            }
+            long kernelFloatTime = System.nanoTime() - before;
+
+            if (i > 0) {
+                double numBytes = (double) numCalls * numSamples * 2;
+                decodeResults[0] += numBytes / scalarDecodeTime;
+                decodeResults[1] += numBytes / kernelDecodeTime;
+                floatResults[0] += 2 * numBytes / scalarFloatTime;
+                floatResults[1] += 2 * numBytes / kernelFloatTime;
+            }
+        }
+
+        double decodeMBPerSec = decodeResults[1] / numTestIterations * 1000;
+        double floatMBPerSec = floatResults[1] / numTestIterations * 1000;
+        System.out.printf(
+                "PCM16 decode: %.0fMB/s scalar, %.0fMB/s kernel\n",
+                decodeResults[0] / numTestIterations * 1000,
+                decodeMBPerSec);
+        System.out.printf(
+                "Float to PCM16: %.0fMB/s scalar, %.0fMB/s kernel\n",
+                floatResults[0] / numTestIterations * 1000,
+                floatMBPerSec);
+
+        // decoding a frame and converting it back must take a negligible share of the frame's 32ms of audio
+        double frameMB = numSamples * 2 / 1e6;
+        double kernelSecPerFrame = frameMB / decodeMBPerSec + 2 * frameMB / floatMBPerSec;
+        double overhead = kernelSecPerFrame / ((double) numSamples / 16000);
+        System.out.printf("PCM kernels: %.4f%% of real time per frame\n", overhead * 100);
+        assertTrue(
+                overhead <= 0.001,
+                String.format("Expected PCM kernel time below 0.1%% of real time, was %.4f%%", overhead * 100));
+    }
+
+    @Test
+    void jsonSerializerPerformance() {
+        int numCalls = 200_000;
+        CheetahTranscript.Word[] words = new CheetahTranscript.Word[8];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = new CheetahTranscript.Word("word" + i, 0.9f, i * 0.32f, i * 0.32f + 0.3f);
+            text.append(" word").append(i);
+        }
+        CheetahTranscript transcript = new CheetahTranscript(text.toString(), words, true);
+        Gson gson = new Gson();
+        CheetahJsonWriter writer = new CheetahJsonWriter();
+
+        double[] results = new double[2];
+        long[] allocatedBytes = new long[2];
+        for (int i = 0; i < numTestIterations + 1; i++) {
+            long allocatedBefore = getAllocatedBytes();
+            long before = System.nanoTime();
+            int numBytes = 0;
+            for (int j = 0; j < numCalls; j++) {
+                // the map-based conversion used by the mobile integrations
+                Map<String, Object> map = new HashMap<>();
+                map.put("transcript", transcript.getTranscript());
+                map.put("isEndpoint", transcript.getIsEndpoint());
+                List<Map<String, Object>> wordList = new ArrayList<>();
+                for (CheetahTranscript.Word word : transcript.getWordArray()) {
+                    Map<String, Object> wordMap = new HashMap<>();
+                    wordMap.put("word", word.getWord());
+                    wordMap.put("startSec", word.getStartSec());
+                    wordMap.put("endSec", word.getEndSec());
+                    wordMap.put("confidence", word.getConfidence());
+                    wordList.add(wordMap);
+                }
+                map.put("words", wordList);
+                numBytes += gson.toJson(map).length();
+            }
+            long gsonTime = System.nanoTime() - before;
+            long gsonAllocated = getAllocatedBytes() - allocatedBefore;
+
+            allocatedBefore = getAllocatedBytes();
+            before = System.nanoTime();
+            for (int j = 0; j < numCalls; j++) {
+                writer.reset();
+                writer.writeTranscript(transcript).newLine();
+                numBytes += writer.size();
+            }
+            long writerTime = System.nanoTime() - before;
+            long writerAllocated = getAllocatedBytes() - allocatedBefore;
+
+            assertTrue(numBytes > 0);
+            if (i > 0) {
+                results[0] += (double) gsonTime / numCalls;
+                results[1] += (double) writerTime / numCalls;
+                allocatedBytes[0] += gsonAllocated / numCalls;
+                allocatedBytes[1] += writerAllocated / numCalls;
+            }
+        }
+
+        System.out.printf(
+                "Transcript to JSON: %.0fns with Gson, %.0fns with CheetahJsonWriter\n",
+                results[0] / numTestIterations,
+                results[1] / numTestIterations);
+        if (getAllocatedBytes() >= 0) {
+            System.out.printf(
+                    "Allocated per transcript: %dB with Gson, %dB with CheetahJsonWriter\n",
+                    allocatedBytes[0] / numTestIterations,
+                    allocatedBytes[1] / numTestIterations);
+            assertTrue(
+                    allocatedBytes[1] / numTestIterations < 16,
+                    "Expected CheetahJsonWriter not to allocate once its buffer has grown");
+        }
+        assertTrue(results[1] < results[0], "Expected CheetahJsonWriter to be faster than Gson");
+    }
+
+    @Test
+    void ringBufferPerformance() throws Exception {
+        int frameLength = 512;
+        int numFrames = 200_000;
+        CheetahRingBuffer ring = new CheetahRingBuffer.Builder()
+                .setCapacity(frameLength * 64)
+                .build();
+        BlockingQueue<short[]> queue = new ArrayBlockingQueue<>(64);
+
+        double[] results = new double[2];
+        for (int i = 0; i < numTestIterations + 1; i++) {
+            Thread producer = new Thread(() -> {
+                short[] frame = new short[frameLength];
+                try {
+                    for (int j = 0; j < numFrames; j++) {
+                        ring.put(frame, 0, frameLength);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            short[] frame = new short[frameLength];
+            long before = System.nanoTime();
+            producer.start();
+            for (int j = 0; j < numFrames; j++) {
+                ring.take(frame);
+            }
+            long ringTime = System.nanoTime() - before;
+            producer.join();
+
+            // the hand-off this buffer replaces: a new array per frame through a blocking queue
+            producer = new Thread(() -> {
+                try {
+                    for (int j = 0; j < numFrames; j++) {
+                        queue.put(new short[frameLength]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            before = System.nanoTime();
+            producer.start();
+            for (int j = 0; j < numFrames; j++) {
+                System.arraycopy(queue.take(), 0, frame, 0, frameLength);
+            }
+            long queueTime = System.nanoTime() - before;
+            producer.join();
+
+            if (i > 0) {
+                results[0] += (double) numFrames / queueTime * 1e9;
+                results[1] += (double) numFrames / ringTime * 1e9;
+            }
+        }
+
+        double queueFramesPerSec = results[0] / numTestIterations;
+        double ringFramesPerSec = results[1] / numTestIterations;
+        System.out.printf(
+                "Frame hand-off: %.2fM frames/s with ArrayBlockingQueue, %.2fM frames/s with CheetahRingBuffer\n",
+                queueFramesPerSec / 1e6,
+                ringFramesPerSec / 1e6);
+        System.out.printf(
+                "Ring buffer: %d overruns, %d underruns\n",
+                ring.getNumOverruns(),
+                ring.getNumUnderruns());
+        assertTrue(
+                ringFramesPerSec > queueFramesPerSec,
+                "Expected CheetahRingBuffer to hand off frames faster than ArrayBlockingQueue");
+    }
+
+    @Test
+    void loadGeneratorPerformance() throws Exception {
+        String maxStreamsStr = System.getProperty("loadTestMaxStreams");
+        String targetP99LagSecStr = System.getProperty("loadTestTargetP99LagSec");
+        int maxStreams = maxStreamsStr != null ? Integer.parseInt(maxStreamsStr) : 4;
+        float targetP99LagSec = targetP99LagSecStr != null ? Float.parseFloat(targetP99LagSecStr) : 0.2f;
+
+        CheetahLoadGenerator loadGenerator = new CheetahLoadGenerator.Builder()
+                .setCheetahBuilder(new Cheetah.Builder()
+                        .setAccessKey(accessKey)
+                        .setModelPath(Utils.getPackagedModelPath())
+                        .setDevice(device)
+                        .setLibraryPath(Utils.getPackagedLibraryPath()))
+                .setAudioPaths(Paths.get(System.getProperty("user.dir"))
+                        .resolve("../../resources/audio_samples")
+                        .toString())
+                .setMaxStreams(maxStreams)
+                .setStepDuration(5f)
+                .setWarmupDuration(1f)
+                .setTargetP99Lag(targetP99LagSec)
+                .build();
+
+        CheetahLoadGenerator.Result result = loadGenerator.run();
+        for (CheetahLoadGenerator.Step step : result.getSteps()) {
+            System.out.println("Load generator: " + step);
+        }
+        System.out.printf(
+                "Load generator: %d sustainable streams at a p99 lag of %.0fms\n",
+                result.getMaxSustainableStreams(),
+                targetP99LagSec * 1000);
+
+        assertTrue(result.getSteps().get(0).getLag().getCount() > 0);
+        assertTrue(
+                result.getMaxSustainableStreams() >= 1,
+                "Expected a single stream to be transcribed in real time");
+    }
+
+    private static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
 }
@@ -15,23 +15,47 @@ package ai.picovoice.cheetah;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -183,6 +207,773 @@ public class CheetahTest {
         cheetah.delete();
     }
 
+    @Test
+    void close() throws CheetahException {
+        int liveHandleCount = Cheetah.getLiveHandleCount();
+        try (Cheetah cheetah = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device)
+                .build()) {
+            assertEquals(liveHandleCount + 1, Cheetah.getLiveHandleCount());
+        }
+        assertEquals(liveHandleCount, Cheetah.getLiveHandleCount());
+    }
+
+    @Test
+    void pool() throws Exception {
+        Cheetah.Builder builder = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device);
+        CheetahPool pool = new CheetahPool.Builder()
+                .setCheetahBuilder(builder)
+                .setSize(2)
+                .build();
+        assertEquals(2, pool.getSize());
+
+        Cheetah first = pool.acquire();
+        Cheetah second = pool.tryAcquire(0, TimeUnit.MILLISECONDS);
+        assertTrue(first != null && second != null && first != second);
+        assertEquals(0, pool.getAvailableCount());
+
+        long start = System.nanoTime();
+        assertNull(pool.tryAcquire(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        pool.release(first);
+        assertEquals(1, pool.getAvailableCount());
+        assertThrows(CheetahInvalidStateException.class, () -> pool.release(first));
+        assertEquals(1, pool.getAvailableCount());
+
+        Cheetah stranger = builder.build();
+        assertThrows(CheetahInvalidArgumentException.class, () -> pool.release(stranger));
+        stranger.delete();
+
+        Cheetah reacquired = pool.tryAcquire(0, TimeUnit.MILLISECONDS);
+        assertTrue(reacquired == first);
+        pool.release(reacquired);
+        pool.release(second);
+        assertEquals(2, pool.getAvailableCount());
+
+        int liveHandleCount = Cheetah.getLiveHandleCount();
+        pool.close();
+        assertEquals(liveHandleCount - 2, Cheetah.getLiveHandleCount());
+        assertThrows(CheetahInvalidStateException.class, pool::acquire);
+        assertThrows(CheetahInvalidStateException.class, () -> pool.tryAcquire(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void processAfterDelete() throws CheetahException {
+        Cheetah cheetah = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device)
+                .build();
+        short[] frame = new short[cheetah.getFrameLength()];
+        cheetah.delete();
+        cheetah.delete();
+        assertThrows(CheetahInvalidStateException.class, () -> cheetah.process(frame));
+        assertThrows(CheetahInvalidStateException.class, cheetah::flush);
+    }
+
+    @Test
+    void lifecycleGuard() throws Exception {
+        AtomicInteger numDeletes = new AtomicInteger(0);
+        AtomicBoolean isUsedAfterDelete = new AtomicBoolean(false);
+        CheetahHandle handle = new CheetahHandle(1, numDeletes::incrementAndGet);
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                while (handle.acquire()) {
+                    if (numDeletes.get() != 0) {
+                        isUsedAfterDelete.set(true);
+                    }
+                    handle.release();
+                }
+            });
+            threads[i].start();
+        }
+
+        Thread.sleep(100);
+        handle.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        handle.close();
+
+        assertFalse(handle.acquire());
+        assertFalse(isUsedAfterDelete.get());
+        assertEquals(1, numDeletes.get());
+    }
+
+    @Test
+    void utteranceAssembler() throws CheetahException {
+        CheetahUtteranceAssembler assembler = new CheetahUtteranceAssembler.Builder()
+                .setHistoryDuration(10f)
+                .build();
+
+        assembler.append(new CheetahTranscript("hello", new CheetahTranscript.Word[]{
+                new CheetahTranscript.Word("hello", 0.9f, 0.5f, 0.8f)}, false));
+        assembler.append(new CheetahTranscript("", new CheetahTranscript.Word[0], true));
+        assertEquals("hello", assembler.getPartialTranscript());
+
+        CheetahUtteranceAssembler.Utterance first = assembler.finish(
+                new CheetahTranscript(" world", new CheetahTranscript.Word[]{
+                        new CheetahTranscript.Word("world", 0.8f, 0.9f, 1.2f)}, false));
+        assertEquals("hello world", first.getTranscript());
+        assertEquals(2, first.getWordCount());
+        assertEquals(0.5f, first.getStartSec());
+        assertEquals(1.2f, first.getEndSec());
+        assertEquals("", assembler.getPartialTranscript());
+        assertEquals(0, assembler.getPartialWordCount());
+
+        assertNull(assembler.finish(new CheetahTranscript("", new CheetahTranscript.Word[0], false)));
+
+        assembler.finish(new CheetahTranscript("later", new CheetahTranscript.Word[]{
+                new CheetahTranscript.Word("later", 0.7f, 20f, 20.5f)}, false));
+        assertEquals(1, assembler.getHistory().size());
+        assertEquals("later", assembler.getHistory().get(0).getTranscript());
+
+        // without endpoints, utterances are closed at the maximum length, and no history is kept
+        CheetahUtteranceAssembler bounded = new CheetahUtteranceAssembler.Builder()
+                .setHistoryDuration(0f)
+                .setMaxUtteranceWords(3)
+                .build();
+        CheetahUtteranceAssembler.Utterance closed = null;
+        for (int i = 0; i < 3; i++) {
+            assertNull(closed);
+            closed = bounded.append(new CheetahTranscript(" word", new CheetahTranscript.Word[]{
+                    new CheetahTranscript.Word("word", 0.9f, i, i + 0.5f)}, false));
+        }
+        assertEquals("word word word", closed.getTranscript());
+        assertEquals(3, closed.getWordCount());
+        assertEquals(0, bounded.getPartialWordCount());
+        assertEquals("", bounded.getPartialTranscript());
+        assertEquals(0, bounded.getHistory().size());
+
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahUtteranceAssembler.Builder()
+                .setMaxUtteranceWords(0)
+                .build());
+    }
+
+    @Test
+    void timeline() {
+        CheetahTimeline timeline = new CheetahTimeline(16000);
+        long tenHours = 16000L * 60 * 60 * 10;
+        timeline.advance((int) (tenHours / 2));
+        timeline.advance((int) (tenHours / 2));
+        timeline.advance(1);
+        assertEquals(tenHours + 1, timeline.getSampleCount());
+        assertEquals(36000.0000625, timeline.toSeconds(timeline.getSampleCount()));
+
+        assertEquals(-1, timeline.toWallClockMillis(0));
+        timeline.setWallClockAnchor(16000, 1_700_000_000_000L);
+        assertEquals(1_700_000_000_000L + 36_000_000L - 1000L, timeline.toWallClockMillis(tenHours));
+    }
+
+    @Test
+    void timelineWordPositions() {
+        CheetahTimeline timeline = new CheetahTimeline(16000);
+        CheetahTranscript.Word first = new CheetahTranscript.Word("first", 0.9f, 0.5f, 0.75f);
+        timeline.advance(16000);
+        timeline.resolve(new CheetahTranscript("first", new CheetahTranscript.Word[]{first}, false));
+        assertEquals(8000, first.getStartSample());
+        assertEquals(12000, first.getEndSample());
+
+        // past 2^24 samples a float can no longer count single samples
+        long flushSample = (1L << 24) + 16001;
+        timeline.advance((int) (flushSample - 16000));
+        CheetahTranscript flushed = new CheetahTranscript("", new CheetahTranscript.Word[0], false);
+        timeline.resolveFlush(flushed);
+        assertEquals(flushSample, flushed.getEndSample());
+
+        CheetahTranscript.Word second = new CheetahTranscript.Word("second", 0.9f, 0.0625f, 0.25f);
+        timeline.advance(16000);
+        CheetahTranscript transcript = new CheetahTranscript(
+                "second", new CheetahTranscript.Word[]{second}, false);
+        timeline.resolve(transcript);
+        assertEquals(flushSample + 16000, transcript.getEndSample());
+        assertEquals(flushSample + 1000, second.getStartSample());
+        assertEquals(flushSample + 4000, second.getEndSample());
+        assertEquals((flushSample + 1000) / 16000.0, second.getAbsoluteStartSec(), 0.0);
+    }
+
+    @Test
+    void latencyHistogram() {
+        CheetahLatencyHistogram histogram = new CheetahLatencyHistogram();
+        assertEquals(0.0, histogram.getPercentileMillis(99), 0.0);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.0, histogram.getPercentileMillis(50), 500.0 / 32);
+        assertEquals(990.0, histogram.getPercentileMillis(99), 990.0 / 32);
+        assertEquals(1000.0, histogram.getPercentileMillis(100), 0.0);
+        assertEquals(1000.0, histogram.getMaxMillis(), 0.0);
+        assertEquals(500.5, histogram.getMeanMillis(), 0.001);
+
+        CheetahLatencyHistogram other = new CheetahLatencyHistogram();
+        other.record(20_000);
+        other.record(-1);
+        histogram.add(other);
+        assertEquals(1002, histogram.getCount());
+        assertEquals(0.0, histogram.getPercentileMillis(0), 0.0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMaxMillis(), 0.0);
+    }
+
+    @Test
+    void latencyTracer() throws CheetahException {
+        int frameLength = 512;
+        int sampleRate = 16000;
+        long frameNanos = frameLength * 1_000_000_000L / sampleRate;
+        CheetahLatencyTracer tracer = new CheetahLatencyTracer.Builder()
+                .setFrameLength(frameLength)
+                .setSampleRate(sampleRate)
+                .setHistoryFrames(8)
+                .build();
+
+        // frames captured ten seconds ago
+        long baseNanos = System.nanoTime() - 10_000_000_000L;
+        for (int i = 0; i < 10; i++) {
+            tracer.tagFrame(baseNanos + (i + 1) * frameNanos);
+        }
+
+        CheetahTranscript.Word traced = new CheetahTranscript.Word("hello", 0.9f, 0.25f, 0.3f);
+        traced.setSampleRange(4000, 5 * frameLength + frameLength - 1, sampleRate);
+        CheetahTranscript.Word expired = new CheetahTranscript.Word("old", 0.9f, 0f, 0.05f);
+        expired.setSampleRange(0, 800, sampleRate);
+        CheetahTranscript.Word untagged = new CheetahTranscript.Word("new", 0.9f, 0.4f, 0.45f);
+        untagged.setSampleRange(6400, 10 * frameLength, sampleRate);
+        tracer.onWords(new CheetahTranscript.Word[]{expired, traced, untagged});
+
+        assertEquals(1, tracer.getWordLatency().getCount());
+        assertEquals(2, tracer.getNumUntracedWords());
+        double expectedMillis = (10_000_000_000L - 6 * frameNanos) / 1e6;
+        assertTrue(tracer.getWordLatency().getMaxMillis() >= expectedMillis);
+        assertTrue(tracer.getWordLatency().getMaxMillis() < expectedMillis + 1000);
+
+        // the utterance ends with the untagged word, so its speech end cannot be traced
+        tracer.onFinalTranscript("old hello new");
+        assertEquals(0, tracer.getSpeechEndToFinalLatency().getCount());
+
+        tracer.onWords(new CheetahTranscript.Word[]{traced});
+        tracer.onEndpoint(10 * frameLength);
+        tracer.onFinalTranscript("hello");
+        assertEquals(1, tracer.getEndpointToFinalLatency().getCount());
+        assertEquals(1, tracer.getSpeechEndToFinalLatency().getCount());
+        assertTrue(tracer.getSpeechEndToFinalLatency().getMaxMillis()
+                - tracer.getEndpointToFinalLatency().getMaxMillis() >= 4 * frameNanos / 1e6 - 1);
+
+        // endpoint and speech end are consumed by the final transcript
+        tracer.onFinalTranscript("later");
+        assertEquals(1, tracer.getEndpointToFinalLatency().getCount());
+        assertEquals(1, tracer.getSpeechEndToFinalLatency().getCount());
+
+        tracer.reset();
+        assertEquals(0, tracer.getWordLatency().getCount());
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahLatencyTracer.Builder()
+                .setFrameLength(frameLength)
+                .setSampleRate(sampleRate)
+                .setStartSample(1)
+                .build());
+    }
+
+    @Test
+    void audioConverter() throws CheetahException {
+        int inputSampleRate = 44100;
+        int numInputFrames = inputSampleRate;
+        byte[] data = new byte[numInputFrames * 2 * 3];
+        for (int i = 0; i < numInputFrames; i++) {
+            int value = (int) (Math.sin(2 * Math.PI * 440 * i / inputSampleRate) * 0.5 * 8388607);
+            for (int c = 0; c < 2; c++) {
+                int offset = (i * 2 + c) * 3;
+                data[offset] = (byte) value;
+                data[offset + 1] = (byte) (value >> 8);
+                data[offset + 2] = (byte) (value >> 16);
+            }
+        }
+
+        CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+                .setInputSampleRate(inputSampleRate)
+                .setInputChannelCount(2)
+                .setInputSampleFormat(CheetahAudioConverter.SampleFormat.SIGNED_24)
+                .setOutputSampleRate(16000)
+                .setFrameLength(512)
+                .build();
+
+        short[] output = new short[16384];
+        AtomicInteger numOutput = new AtomicInteger(0);
+        CheetahAudioConverter.FrameListener listener = frame -> {
+            assertEquals(512, frame.length);
+            System.arraycopy(frame, 0, output, numOutput.getAndAdd(frame.length), frame.length);
+        };
+        // odd block size so that blocks end in the middle of samples
+        for (int offset = 0; offset < data.length; offset += 1001) {
+            converter.process(data, offset, Math.min(1001, data.length - offset), listener);
+        }
+        converter.flush(listener);
+        assertEquals(16384, numOutput.get());
+
+        // the filter delays the output by half its length: (160 * 48 * 3 - 1) / 2 / 441 output samples
+        double delay = 26.12;
+        double sumSquaredError = 0;
+        for (int i = 1000; i < 15000; i++) {
+            double expected = 0.5 * Math.sin(2 * Math.PI * 440 * (i - delay) / 16000);
+            double error = output[i] / 32768.0 - expected;
+            sumSquaredError += error * error;
+        }
+        assertTrue(Math.sqrt(sumSquaredError / 14000) < 1e-3);
+
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahAudioConverter.Builder()
+                .setInputChannelCount(2)
+                .setChannel(2)
+                .setFrameLength(512)
+                .build());
+    }
+
+    @Test
+    void resamplerStopband() {
+        int[] inputSampleRates = {44100, 48000, 192000};
+        for (int inputSampleRate : inputSampleRates) {
+            // a tone in the passband is kept, and tones above the output Nyquist frequency must not alias into it
+            assertEquals(0.0, resampledToneGainDb(inputSampleRate, 6000), 0.5);
+            assertTrue(resampledToneGainDb(inputSampleRate, 8500) < -60);
+            assertTrue(resampledToneGainDb(inputSampleRate, 9000) < -60);
+            assertTrue(resampledToneGainDb(inputSampleRate, 12000) < -60);
+        }
+        assertEquals(CheetahResampler.TAPS_PER_PHASE * 12, new CheetahResampler(192000, 16000).getTapsPerPhase());
+        assertEquals(CheetahResampler.TAPS_PER_PHASE, new CheetahResampler(8000, 16000).getTapsPerPhase());
+    }
+
+    @Test
+    void resamplerDrain() {
+        CheetahResampler resampler = new CheetahResampler(48000, 16000);
+        float[] input = new float[3000];
+        Arrays.fill(input, 0.5f);
+        float[] output = new float[resampler.getMaxOutputLength(input.length)];
+        float[] tail = new float[resampler.getMaxDrainLength()];
+        assertEquals(0, resampler.drain(tail));
+
+        int numOutput = resampler.process(input, 0, input.length, output);
+        assertEquals(0.5, output[numOutput - 1], 1e-3);
+
+        // the tail falls from the last input samples back to silence over the length of the filter
+        int numDrained = resampler.drain(tail);
+        assertEquals((resampler.getTapsPerPhase() - 1) / 3.0, numDrained, 1.0);
+        double sum = 0;
+        for (int i = 0; i < numDrained; i++) {
+            sum += tail[i];
+        }
+        assertEquals(0.5 * resampler.getTapsPerPhase() / 2 / 3, sum, 0.5);
+        assertEquals(0.0, tail[numDrained - 1], 1e-3);
+        assertEquals(0, resampler.drain(tail));
+    }
+
+    private static double resampledToneGainDb(int inputSampleRate, double frequency) {
+        CheetahResampler resampler = new CheetahResampler(inputSampleRate, 16000);
+        float[] input = new float[inputSampleRate];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (float) Math.sin(2 * Math.PI * frequency * i / inputSampleRate);
+        }
+        float[] output = new float[resampler.getMaxOutputLength(input.length)];
+        int numOutput = resampler.process(input, 0, input.length, output);
+
+        // skip the start-up transient of the filter
+        double power = 0;
+        for (int i = numOutput / 2; i < numOutput; i++) {
+            power += output[i] * output[i];
+        }
+        power /= numOutput - numOutput / 2;
+        return 10 * Math.log10(power / 0.5);
+    }
+
+    @Test
+    void telephonyDecoding() throws CheetahException {
+        short[] samples = new short[4];
+        CheetahPcm.decodeMulaw(new byte[]{(byte) 0x00, (byte) 0x80, (byte) 0xFF, (byte) 0x7F}, 0, samples, 0, 4);
+        assertArrayEquals(new short[]{-32124, 32124, 0, 0}, samples);
+        CheetahPcm.decodeAlaw(new byte[]{(byte) 0xD5, (byte) 0x55, (byte) 0xAA, (byte) 0x2A}, 0, samples, 0, 4);
+        assertArrayEquals(new short[]{8, -8, 32256, -32256}, samples);
+
+        CheetahAudioConverter mulawConverter = new CheetahAudioConverter.Builder()
+                .setInputSampleRate(8000)
+                .setInputSampleFormat(CheetahAudioConverter.SampleFormat.MULAW)
+                .setOutputSampleRate(16000)
+                .setFrameLength(512)
+                .build();
+        byte[] payload = new byte[160];
+        Arrays.fill(payload, (byte) 0xFF);
+        AtomicInteger numFrames = new AtomicInteger(0);
+        for (int i = 0; i < 50; i++) {
+            mulawConverter.process(payload, 0, payload.length, frame -> numFrames.incrementAndGet());
+        }
+        assertEquals(16000 / 512, numFrames.get());
+
+        // one mono block: header with predictor 0 and step index 0, followed by 4-bit codes
+        byte[] block = new byte[]{0, 0, 0, 0, 0x77, 0x00, 0x00, 0x00};
+        short[] decoded = new short[3];
+        CheetahAudioConverter adpcmConverter = new CheetahAudioConverter.Builder()
+                .setInputSampleRate(16000)
+                .setInputSampleFormat(CheetahAudioConverter.SampleFormat.IMA_ADPCM)
+                .setBlockAlign(block.length)
+                .setOutputSampleRate(16000)
+                .setFrameLength(9)
+                .build();
+        adpcmConverter.process(block, 0, block.length, frame -> System.arraycopy(frame, 0, decoded, 0, 3));
+        assertArrayEquals(new short[]{0, 11, 41}, decoded);
+    }
+
+    @Test
+    void pcmKernels() throws CheetahException {
+        byte[] bytes = new byte[]{0x01, (byte) 0x80, (byte) 0xFF, 0x7F};
+        short[] samples = new short[2];
+        CheetahPcm.decodePcm16(bytes, 0, samples, 0, 2, false);
+        assertArrayEquals(new short[]{(short) 0x8001, 0x7FFF}, samples);
+        CheetahPcm.decodePcm16(bytes, 0, samples, 0, 2, true);
+        assertArrayEquals(new short[]{0x0180, (short) 0xFF7F}, samples);
+        byte[] encoded = new byte[4];
+        CheetahPcm.encodePcm16(new short[]{(short) 0x8001, 0x7FFF}, 0, encoded, 0, 2);
+        assertArrayEquals(bytes, encoded);
+
+        short[] mono = new short[2];
+        CheetahPcm.downmix(new short[]{100, -200, 400, 3, 6, 9}, 0, 3, mono, 0, 2);
+        assertArrayEquals(new short[]{100, 6}, mono);
+
+        // the right channel of little-endian stereo
+        short[] frame = new short[2];
+        CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+                .setInputChannelCount(2)
+                .setChannel(1)
+                .setFrameLength(2)
+                .build();
+        converter.process(new byte[]{1, 0, 2, 0, 3, 0, 4, 0}, 0, 8, f -> System.arraycopy(f, 0, frame, 0, 2));
+        assertArrayEquals(new short[]{2, 4}, frame);
+    }
+
+    @Test
+    void jsonWriter() {
+        CheetahTranscript transcript = new CheetahTranscript(
+                " say \"hi\"\n\u00e9\ud83d\ude00",
+                new CheetahTranscript.Word[]{
+                        new CheetahTranscript.Word("say", 0.9f, 0.32f, 0.64f),
+                        new CheetahTranscript.Word("\"hi\"", 1.0f, -0.0004f, 12.5f)
+                },
+                true);
+
+        CheetahJsonWriter writer = new CheetahJsonWriter();
+        writer.writeTranscript(transcript).newLine().writeTranscript(transcript).newLine();
+        String[] lines = new String(writer.getBuffer(), 0, writer.size(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(lines[0], lines[1]);
+
+        JsonObject json = JsonParser.parseString(lines[0]).getAsJsonObject();
+        assertEquals(transcript.getTranscript(), json.get("transcript").getAsString());
+        assertTrue(json.get("isEndpoint").getAsBoolean());
+        JsonArray words = json.getAsJsonArray("words");
+        assertEquals(2, words.size());
+        assertEquals("say", words.get(0).getAsJsonObject().get("word").getAsString());
+        assertEquals(0.32, words.get(0).getAsJsonObject().get("startSec").getAsDouble());
+        assertEquals(0.64, words.get(0).getAsJsonObject().get("endSec").getAsDouble());
+        assertEquals(0.9, words.get(0).getAsJsonObject().get("confidence").getAsDouble());
+        assertEquals("\"hi\"", words.get(1).getAsJsonObject().get("word").getAsString());
+        assertEquals("0", words.get(1).getAsJsonObject().get("startSec").toString());
+        assertEquals("12.5", words.get(1).getAsJsonObject().get("endSec").toString());
+
+        StringBuilder builder = new StringBuilder();
+        new CheetahJsonWriter(builder).writeTranscript(transcript);
+        assertEquals(lines[0], builder.toString());
+
+        writer.reset();
+        writer.beginObject()
+                .name("n").value(-42)
+                .name("x").value(Math.PI, 4)
+                .name("nan").value(Double.NaN)
+                .name("empty").beginArray().endArray()
+                .endObject();
+        assertEquals("{\"n\":-42,\"x\":3.1416,\"nan\":null,\"empty\":[]}", writer.toString());
+        assertThrows(IllegalStateException.class, () -> new CheetahJsonWriter().name("x"));
+        assertThrows(IllegalStateException.class, () -> new CheetahJsonWriter().endObject());
+    }
+
+    @Test
+    void ringBuffer() throws Exception {
+        CheetahRingBuffer ring = new CheetahRingBuffer.Builder()
+                .setCapacity(1000)
+                .setSpinIterations(10)
+                .build();
+        assertEquals(1024, ring.getCapacity());
+
+        short[] frame = new short[512];
+        assertFalse(ring.read(frame));
+        assertEquals(1, ring.getNumUnderruns());
+        assertTrue(ring.offer(new short[1000]));
+        assertFalse(ring.offer(new short[100]));
+        assertEquals(1, ring.getNumOverruns());
+        assertEquals(100, ring.getNumDroppedSamples());
+        assertTrue(ring.read(frame));
+        assertEquals(488, ring.size());
+        assertFalse(ring.read(frame));
+        assertTrue(ring.read(frame, 0, 488));
+        assertEquals(0, ring.size());
+
+        // odd-sized chunks wrap around the end of the buffer at a different position on every pass
+        int numSamples = 500_000;
+        Thread producer = new Thread(() -> {
+            short[] chunk = new short[257];
+            int sample = 0;
+            try {
+                while (sample < numSamples) {
+                    int length = Math.min(chunk.length, numSamples - sample);
+                    for (int i = 0; i < length; i++) {
+                        chunk[i] = (short) sample++;
+                    }
+                    ring.put(chunk, 0, length);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ring.close();
+        });
+        producer.start();
+
+        int expected = 0;
+        while (ring.take(frame)) {
+            for (short sample : frame) {
+                assertEquals((short) expected++, sample);
+            }
+        }
+        producer.join();
+        assertEquals(numSamples - numSamples % frame.length, expected);
+        assertEquals(numSamples % frame.length, ring.size());
+        assertFalse(ring.take(frame, 10, TimeUnit.MILLISECONDS));
+        assertFalse(ring.offer(new short[1]));
+    }
+
+    @Test
+    void wavWriter() throws Exception {
+        Path wavPath = Files.createTempFile("cheetah", ".wav");
+        try {
+            CheetahWavWriter writer = new CheetahWavWriter.Builder()
+                    .setOutputPath(wavPath.toString())
+                    .setSyncInterval(0.01f)
+                    .build();
+            short[] chunk = new short[333];
+            int numSamples = 0;
+            for (int i = 0; i < 100; i++) {
+                for (int j = 0; j < chunk.length; j++) {
+                    chunk[j] = (short) (numSamples++ * 7);
+                }
+                assertTrue(writer.write(chunk));
+                if (i == 50) {
+                    // the header is patched while recording, so a partial recording is readable
+                    Thread.sleep(50);
+                    try (AudioInputStream partial = AudioSystem.getAudioInputStream(wavPath.toFile())) {
+                        assertTrue(partial.getFrameLength() > 0);
+                    }
+                }
+            }
+            writer.close();
+            assertEquals(numSamples, writer.getNumWrittenSamples());
+            assertEquals(0, writer.getNumDroppedSamples());
+            assertFalse(writer.write(chunk));
+
+            try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(wavPath.toFile())) {
+                assertEquals(16000f, audioInputStream.getFormat().getSampleRate());
+                assertEquals(1, audioInputStream.getFormat().getChannels());
+                assertEquals(numSamples, audioInputStream.getFrameLength());
+
+                byte[] pcm = new byte[numSamples * 2];
+                int numBytesRead = 0;
+                while (numBytesRead < pcm.length) {
+                    numBytesRead += audioInputStream.read(pcm, numBytesRead, pcm.length - numBytesRead);
+                }
+                short[] samples = new short[numSamples];
+                CheetahPcm.decodePcm16(pcm, 0, samples, 0, numSamples, false);
+                for (int i = 0; i < numSamples; i++) {
+                    assertEquals((short) (i * 7), samples[i]);
+                }
+            }
+        } finally {
+            Files.delete(wavPath);
+        }
+    }
+
+    @Test
+    void trainModelCache() throws Exception {
+        AtomicInteger numRequests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            numRequests.incrementAndGet();
+            JsonObject request;
+            try (InputStream is = exchange.getRequestBody()) {
+                request = JsonParser.parseReader(new InputStreamReader(is, StandardCharsets.UTF_8))
+                        .getAsJsonObject();
+            }
+            boolean isAuthorized = "key".equals(exchange.getRequestHeaders().getFirst("x-api-key"));
+            byte[] body = (isAuthorized ? "model:" + request.get("yaml_content").getAsString() : "invalid key")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(isAuthorized ? 200 : 401, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        Path cacheDir = Files.createTempDirectory("cheetah-cache");
+        Path outputDir = Files.createTempDirectory("cheetah-models");
+        try {
+            String apiUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+            String yaml = "new: {}\nboost: [\"Cheetah\"]\n";
+            CheetahModelTrainer trainer = new CheetahModelTrainer.Builder()
+                    .setAccessKey("key")
+                    .setCacheDirectory(cacheDir.toString())
+                    .setMaxCacheSizeBytes(2 * ("model:" + yaml).getBytes(StandardCharsets.UTF_8).length)
+                    .setApiUrl(apiUrl)
+                    .build();
+
+            Map<String, Set<String>> newWords = new HashMap<>();
+            newWords.put("Picovoice", new HashSet<>(Arrays.asList("p \u026a k o\u028a v \u0254\u026a s")));
+            newWords.put("Cheetah", Collections.emptySet());
+            Set<String> boostWords = new HashSet<>(Arrays.asList("Porcupine", "Picovoice"));
+
+            Path output = outputDir.resolve("a.pv");
+            trainer.trainModelFromWords(output.toString(), "en", newWords, boostWords);
+            assertEquals(1, numRequests.get());
+            String model = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+            assertEquals(
+                    "model:new:\n" +
+                            "  \"Cheetah\": []\n" +
+                            "  \"Picovoice\": [\"p \u026a k o\u028a v \u0254\u026a s\"]\n" +
+                            "boost: [\"Picovoice\", \"Porcupine\"]\n",
+                    model);
+
+            Map<String, Set<String>> reorderedNewWords = new TreeMap<>(Collections.reverseOrder());
+            reorderedNewWords.putAll(newWords);
+            Path repeatOutput = outputDir.resolve("b.pv");
+            trainer.trainModelFromWords(repeatOutput.toString(), "en", reorderedNewWords, boostWords);
+            assertEquals(1, numRequests.get());
+            assertArrayEquals(Files.readAllBytes(output), Files.readAllBytes(repeatOutput));
+
+            trainer.trainModelFromYaml(output.toString(), "en", yaml);
+            trainer.trainModelFromYaml(output.toString(), "en", "new: {}\r\nboost: [\"Cheetah\"]  \r\n\r\n");
+            assertEquals(2, numRequests.get());
+            trainer.trainModelFromYaml(output.toString(), "fr", yaml);
+            assertEquals(3, numRequests.get());
+
+            // the cap only fits two models, so the least recently used one is evicted
+            String wordsYaml = CheetahModelTrainer.toYaml(newWords, boostWords);
+            assertFalse(Files.exists(trainer.getCachedModelPath("en", wordsYaml)));
+            assertTrue(Files.exists(trainer.getCachedModelPath("en", yaml)));
+            assertTrue(Files.exists(trainer.getCachedModelPath("fr", yaml)));
+
+            trainer.trainModelFromYamlAsync(output.toString(), "fr", yaml).get();
+            assertEquals(3, numRequests.get());
+
+            // a model evicted by another trainer between the cache hit and the copy is trained again
+            String normalizedWordsYaml = CheetahModelTrainer.normalizeYaml(wordsYaml);
+            Path evictedOutput = outputDir.resolve("d.pv");
+            trainer.copyCachedModel(
+                    "en", normalizedWordsYaml, trainer.getCachedModelPath("en", wordsYaml), evictedOutput);
+            assertEquals(4, numRequests.get());
+            assertArrayEquals(Files.readAllBytes(repeatOutput), Files.readAllBytes(evictedOutput));
+
+            assertThrows(CheetahInvalidArgumentException.class,
+                    () -> trainer.trainModelFromYaml(output.toString(), "xx", yaml));
+            CheetahModelTrainer invalidTrainer = new CheetahModelTrainer.Builder()
+                    .setAccessKey("invalid")
+                    .setApiUrl(apiUrl)
+                    .build();
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> invalidTrainer.trainModelFromYamlAsync(output.toString(), "de", yaml).get());
+            assertTrue(e.getCause() instanceof CheetahRuntimeException);
+            assertEquals("Failed to train model: invalid key", e.getCause().getMessage());
+
+            // nothing listens on a port that was just released, so the request fails to connect
+            int closedPort;
+            try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+                closedPort = socket.getLocalPort();
+            }
+            CheetahModelTrainer unreachableTrainer = new CheetahModelTrainer.Builder()
+                    .setAccessKey("key")
+                    .setApiUrl("http://127.0.0.1:" + closedPort)
+                    .build();
+            assertThrows(CheetahIOException.class,
+                    () -> unreachableTrainer.trainModelFromYaml(outputDir.resolve("c.pv").toString(), "de", yaml));
+        } finally {
+            server.stop(0);
+            for (Path dir : new Path[]{cacheDir, outputDir}) {
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.delete(file);
+                    }
+                }
+                Files.delete(dir);
+            }
+        }
+    }
+
+    @Test
+    void loadGeneratorCorpus() throws Exception {
+        Path audioDir = Files.createTempDirectory("cheetah-corpus");
+        Path cacheDir = Files.createTempDirectory("cheetah-corpus-cache");
+        try {
+            int frameLength = 512;
+            int[] fileLengths = {1000, 2 * frameLength};
+            List<File> audioFiles = new ArrayList<>();
+            for (int f = 0; f < fileLengths.length; f++) {
+                Path wavPath = audioDir.resolve(String.format("%d.wav", f));
+                CheetahWavWriter writer = new CheetahWavWriter.Builder()
+                        .setOutputPath(wavPath.toString())
+                        .build();
+                short[] samples = new short[fileLengths[f]];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = (short) (f * 10000 + i);
+                }
+                writer.write(samples);
+                writer.close();
+                audioFiles.add(wavPath.toFile());
+            }
+
+            // each file is padded to whole frames, then the files are concatenated
+            ShortBuffer corpus = CheetahLoadGenerator.mapCorpus(audioFiles, cacheDir.toFile(), 16000, frameLength);
+            assertEquals(4 * frameLength, corpus.capacity());
+            assertEquals(999, corpus.get(999));
+            assertEquals(0, corpus.get(1000));
+            assertEquals(0, corpus.get(2 * frameLength - 1));
+            assertEquals(10000, corpus.get(2 * frameLength));
+            assertEquals(10000 + 2 * frameLength - 1, corpus.get(4 * frameLength - 1));
+
+            // a second run reuses the cache, and a different frame format gets its own entry
+            CheetahLoadGenerator.mapCorpus(audioFiles, cacheDir.toFile(), 16000, frameLength);
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                assertEquals(1, files.count());
+            }
+            ShortBuffer otherCorpus = CheetahLoadGenerator.mapCorpus(audioFiles, cacheDir.toFile(), 16000, 1000);
+            assertEquals(3000, otherCorpus.capacity());
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                assertEquals(2, files.count());
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(audioDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(audioDir);
+
+            // the cache files stay mapped until the buffers are garbage collected, and Windows refuses to delete
+            // mapped files, so they are only removed on a best-effort basis when the JVM exits
+            cacheDir.toFile().deleteOnExit();
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
     @Test
     void getErrorStack() {
         String[] error = {};
@@ -344,10 +1135,122 @@ public class CheetahTest {
             assertTrue(word.getEndSec() >= word.getStartSec());
             assertTrue(word.getConfidence() >= 0.0f);
             assertTrue(word.getConfidence() <= 1.0f);
+            assertTrue(word.getStartSample() >= 0);
+            assertTrue(word.getEndSample() >= word.getStartSample());
             currentTime = word.getEndSec();
         }
     }
 
+    @Test
+    void stream() throws Exception {
+        Cheetah cheetah = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device)
+                .setEndpointDuration(0.5f)
+                .build();
+
+        StringBuilder partialTranscript = new StringBuilder();
+        ArrayList<CheetahTranscript.Word> partialWords = new ArrayList<>();
+        ArrayList<Long> endpoints = new ArrayList<>();
+        ArrayList<String> finalTranscripts = new ArrayList<>();
+        ArrayList<CheetahUtteranceAssembler.Utterance> utterances = new ArrayList<>();
+        CheetahStream stream = new CheetahStream.Builder()
+                .setCheetah(cheetah)
+                .addPartialTranscriptListener(partialTranscript::append)
+                .addPartialWordListener(words -> partialWords.addAll(Arrays.asList(words)))
+                .addEndpointListener(endpoints::add)
+                .addFinalTranscriptListener(finalTranscripts::add)
+                .addUtteranceListener(utterances::add)
+                .build();
+
+        String audioFilePath = Paths.get(System.getProperty("user.dir"))
+                .resolve("../../resources/audio_samples/test_en.wav")
+                .toString();
+        AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(audioFilePath));
+        int frameLen = cheetah.getFrameLength();
+        byte[] pcm = new byte[frameLen * 2];
+        short[] cheetahFrame = new short[frameLen];
+
+        // trailing silence ends the utterance with an endpoint
+        while (audioInputStream.read(pcm) == pcm.length) {
+            ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(cheetahFrame);
+            stream.process(cheetahFrame);
+        }
+        Arrays.fill(cheetahFrame, (short) 0);
+        for (int i = 0; i < cheetah.getSampleRate() / frameLen; i++) {
+            stream.process(cheetahFrame);
+        }
+        stream.finish();
+        cheetah.delete();
+
+        assertFalse(endpoints.isEmpty());
+        assertFalse(utterances.isEmpty());
+        assertEquals(utterances.size(), finalTranscripts.size());
+
+        StringBuilder utteranceTranscript = new StringBuilder();
+        int numUtteranceWords = 0;
+        for (int i = 0; i < utterances.size(); i++) {
+            assertEquals(utterances.get(i).getTranscript(), finalTranscripts.get(i));
+            utteranceTranscript.append(utterances.get(i).getTranscript()).append(' ');
+            numUtteranceWords += utterances.get(i).getWordCount();
+        }
+        assertEquals(partialTranscript.toString().trim().replaceAll("\\s+", " "),
+                utteranceTranscript.toString().trim().replaceAll("\\s+", " "));
+        assertEquals(partialWords.size(), numUtteranceWords);
+        assertTrue(partialWords.size() > 0);
+    }
+
+    @Test
+    void streamMaxUtteranceWords() throws Exception {
+        // without endpointing, the text kept for final listeners is bounded by the maximum utterance length
+        Cheetah cheetah = new Cheetah.Builder()
+                .setAccessKey(accessKey)
+                .setDevice(device)
+                .setEndpointDuration(0f)
+                .build();
+
+        StringBuilder partialTranscript = new StringBuilder();
+        ArrayList<String> finalTranscripts = new ArrayList<>();
+        CheetahStream stream = new CheetahStream.Builder()
+                .setCheetah(cheetah)
+                .addPartialTranscriptListener(partialTranscript::append)
+                .addFinalTranscriptListener(finalTranscripts::add)
+                .setMaxUtteranceWords(2)
+                .build();
+
+        String audioFilePath = Paths.get(System.getProperty("user.dir"))
+                .resolve("../../resources/audio_samples/test_en.wav")
+                .toString();
+        AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(audioFilePath));
+        int frameLen = cheetah.getFrameLength();
+        byte[] pcm = new byte[frameLen * 2];
+        short[] cheetahFrame = new short[frameLen];
+        while (audioInputStream.read(pcm) == pcm.length) {
+            ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(cheetahFrame);
+            stream.process(cheetahFrame);
+        }
+        stream.finish();
+        cheetah.delete();
+
+        assertTrue(finalTranscripts.size() > 1);
+        for (int i = 0; i < finalTranscripts.size() - 1; i++) {
+            // a partial result may complete several words at once
+            assertTrue(finalTranscripts.get(i).split("\\s+").length >= 2);
+        }
+        assertEquals(partialTranscript.toString().trim().replaceAll("\\s+", " "),
+                String.join(" ", finalTranscripts).replaceAll("\\s+", " "));
+
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahStream.Builder()
+                .setCheetah(cheetah)
+                .setMaxUtteranceWords(0)
+                .build());
+    }
+
+    @Test
+    void streamInvalidArguments() {
+        assertThrows(CheetahInvalidArgumentException.class, () -> new CheetahStream.Builder().build());
+    }
+
     private static class ProcessTestData {
         public final String language;
         public final String[] models;
@@ -19,16 +19,16 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
-import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import ai.picovoice.cheetah.Cheetah;
 import ai.picovoice.cheetah.CheetahException;
+import ai.picovoice.cheetah.CheetahInvalidArgumentException;
 import ai.picovoice.cheetah.CheetahInvalidStateException;
 import ai.picovoice.cheetah.CheetahTranscript;
 import ai.picovoice.cheetah.CheetahTranscriptAnnotated;
@@ -38,8 +38,13 @@ import ai.picovoice.cheetah.CheetahTranscriptAnnotated;
  */
 public class CheetahModule extends ReactContextBaseJavaModule {
 
+    private static final String TRANSCRIPT_EVENT = "PvCheetahTranscript";
+    private static final String ERROR_EVENT = "PvCheetahError";
+
     private final ReactApplicationContext reactContext;
     private final Map<String, Cheetah> cheetahPool = new HashMap<>();
+    private final Map<String, short[]> frameBuffers = new HashMap<>();
+    private final Map<String, CheetahRecorder> recorders = new HashMap<>();
 
     public CheetahModule(ReactApplicationContext reactContext) {
         super(reactContext);
@@ -54,6 +59,24 @@ public class CheetahModule extends ReactContextBaseJavaModule {
         return "PvCheetah";
     }
 
+    @Override
+    public void invalidate() {
+        for (CheetahRecorder recorder : recorders.values()) {
+            try {
+                recorder.stop();
+            } catch (CheetahException ignored) {
+                // the instance is deleted below
+            }
+        }
+        recorders.clear();
+        for (Cheetah cheetah : cheetahPool.values()) {
+            cheetah.delete();
+        }
+        cheetahPool.clear();
+        frameBuffers.clear();
+        super.invalidate();
+    }
+
     @ReactMethod
     public void getAvailableDevices(Promise promise) {
         try {
@@ -88,6 +111,7 @@ public class CheetahModule extends ReactContextBaseJavaModule {
                     .setEnableTextNormalization(enableTextNormalization)
                     .build(reactContext);
             cheetahPool.put(String.valueOf(System.identityHashCode(cheetah)), cheetah);
+            frameBuffers.put(String.valueOf(System.identityHashCode(cheetah)), new short[cheetah.getFrameLength()]);
 
             WritableMap paramMap = Arguments.createMap();
             paramMap.putString("handle", String.valueOf(System.identityHashCode(cheetah)));
@@ -102,17 +126,26 @@ public class CheetahModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void delete(String handle) {
+        CheetahRecorder recorder = recorders.remove(handle);
+        if (recorder != null) {
+            try {
+                recorder.stop();
+            } catch (CheetahException ignored) {
+                // the instance is deleted below
+            }
+        }
         if (cheetahPool.containsKey(handle)) {
             Cheetah cheetah = cheetahPool.get(handle);
             if (cheetah != null) {
                 cheetah.delete();
             }
             cheetahPool.remove(handle);
+            frameBuffers.remove(handle);
         }
     }
 
     @ReactMethod
-    public void process(String handle, ReadableArray pcmArray, Promise promise) {
+    public void process(String handle, String pcmBase64, Promise promise) {
 
         if (!cheetahPool.containsKey(handle)) {
             promise.reject(CheetahInvalidStateException.class.getSimpleName(),
@@ -120,12 +153,6 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
-        ArrayList<Object> pcmArrayList = pcmArray.toArrayList();
-        short[] buffer = new short[pcmArray.size()];
-        for (int i = 0; i < pcmArray.size(); i++) {
-            buffer[i] = ((Number) pcmArrayList.get(i)).shortValue();
-        }
-
         Cheetah cheetah = cheetahPool.get(handle);
         if (cheetah == null) {
             promise.reject(CheetahInvalidStateException.class.getSimpleName(),
@@ -133,6 +160,18 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        if (rejectIfListening(handle, promise)) {
+            return;
+        }
+
+        // frames are decoded into a buffer owned by the instance; module methods never run concurrently
+        short[] buffer = frameBuffers.get(handle);
+        if (PcmBase64.decode(pcmBase64, buffer) < 0) {
+            promise.reject(CheetahInvalidArgumentException.class.getSimpleName(),
+                    String.format("Frame must be base64 of %d 16-bit samples.", buffer.length));
+            return;
+        }
+
         try {
             CheetahTranscript result = cheetah.process(buffer);
 
@@ -161,6 +200,10 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        if (rejectIfListening(handle, promise)) {
+            return;
+        }
+
         try {
             CheetahTranscript result = cheetah.flush();
             WritableMap resultMap = Arguments.createMap();
@@ -172,7 +215,7 @@ public class CheetahModule extends ReactContextBaseJavaModule {
     }
 
     @ReactMethod
-    public void processAnnotated(String handle, ReadableArray pcmArray, Promise promise) {
+    public void processAnnotated(String handle, String pcmBase64, Promise promise) {
 
         if (!cheetahPool.containsKey(handle)) {
             promise.reject(CheetahInvalidStateException.class.getSimpleName(),
@@ -180,12 +223,6 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
-        ArrayList<Object> pcmArrayList = pcmArray.toArrayList();
-        short[] buffer = new short[pcmArray.size()];
-        for (int i = 0; i < pcmArray.size(); i++) {
-            buffer[i] = ((Number) pcmArrayList.get(i)).shortValue();
-        }
-
         Cheetah cheetah = cheetahPool.get(handle);
         if (cheetah == null) {
             promise.reject(CheetahInvalidStateException.class.getSimpleName(),
@@ -193,6 +230,18 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        if (rejectIfListening(handle, promise)) {
+            return;
+        }
+
+        // frames are decoded into a buffer owned by the instance; module methods never run concurrently
+        short[] buffer = frameBuffers.get(handle);
+        if (PcmBase64.decode(pcmBase64, buffer) < 0) {
+            promise.reject(CheetahInvalidArgumentException.class.getSimpleName(),
+                    String.format("Frame must be base64 of %d 16-bit samples.", buffer.length));
+            return;
+        }
+
         try {
             CheetahTranscriptAnnotated result = cheetah.processAnnotated(buffer);
 
@@ -233,6 +282,10 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             return;
         }
 
+        if (rejectIfListening(handle, promise)) {
+            return;
+        }
+
         try {
             CheetahTranscriptAnnotated result = cheetah.flushAnnotated();
             WritableMap resultMap = Arguments.createMap();
@@ -254,4 +307,99 @@ public class CheetahModule extends ReactContextBaseJavaModule {
             promise.reject(e.getClass().getSimpleName(), e.getMessage());
         }
     }
+
+    @ReactMethod
+    public void startListening(String handle, Promise promise) {
+
+        if (!cheetahPool.containsKey(handle)) {
+            promise.reject(CheetahInvalidStateException.class.getSimpleName(),
+                    "Invalid Cheetah handle provided to native module.");
+            return;
+        }
+
+        Cheetah cheetah = cheetahPool.get(handle);
+        if (cheetah == null) {
+            promise.reject(CheetahInvalidStateException.class.getSimpleName(),
+                    "Instance of Cheetah no longer exists.");
+            return;
+        }
+
+        if (rejectIfListening(handle, promise)) {
+            return;
+        }
+
+        CheetahRecorder recorder = new CheetahRecorder(cheetah, new CheetahRecorder.Listener() {
+            @Override
+            public void onTranscript(String transcript, boolean isEndpoint) {
+                WritableMap eventMap = Arguments.createMap();
+                eventMap.putString("handle", handle);
+                eventMap.putString("transcript", transcript);
+                eventMap.putBoolean("isEndpoint", isEndpoint);
+                sendEvent(TRANSCRIPT_EVENT, eventMap);
+            }
+
+            @Override
+            public void onError(CheetahException e) {
+                WritableMap eventMap = Arguments.createMap();
+                eventMap.putString("handle", handle);
+                eventMap.putString("code", e.getClass().getSimpleName());
+                eventMap.putString("message", e.getMessage());
+                sendEvent(ERROR_EVENT, eventMap);
+            }
+        });
+
+        try {
+            recorder.start();
+            recorders.put(handle, recorder);
+            promise.resolve(null);
+        } catch (CheetahException e) {
+            promise.reject(e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @ReactMethod
+    public void stopListening(String handle, Promise promise) {
+
+        CheetahRecorder recorder = recorders.remove(handle);
+        if (recorder == null) {
+            promise.reject(CheetahInvalidStateException.class.getSimpleName(),
+                    "Cheetah is not listening.");
+            return;
+        }
+
+        try {
+            CheetahTranscript result = recorder.stop();
+            WritableMap resultMap = Arguments.createMap();
+            resultMap.putString("transcript", result.getTranscript());
+            promise.resolve(resultMap);
+        } catch (CheetahException e) {
+            promise.reject(e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @ReactMethod
+    public void addListener(String eventName) {
+        // required by NativeEventEmitter
+    }
+
+    @ReactMethod
+    public void removeListeners(Integer count) {
+        // required by NativeEventEmitter
+    }
+
+    private boolean rejectIfListening(String handle, Promise promise) {
+        if (recorders.containsKey(handle)) {
+            // the capture loop owns the instance until it is stopped
+            promise.reject(CheetahInvalidStateException.class.getSimpleName(),
+                    "Cheetah is listening. Call `stopListening()` first.");
+            return true;
+        }
+        return false;
+    }
+
+    private void sendEvent(String eventName, WritableMap eventMap) {
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, eventMap);
+    }
 }
@@ -0,0 +1,200 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.reactnative.cheetah;
+
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+
+import ai.picovoice.cheetah.Cheetah;
+import ai.picovoice.cheetah.CheetahException;
+import ai.picovoice.cheetah.CheetahIOException;
+import ai.picovoice.cheetah.CheetahRuntimeException;
+import ai.picovoice.cheetah.CheetahTranscript;
+
+/**
+ * Captures audio from the microphone and transcribes it on a background thread, so that audio never crosses the
+ * bridge. Transcripts are accumulated and handed to the {@link Listener} on the main thread at most once per UI
+ * frame. A JS thread that is busy delays events, but never the capture loop.
+ */
+final class CheetahRecorder {
+
+    interface Listener {
+        /**
+         * @param transcript Text transcribed since the previous call.
+         * @param isEndpoint Whether `transcript` ends at an endpoint. Text after the endpoint is delivered in a
+         *                   later call.
+         */
+        void onTranscript(String transcript, boolean isEndpoint);
+
+        void onError(CheetahException e);
+    }
+
+    private static final long EVENT_INTERVAL_MS = 16;
+
+    // lets the capture loop fall behind for a while, e.g. while the device is busy, without dropping audio
+    private static final int NUM_BUFFERED_FRAMES = 32;
+
+    private final Cheetah cheetah;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable emitRunnable = this::emit;
+
+    private final StringBuilder pendingTranscript = new StringBuilder();
+    private int pendingEndpointLength = -1;
+    private boolean isEmitScheduled;
+    private long lastEmitMs;
+
+    private AudioRecord audioRecord;
+    private Thread thread;
+    private volatile boolean isStopped;
+
+    CheetahRecorder(Cheetah cheetah, Listener listener) {
+        this.cheetah = cheetah;
+        this.listener = listener;
+    }
+
+    void start() throws CheetahException {
+        int sampleRate = cheetah.getSampleRate();
+        int minBufferSize = AudioRecord.getMinBufferSize(
+                sampleRate,
+                AudioFormat.CHANNEL_IN_MONO,
+                AudioFormat.ENCODING_PCM_16BIT);
+        int bufferSize = Math.max(minBufferSize, cheetah.getFrameLength() * 2 * NUM_BUFFERED_FRAMES);
+
+        try {
+            audioRecord = new AudioRecord(
+                    MediaRecorder.AudioSource.MIC,
+                    sampleRate,
+                    AudioFormat.CHANNEL_IN_MONO,
+                    AudioFormat.ENCODING_PCM_16BIT,
+                    bufferSize);
+        } catch (IllegalArgumentException | SecurityException e) {
+            throw new CheetahRuntimeException(e);
+        }
+        if (audioRecord.getState() != AudioRecord.STATE_INITIALIZED) {
+            audioRecord.release();
+            throw new CheetahRuntimeException(
+                    "Failed to initialize audio capture. Ensure the RECORD_AUDIO permission is granted.");
+        }
+
+        audioRecord.startRecording();
+        thread = new Thread(this::run, "CheetahRecorder");
+        thread.start();
+    }
+
+    /**
+     * Stops capturing, delivers any pending transcript and flushes the engine.
+     *
+     * @return Text transcribed from audio that was captured but not yet transcribed.
+     */
+    CheetahTranscript stop() throws CheetahException {
+        isStopped = true;
+        audioRecord.stop();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        audioRecord.release();
+
+        mainHandler.removeCallbacks(emitRunnable);
+        while (emitNext()) {
+            // delivers text on both sides of an endpoint
+        }
+        return cheetah.flush();
+    }
+
+    private void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+
+        short[] frame = new short[cheetah.getFrameLength()];
+        try {
+            while (!isStopped) {
+                int numSamplesRead = audioRecord.read(frame, 0, frame.length);
+                if (numSamplesRead < 0) {
+                    throw new CheetahIOException(
+                            String.format("Failed to read audio (error %d).", numSamplesRead));
+                }
+                if (numSamplesRead < frame.length) {
+                    // only happens when capture is stopped
+                    continue;
+                }
+
+                CheetahTranscript result = cheetah.process(frame);
+                if (result.getIsEndpoint()) {
+                    append(result.getTranscript() + cheetah.flush().getTranscript(), true);
+                } else if (!result.getTranscript().isEmpty()) {
+                    append(result.getTranscript(), false);
+                }
+            }
+        } catch (CheetahException e) {
+            mainHandler.post(() -> listener.onError(e));
+        }
+    }
+
+    private synchronized void append(String transcript, boolean isEndpoint) {
+        pendingTranscript.append(transcript);
+        if (isEndpoint) {
+            pendingEndpointLength = pendingTranscript.length();
+        }
+        scheduleEmit();
+    }
+
+    private synchronized void scheduleEmit() {
+        if (isEmitScheduled) {
+            return;
+        }
+        isEmitScheduled = true;
+        long delayMs = Math.max(0, lastEmitMs + EVENT_INTERVAL_MS - SystemClock.uptimeMillis());
+        mainHandler.postDelayed(emitRunnable, delayMs);
+    }
+
+    private void emit() {
+        synchronized (this) {
+            isEmitScheduled = false;
+        }
+        if (emitNext()) {
+            scheduleEmit();
+        }
+    }
+
+    /**
+     * Delivers pending text up to the next endpoint, or all of it if there is none.
+     *
+     * @return Whether text is still pending.
+     */
+    private boolean emitNext() {
+        String transcript;
+        boolean isEndpoint;
+        boolean hasMore;
+        synchronized (this) {
+            if (pendingTranscript.length() == 0 && pendingEndpointLength < 0) {
+                return false;
+            }
+            isEndpoint = pendingEndpointLength >= 0;
+            int length = isEndpoint ? pendingEndpointLength : pendingTranscript.length();
+            transcript = pendingTranscript.substring(0, length);
+            pendingTranscript.delete(0, length);
+            pendingEndpointLength = -1;
+            lastEmitMs = SystemClock.uptimeMillis();
+            hasMore = pendingTranscript.length() > 0;
+        }
+        listener.onTranscript(transcript, isEndpoint);
+        return hasMore;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.reactnative.cheetah;
+
+/**
+ * Decodes frames sent from JavaScript as base64 of little-endian 16-bit PCM. Samples are written straight into a
+ * caller-owned frame, without intermediate byte arrays.
+ */
+final class PcmBase64 {
+
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DECODE_TABLE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private PcmBase64() { }
+
+    /**
+     * Decodes a frame.
+     *
+     * @param base64 Base64 of little-endian 16-bit samples.
+     * @param frame  Destination samples.
+     * @return Number of decoded samples, or -1 if `base64` is malformed or does not hold exactly `frame.length`
+     *         samples.
+     */
+    static int decode(String base64, short[] frame) {
+        int length = base64.length();
+        while (length > 0 && base64.charAt(length - 1) == '=') {
+            length--;
+        }
+        if ((long) length * 6 / 8 != frame.length * 2L) {
+            return -1;
+        }
+
+        int accumulator = 0;
+        int numBits = 0;
+        int numBytes = 0;
+        int lowByte = 0;
+        for (int i = 0; i < length; i++) {
+            char c = base64.charAt(i);
+            int value = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            accumulator = (accumulator << 6) | value;
+            numBits += 6;
+            if (numBits >= 8) {
+                numBits -= 8;
+                int b = (accumulator >> numBits) & 0xFF;
+                accumulator &= (1 << numBits) - 1;
+                if ((numBytes & 1) == 0) {
+                    lowByte = b;
+                } else {
+                    frame[numBytes >> 1] = (short) ((b << 8) | lowByte);
+                }
+                numBytes++;
+            }
+        }
+        return numBytes / 2;
+    }
+}
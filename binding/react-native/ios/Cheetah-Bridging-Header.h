@@ -1 +1,2 @@
 #import <React/RCTBridgeModule.h>
+#import <React/RCTEventEmitter.h>
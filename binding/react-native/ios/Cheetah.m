@@ -10,8 +10,9 @@
 //
 
 #import <React/RCTBridgeModule.h>
+#import <React/RCTEventEmitter.h>
 
-@interface RCT_EXTERN_MODULE(PvCheetah, NSObject)
+@interface RCT_EXTERN_MODULE(PvCheetah, RCTEventEmitter)
 
 RCT_EXTERN_METHOD(getAvailableDevices: (RCTPromiseResolveBlock)resolve
                   rejecter: (RCTPromiseRejectBlock)reject)
@@ -28,7 +29,7 @@ RCT_EXTERN_METHOD(create: (NSString *)accessKey
 RCT_EXTERN_METHOD(delete: (NSString *)handle)
 
 RCT_EXTERN_METHOD(process: (NSString *)handle
-                  pcm: (NSArray<NSNumber>)pcm
+                  pcm: (NSString *)pcmBase64
                   resolver: (RCTPromiseResolveBlock)resolve
                   rejecter: (RCTPromiseRejectBlock)reject)
 
@@ -37,7 +38,7 @@ RCT_EXTERN_METHOD(flush: (NSString *)handle
                   rejecter: (RCTPromiseRejectBlock)reject)
 
 RCT_EXTERN_METHOD(processAnnotated: (NSString *)handle
-                  pcm: (NSArray<NSNumber>)pcm
+                  pcm: (NSString *)pcmBase64
                   resolver: (RCTPromiseResolveBlock)resolve
                   rejecter: (RCTPromiseRejectBlock)reject)
 
@@ -45,6 +46,14 @@ RCT_EXTERN_METHOD(flushAnnotated: (NSString *)handle
                   resolver: (RCTPromiseResolveBlock)resolve
                   rejecter: (RCTPromiseRejectBlock)reject)
 
+RCT_EXTERN_METHOD(startListening: (NSString *)handle
+                  resolver: (RCTPromiseResolveBlock)resolve
+                  rejecter: (RCTPromiseRejectBlock)reject)
+
+RCT_EXTERN_METHOD(stopListening: (NSString *)handle
+                  resolver: (RCTPromiseResolveBlock)resolve
+                  rejecter: (RCTPromiseRejectBlock)reject)
+
 + (BOOL)requiresMainQueueSetup
 {
     return YES;
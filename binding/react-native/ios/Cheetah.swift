@@ -12,14 +12,32 @@
 import Cheetah
 
 @objc(PvCheetah)
-class PvCheetah: NSObject {
+class PvCheetah: RCTEventEmitter {
+    private static let transcriptEvent = "PvCheetahTranscript"
+    private static let errorEvent = "PvCheetahError"
+
     private var cheetahPool: [String: Cheetah] = [:]
+    private var frameBuffers: [String: [Int16]] = [:]
+    private var recorders: [String: CheetahRecorder] = [:]
+    private var hasListeners = false
 
     override init() {
         super.init()
         Cheetah.setSdk(sdk: "react-native")
     }
 
+    override func supportedEvents() -> [String]! {
+        return [PvCheetah.transcriptEvent, PvCheetah.errorEvent]
+    }
+
+    override func startObserving() {
+        hasListeners = true
+    }
+
+    override func stopObserving() {
+        hasListeners = false
+    }
+
     @objc(getAvailableDevices:rejecter:)
     func fromBuiltInKeywords(
         resolver resolve: RCTPromiseResolveBlock,
@@ -60,6 +78,7 @@ class PvCheetah: NSObject {
 
             let handle: String = String(describing: cheetah)
             cheetahPool[handle] = cheetah
+            frameBuffers[handle] = [Int16](repeating: 0, count: Int(Cheetah.frameLength))
 
             var param: [String: Any] = [:]
             param["handle"] = handle
@@ -79,19 +98,32 @@ class PvCheetah: NSObject {
 
     @objc(delete:)
     func delete(handle: String) {
+        if let recorder = recorders.removeValue(forKey: handle) {
+            _ = try? recorder.stop()
+        }
         if let cheetah = cheetahPool.removeValue(forKey: handle) {
             cheetah.delete()
         }
+        frameBuffers.removeValue(forKey: handle)
     }
 
     @objc(process:pcm:resolver:rejecter:)
     func process(
             handle: String,
-            pcm: [Int16],
+            pcmBase64: String,
             resolver resolve: RCTPromiseResolveBlock,
             rejecter reject: RCTPromiseRejectBlock) {
         do {
             if let cheetah = cheetahPool[handle] {
+                if rejectIfListening(handle, rejecter: reject) {
+                    return
+                }
+                guard let pcm = decodeFrame(pcmBase64, handle: handle) else {
+                    let (code, message) = errorToCodeAndMessage(
+                        CheetahInvalidArgumentError("Frame must be base64 of \(Cheetah.frameLength) 16-bit samples"))
+                    reject(code, message, nil)
+                    return
+                }
                 let (transcript, isEndpoint) = try cheetah.process(pcm)
 
                 var param: [String: Any] = [
@@ -120,6 +152,9 @@ class PvCheetah: NSObject {
             rejecter reject: RCTPromiseRejectBlock) {
         do {
             if let cheetah = cheetahPool[handle] {
+                if rejectIfListening(handle, rejecter: reject) {
+                    return
+                }
                 let transcript = try cheetah.flush()
                 var result: [String: Any] = [
                     "transcript": transcript
@@ -142,11 +177,20 @@ class PvCheetah: NSObject {
     @objc(processAnnotated:pcm:resolver:rejecter:)
     func processAnnotated(
             handle: String,
-            pcm: [Int16],
+            pcmBase64: String,
             resolver resolve: RCTPromiseResolveBlock,
             rejecter reject: RCTPromiseRejectBlock) {
         do {
             if let cheetah = cheetahPool[handle] {
+                if rejectIfListening(handle, rejecter: reject) {
+                    return
+                }
+                guard let pcm = decodeFrame(pcmBase64, handle: handle) else {
+                    let (code, message) = errorToCodeAndMessage(
+                        CheetahInvalidArgumentError("Frame must be base64 of \(Cheetah.frameLength) 16-bit samples"))
+                    reject(code, message, nil)
+                    return
+                }
                 let transcript = try cheetah.processAnnotated(pcm)
 
                 var words: [[String: Any]] = []
@@ -185,6 +229,9 @@ class PvCheetah: NSObject {
             rejecter reject: RCTPromiseRejectBlock) {
         do {
             if let cheetah = cheetahPool[handle] {
+                if rejectIfListening(handle, rejecter: reject) {
+                    return
+                }
                 let transcript = try cheetah.flushAnnotated()
 
                 var words: [[String: Any]] = []
@@ -215,6 +262,108 @@ class PvCheetah: NSObject {
         }
     }
 
+    @objc(startListening:resolver:rejecter:)
+    func startListening(
+            handle: String,
+            resolver resolve: RCTPromiseResolveBlock,
+            rejecter reject: RCTPromiseRejectBlock) {
+        do {
+            if let cheetah = cheetahPool[handle] {
+                if rejectIfListening(handle, rejecter: reject) {
+                    return
+                }
+
+                let recorder = CheetahRecorder(
+                    cheetah: cheetah,
+                    onTranscript: { [weak self] transcript, isEndpoint in
+                        self?.sendEventIfObserved(PvCheetah.transcriptEvent, body: [
+                            "handle": handle,
+                            "transcript": transcript,
+                            "isEndpoint": isEndpoint
+                        ])
+                    },
+                    onError: { [weak self] error in
+                        guard let self = self else {
+                            return
+                        }
+                        let (code, message) = self.errorToCodeAndMessage(error)
+                        self.sendEventIfObserved(PvCheetah.errorEvent, body: [
+                            "handle": handle,
+                            "code": code,
+                            "message": message
+                        ])
+                    })
+                try recorder.start()
+                recorders[handle] = recorder
+                resolve(nil)
+            } else {
+                let (code, message) = errorToCodeAndMessage(
+                    CheetahRuntimeError("Invalid handle provided to Cheetah 'startListening'"))
+                reject(code, message, nil)
+            }
+        } catch let error as CheetahError {
+            let (code, message) = errorToCodeAndMessage(error)
+            reject(code, message, nil)
+        } catch {
+            let (code, message) = errorToCodeAndMessage(CheetahError(error.localizedDescription))
+            reject(code, message, nil)
+        }
+    }
+
+    @objc(stopListening:resolver:rejecter:)
+    func stopListening(
+            handle: String,
+            resolver resolve: RCTPromiseResolveBlock,
+            rejecter reject: RCTPromiseRejectBlock) {
+        do {
+            if let recorder = recorders.removeValue(forKey: handle) {
+                let transcript = try recorder.stop()
+                var result: [String: Any] = [
+                    "transcript": transcript
+                ]
+                resolve(result)
+            } else {
+                let (code, message) = errorToCodeAndMessage(
+                    CheetahInvalidStateError("Cheetah is not listening"))
+                reject(code, message, nil)
+            }
+        } catch let error as CheetahError {
+            let (code, message) = errorToCodeAndMessage(error)
+            reject(code, message, nil)
+        } catch {
+            let (code, message) = errorToCodeAndMessage(CheetahError(error.localizedDescription))
+            reject(code, message, nil)
+        }
+    }
+
+    /// The capture loop owns the instance until it is stopped.
+    private func rejectIfListening(_ handle: String, rejecter reject: RCTPromiseRejectBlock) -> Bool {
+        if recorders[handle] != nil {
+            let (code, message) = errorToCodeAndMessage(
+                CheetahInvalidStateError("Cheetah is listening. Call `stopListening()` first"))
+            reject(code, message, nil)
+            return true
+        }
+        return false
+    }
+
+    private func sendEventIfObserved(_ name: String, body: [String: Any]) {
+        if hasListeners {
+            sendEvent(withName: name, body: body)
+        }
+    }
+
+    /// Decodes base64 of little-endian 16-bit samples into the frame buffer of the instance.
+    private func decodeFrame(_ pcmBase64: String, handle: String) -> [Int16]? {
+        guard let data = Data(base64Encoded: pcmBase64),
+              let frameLength = frameBuffers[handle]?.count,
+              data.count == frameLength * MemoryLayout<Int16>.size else {
+            return nil
+        }
+        frameBuffers[handle]!.withUnsafeMutableBytes { _ = data.copyBytes(to: $0) }
+        return frameBuffers[handle]
+    }
+
     private func errorToCodeAndMessage(_ error: CheetahError) -> (String, String) {
         return (error.name.replacingOccurrences(of: "Error", with: "Exception"), error.localizedDescription)
     }
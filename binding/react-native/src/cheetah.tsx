@@ -9,22 +9,47 @@
 // specific language governing permissions and limitations under the License.
 //
 
-import { NativeModules } from 'react-native';
+import { EmitterSubscription, NativeEventEmitter, NativeModules } from 'react-native';
 import * as CheetahErrors from './cheetah_errors';
-import type { CheetahOptions, CheetahTranscript, CheetahTranscriptAnnotated } from './cheetah_types';
+import type {
+  CheetahErrorCallback,
+  CheetahOptions,
+  CheetahTranscript,
+  CheetahTranscriptAnnotated,
+  CheetahTranscriptCallback,
+} from './cheetah_types';
+import { PcmBase64Encoder } from './pcm_base64';
 
 const RCTCheetah = NativeModules.PvCheetah;
+const cheetahEmitter = new NativeEventEmitter(RCTCheetah);
+
+const TRANSCRIPT_EVENT = 'PvCheetahTranscript';
+const ERROR_EVENT = 'PvCheetahError';
 
 type NativeError = {
   code: string;
   message: string;
 };
 
+type NativeTranscriptEvent = {
+  handle: string;
+  transcript: string;
+  isEndpoint: boolean;
+};
+
+type NativeErrorEvent = {
+  handle: string;
+  code: string;
+  message: string;
+};
+
 class Cheetah {
   private readonly _handle: string;
   private readonly _frameLength: number;
   private readonly _sampleRate: number;
   private readonly _version: string;
+  private readonly _pcmEncoder: PcmBase64Encoder;
+  private _subscriptions: EmitterSubscription[] = [];
 
   /**
    * Static creator for initializing Cheetah given the model path.
@@ -89,6 +114,7 @@ class Cheetah {
     this._frameLength = frameLength;
     this._sampleRate = sampleRate;
     this._version = version;
+    this._pcmEncoder = new PcmBase64Encoder(frameLength);
   }
 
   /**
@@ -114,11 +140,12 @@ class Cheetah {
    * Process a frame of audio with the speech-to-text engine.
    * @param frame An array of 16-bit pcm samples. The number of samples per frame can be attained by calling
    *              `Cheetah.frameLength`. The incoming audio needs to have a sample rate equal to `Cheetah.sampleRate`
-   *              and be 16-bit linearly-encoded. Furthermore, Cheetah operates on single-channel audio.
+   *              and be 16-bit linearly-encoded. Furthermore, Cheetah operates on single-channel audio. Passing an
+   *              `Int16Array` skips the integer check. Frames are sent to the native module as binary data.
    * @returns {Promise<CheetahTranscript>} transcript of any newly-transcribed speech (if none is available then an
    *                                       empty string is returned) and a flag indicating if an endpoint has been detected.
    */
-  async process(frame: number[]): Promise<CheetahTranscript> {
+  async process(frame: number[] | Int16Array): Promise<CheetahTranscript> {
     if (frame === undefined || frame === null) {
       throw new CheetahErrors.CheetahInvalidArgumentError(
         `Frame array provided to process() is undefined or null`
@@ -130,14 +157,14 @@ class Cheetah {
     }
 
     // sample the first frame to check for non-integer values
-    if (!Number.isInteger(frame[0])) {
+    if (!(frame instanceof Int16Array) && !Number.isInteger(frame[0])) {
       throw new CheetahErrors.CheetahInvalidArgumentError(
         `Non-integer frame values provided to process(): ${frame[0]}. Cheetah requires 16-bit integers`
       );
     }
 
     try {
-      return await RCTCheetah.process(this._handle, frame);
+      return await RCTCheetah.process(this._handle, this._pcmEncoder.encode(frame));
     } catch (err) {
       const nativeError = err as NativeError;
       throw Cheetah.codeToError(nativeError.code, nativeError.message);
@@ -163,12 +190,13 @@ class Cheetah {
    * Process a frame of audio with the speech-to-text engine.
    * @param frame An array of 16-bit pcm samples. The number of samples per frame can be attained by calling
    *              `Cheetah.frameLength`. The incoming audio needs to have a sample rate equal to `Cheetah.sampleRate`
-   *              and be 16-bit linearly-encoded. Furthermore, Cheetah operates on single-channel audio.
+   *              and be 16-bit linearly-encoded. Furthermore, Cheetah operates on single-channel audio. Passing an
+   *              `Int16Array` skips the integer check. Frames are sent to the native module as binary data.
    * @returns {Promise<CheetahTranscriptAnnotated>} transcript of any newly-transcribed speech (if none is available
    *                                                then an empty string is returned), a flag indicating if an endpoint
    *                                                has been detected and word-level metadata.
    */
-  async processAnnotated(frame: number[]): Promise<CheetahTranscriptAnnotated> {
+  async processAnnotated(frame: number[] | Int16Array): Promise<CheetahTranscriptAnnotated> {
     if (frame === undefined || frame === null) {
       throw new CheetahErrors.CheetahInvalidArgumentError(
         `Frame array provided to process() is undefined or null`
@@ -180,14 +208,14 @@ class Cheetah {
     }
 
     // sample the first frame to check for non-integer values
-    if (!Number.isInteger(frame[0])) {
+    if (!(frame instanceof Int16Array) && !Number.isInteger(frame[0])) {
       throw new CheetahErrors.CheetahInvalidArgumentError(
         `Non-integer frame values provided to process(): ${frame[0]}. Cheetah requires 16-bit integers`
       );
     }
 
     try {
-      return await RCTCheetah.processAnnotated(this._handle, frame);
+      return await RCTCheetah.processAnnotated(this._handle, this._pcmEncoder.encode(frame));
     } catch (err) {
       const nativeError = err as NativeError;
       throw Cheetah.codeToError(nativeError.code, nativeError.message);
@@ -210,10 +238,78 @@ class Cheetah {
     }
   }
 
+  /**
+   * Starts capturing audio from the microphone and transcribing it in native code. Audio is never sent to JavaScript;
+   * only transcripts are, at most once per UI frame. Because the capture loop does not depend on the JS thread, audio is
+   * not dropped while it is busy. The app must have been granted microphone permission.
+   *
+   * While listening, `process()`, `processAnnotated()`, `flush()` and `flushAnnotated()` are rejected.
+   *
+   * @param transcriptCallback Called with the text transcribed since the previous call. `isEndpoint` is set if the text
+   *                           ends at an endpoint, in which case it includes the text flushed at the endpoint.
+   * @param errorCallback Called if capture or transcription fails. Listening stops, but `stopListening()` must still
+   *                      be called.
+   */
+  async startListening(
+    transcriptCallback: CheetahTranscriptCallback,
+    errorCallback?: CheetahErrorCallback
+  ): Promise<void> {
+    if (this._subscriptions.length > 0) {
+      throw new CheetahErrors.CheetahInvalidStateError(
+        'Cheetah is already listening'
+      );
+    }
+
+    this._subscriptions.push(
+      cheetahEmitter.addListener(
+        TRANSCRIPT_EVENT,
+        (event: NativeTranscriptEvent) => {
+          if (event.handle === this._handle) {
+            transcriptCallback({
+              transcript: event.transcript,
+              isEndpoint: event.isEndpoint,
+            });
+          }
+        }
+      ),
+      cheetahEmitter.addListener(ERROR_EVENT, (event: NativeErrorEvent) => {
+        if (event.handle === this._handle && errorCallback) {
+          errorCallback(Cheetah.codeToError(event.code, event.message));
+        }
+      })
+    );
+
+    try {
+      await RCTCheetah.startListening(this._handle);
+    } catch (err) {
+      this.removeSubscriptions();
+      const nativeError = err as NativeError;
+      throw Cheetah.codeToError(nativeError.code, nativeError.message);
+    }
+  }
+
+  /**
+   * Stops capturing audio, delivers any pending transcript to the callback passed to `startListening()` and flushes
+   * the engine.
+   *
+   * @returns {Promise<CheetahTranscript>} Text transcribed from audio that was captured but not yet transcribed.
+   */
+  async stopListening(): Promise<CheetahTranscript> {
+    try {
+      return await RCTCheetah.stopListening(this._handle);
+    } catch (err) {
+      const nativeError = err as NativeError;
+      throw Cheetah.codeToError(nativeError.code, nativeError.message);
+    } finally {
+      this.removeSubscriptions();
+    }
+  }
+
   /**
    * Frees memory that was allocated for Cheetah
    */
   async delete() {
+    this.removeSubscriptions();
     return RCTCheetah.delete(this._handle);
   }
 
@@ -241,6 +337,11 @@ class Cheetah {
     return this._version;
   }
 
+  private removeSubscriptions() {
+    this._subscriptions.forEach((subscription) => subscription.remove());
+    this._subscriptions = [];
+  }
+
   /**
    * Gets the Error type given a code.
    * @param code Code name of native Error.
@@ -7,6 +7,8 @@
   specific language governing permissions and limitations under the License.
 */
 
+import type { CheetahError } from './cheetah_errors';
+
 export type CheetahTranscript = {
   /** Any newly-transcribed speech. If none is available then an empty string is returned. */
   transcript: string;
@@ -34,6 +36,10 @@ export type CheetahTranscriptAnnotated = {
   words: CheetahWord[];
 };
 
+export type CheetahTranscriptCallback = (transcript: CheetahTranscript) => void;
+
+export type CheetahErrorCallback = (error: CheetahError) => void;
+
 export type CheetahOptions = {
   /** String representation of the device (e.g., CPU or GPU) to use for inference.
    * If set to `best`, the most suitable device is selected automatically. If set to `gpu`, the engine uses the
@@ -0,0 +1,75 @@
+//
+// Copyright 2026 Picovoice Inc.
+//
+// You may not use this file except in compliance with the license. A copy of the license is located in the "LICENSE"
+// file accompanying this source.
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+// an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations under the License.
+//
+
+const BASE64_ALPHABET =
+  'ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/';
+
+const BASE64_CODES = new Uint8Array(64);
+for (let i = 0; i < 64; i++) {
+  BASE64_CODES[i] = BASE64_ALPHABET.charCodeAt(i);
+}
+const PADDING_CODE = '='.charCodeAt(0);
+
+// `String.fromCharCode.apply` is limited by the maximum number of call arguments
+const MAX_CHARS_PER_CALL = 8192;
+
+/**
+ * Encodes 16-bit PCM frames as base64 of their little-endian bytes, the format the native modules decode into
+ * their frame buffers. The scratch buffers are sized for one frame and reused for every call.
+ */
+export class PcmBase64Encoder {
+  private readonly _bytes: Uint8Array;
+  private readonly _chars: Uint8Array;
+
+  constructor(frameLength: number) {
+    this._bytes = new Uint8Array(frameLength * 2);
+    this._chars = new Uint8Array(Math.ceil((frameLength * 2) / 3) * 4);
+  }
+
+  encode(frame: ArrayLike<number>): string {
+    const bytes = this._bytes;
+    const chars = this._chars;
+    const numBytes = frame.length * 2;
+    for (let i = 0; i < frame.length; i++) {
+      const sample = frame[i];
+      bytes[2 * i] = sample & 0xff;
+      bytes[2 * i + 1] = (sample >> 8) & 0xff;
+    }
+
+    let c = 0;
+    let b = 0;
+    for (; b + 2 < numBytes; b += 3) {
+      const triple = (bytes[b] << 16) | (bytes[b + 1] << 8) | bytes[b + 2];
+      chars[c++] = BASE64_CODES[triple >> 18];
+      chars[c++] = BASE64_CODES[(triple >> 12) & 0x3f];
+      chars[c++] = BASE64_CODES[(triple >> 6) & 0x3f];
+      chars[c++] = BASE64_CODES[triple & 0x3f];
+    }
+    if (b < numBytes) {
+      const hasSecond = b + 1 < numBytes;
+      const triple = (bytes[b] << 16) | (hasSecond ? bytes[b + 1] << 8 : 0);
+      chars[c++] = BASE64_CODES[triple >> 18];
+      chars[c++] = BASE64_CODES[(triple >> 12) & 0x3f];
+      chars[c++] = hasSecond ? BASE64_CODES[(triple >> 6) & 0x3f] : PADDING_CODE;
+      chars[c++] = PADDING_CODE;
+    }
+
+    let result = '';
+    for (let start = 0; start < c; start += MAX_CHARS_PER_CALL) {
+      const end = Math.min(start + MAX_CHARS_PER_CALL, c);
+      result += String.fromCharCode.apply(
+        null,
+        chars.subarray(start, end) as unknown as number[]
+      );
+    }
+    return result;
+  }
+}
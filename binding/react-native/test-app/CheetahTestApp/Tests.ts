@@ -260,6 +260,65 @@ async function runProcTestCase(
   return result;
 }
 
+async function runFrameLatencyTestCase(
+  modelFile: string,
+  audioFile: string,
+): Promise<Result> {
+  const result: Result = {testName: '', success: false};
+
+  try {
+    const modelPath = getPath(`model_files/${modelFile}`);
+    const audioPath = getPath(`audio_samples/${audioFile}`);
+
+    const cheetah = await Cheetah.create(TEST_ACCESS_KEY, modelPath, {
+      device: DEVICE,
+    });
+
+    const pcm = await getPcmFromFile(audioPath, cheetah.sampleRate);
+    const pcmInt16 = Int16Array.from(pcm);
+    const numFrames = Math.floor(pcm.length / cheetah.frameLength);
+
+    const transcripts: string[] = [];
+    const latenciesMs: number[] = [];
+    for (const useTypedArray of [false, true]) {
+      let transcript = '';
+      let totalMs = 0;
+      for (let i = 0; i < numFrames; i++) {
+        const start = i * cheetah.frameLength;
+        const end = start + cheetah.frameLength;
+        const frame = useTypedArray
+          ? pcmInt16.subarray(start, end)
+          : pcm.slice(start, end);
+
+        const before = performance.now();
+        const res = await cheetah.process(frame);
+        totalMs += performance.now() - before;
+        transcript += res.transcript;
+      }
+      transcript += (await cheetah.flush()).transcript;
+      transcripts.push(transcript);
+      latenciesMs.push(totalMs / numFrames);
+    }
+
+    await cheetah.delete();
+
+    console.info(
+      `Average frame latency: ${latenciesMs[0].toFixed(2)}ms with number[], ` +
+        `${latenciesMs[1].toFixed(2)}ms with Int16Array`,
+    );
+    if (transcripts[0] !== transcripts[1]) {
+      result.errorString = `Expected Int16Array transcript '${transcripts[1]}' to equal '${transcripts[0]}'`;
+      return result;
+    }
+
+    result.success = true;
+  } catch (e) {
+    result.errorString = `Failed to process cheetah with: ${e}`;
+  }
+
+  return result;
+}
+
 async function initTests(): Promise<Result[]> {
   const results: Result[] = [];
 
@@ -326,9 +385,26 @@ async function processTests(annotated: boolean): Promise<Result[]> {
   return results;
 }
 
+async function frameLatencyTests(): Promise<Result[]> {
+  const testParam = testData.tests.language_tests[0];
+  const result = await runFrameLatencyTestCase(
+    testParam.models[0],
+    testParam.audio_file,
+  );
+  result.testName = 'Frame latency test';
+  logResult(result);
+  return [result];
+}
+
 export async function runCheetahTests(): Promise<Result[]> {
   const initResults = await initTests();
   const processResults = await processTests(false);
   const processAnnotatedResults = await processTests(true);
-  return [...initResults, ...processResults, ...processAnnotatedResults];
+  const frameLatencyResults = await frameLatencyTests();
+  return [
+    ...initResults,
+    ...processResults,
+    ...processAnnotatedResults,
+    ...frameLatencyResults,
+  ];
 }
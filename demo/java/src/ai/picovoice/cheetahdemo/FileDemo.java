@@ -21,12 +21,19 @@ import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class FileDemo {
 
+    private static final int MAX_QUEUED_FRAMES = 64;
+
     public static void runDemo(
             String accessKey,
             String modelPath,
@@ -61,18 +68,20 @@ public class FileDemo {
 
             AudioFormat audioFormat = audioInputStream.getFormat();
 
-            if (audioFormat.getSampleRate() != 16000.0f || audioFormat.getSampleSizeInBits() != 16) {
-                throw new IllegalArgumentException(String.format("Invalid input audio file format. " +
-                        "Input file must be a %dkHz, 16-bit audio file.", cheetah.getSampleRate()));
-            }
-
             if (audioFormat.getChannels() > 1) {
                 System.out.println("Picovoice processes single-channel audio, but a multi-channel file was provided. " +
                         "Processing leftmost channel only.");
             }
 
-            int frameIndex = 0;
-            short[] cheetahFrame = new short[cheetah.getFrameLength()];
+            CheetahAudioConverter converter = new CheetahAudioConverter.Builder()
+                    .setInputSampleRate((int) audioFormat.getSampleRate())
+                    .setInputChannelCount(audioFormat.getChannels())
+                    .setChannel(0)
+                    .setInputSampleFormat(getSampleFormat(audioFormat))
+                    .setInputBigEndian(audioFormat.isBigEndian())
+                    .setOutputSampleRate(cheetah.getSampleRate())
+                    .setFrameLength(cheetah.getFrameLength())
+                    .build();
 
             if (verbose) {
                 System.out.printf("%-15s %10s %10s %12s\n", "word", "start_sec", "end_sec", "confidence");
@@ -84,53 +93,275 @@ public class FileDemo {
                         "------------");
             }
 
-            ByteBuffer sampleBuffer = ByteBuffer.allocate(audioFormat.getFrameSize());
-            sampleBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            while (audioInputStream.available() != 0) {
-                int numBytesRead = audioInputStream.read(sampleBuffer.array());
-                if (numBytesRead < 2) {
-                    break;
-                }
+            final Cheetah engine = cheetah;
+            CheetahAudioConverter.FrameListener listener =
+                    frame -> printTranscript(engine.processAnnotated(frame), verbose, false);
+
+            byte[] buffer = new byte[audioFormat.getFrameSize() * cheetah.getFrameLength()];
+            int numBytesRead;
+            while ((numBytesRead = audioInputStream.read(buffer)) != -1) {
+                converter.process(buffer, 0, numBytesRead, listener);
+            }
+            converter.flush(listener);
+
+            printTranscript(cheetah.flushAnnotated(), verbose, true);
+        } catch (Exception e) {
+            System.out.println(e.toString());
+        } finally {
+            if (cheetah != null) {
+                cheetah.delete();
+            }
+        }
+    }
+
+    public static void runMultiChannelDemo(
+            String accessKey,
+            String modelPath,
+            String device,
+            String libraryPath,
+            boolean enableAutomaticPunctuation,
+            boolean enableTextNormalization,
+            File inputAudioFile,
+            boolean verbose) {
 
-                cheetahFrame[frameIndex++] = sampleBuffer.getShort(0);
-
-                if (frameIndex == cheetahFrame.length) {
-                    CheetahTranscriptAnnotated transcriptObj = cheetah.processAnnotated(cheetahFrame);
-                    if (verbose) {
-                        for (CheetahTranscript.Word word : transcriptObj.getWordArray()) {
-                            System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
-                                    word.getWord(),
-                                    word.getStartSec(),
-                                    word.getEndSec(),
-                                    word.getConfidence());
-                        }
-                    } else {
-                        System.out.print(transcriptObj.getTranscript());
-                        System.out.flush();
+        AudioInputStream audioInputStream;
+        try {
+            audioInputStream = AudioSystem.getAudioInputStream(inputAudioFile);
+        } catch (UnsupportedAudioFileException e) {
+            System.err.println("Audio format not supported. Please provide an input file of .au, .aiff or .wav format");
+            return;
+        } catch (IOException e) {
+            System.err.println("Could not find input audio file at " + inputAudioFile);
+            return;
+        }
+
+        AudioFormat audioFormat = audioInputStream.getFormat();
+        int channelCount = audioFormat.getChannels();
+        Cheetah[] cheetahs = new Cheetah[channelCount];
+        CheetahRingBuffer[] ringBuffers = new CheetahRingBuffer[channelCount];
+        ExecutorService executor = Executors.newFixedThreadPool(channelCount);
+        try {
+            List<Future<List<CheetahTranscript.Word>>> workers = new ArrayList<>();
+            CheetahAudioConverter[] converters = new CheetahAudioConverter[channelCount];
+            CheetahAudioConverter.FrameListener[] listeners = new CheetahAudioConverter.FrameListener[channelCount];
+            for (int c = 0; c < channelCount; c++) {
+                cheetahs[c] = new Cheetah.Builder()
+                        .setAccessKey(accessKey)
+                        .setLibraryPath(libraryPath)
+                        .setModelPath(modelPath)
+                        .setDevice(device)
+                        .setEnableAutomaticPunctuation(enableAutomaticPunctuation)
+                        .setEnableTextNormalization(enableTextNormalization)
+                        .build();
+
+                // every converter receives its channel's samples only, de-interleaved below
+                converters[c] = new CheetahAudioConverter.Builder()
+                        .setInputSampleRate((int) audioFormat.getSampleRate())
+                        .setInputSampleFormat(getSampleFormat(audioFormat))
+                        .setInputBigEndian(audioFormat.isBigEndian())
+                        .setOutputSampleRate(cheetahs[c].getSampleRate())
+                        .setFrameLength(cheetahs[c].getFrameLength())
+                        .build();
+
+                ringBuffers[c] = new CheetahRingBuffer.Builder()
+                        .setCapacity(MAX_QUEUED_FRAMES * cheetahs[c].getFrameLength())
+                        .build();
+
+                final Cheetah engine = cheetahs[c];
+                final CheetahRingBuffer ringBuffer = ringBuffers[c];
+                final Future<List<CheetahTranscript.Word>> worker =
+                        executor.submit(() -> transcribeChannel(engine, ringBuffer));
+                workers.add(worker);
+                // frames are copied into the ring buffer, so the converter can reuse its frame array
+                listeners[c] = frame -> write(ringBuffer, worker, frame);
+            }
+
+            // the file is read once, and each buffer is split into one block of samples per channel
+            int bytesPerSample = audioFormat.getFrameSize() / channelCount;
+            byte[] buffer = new byte[audioFormat.getFrameSize() * cheetahs[0].getFrameLength()];
+            byte[][] channelBuffers = new byte[channelCount][bytesPerSample * cheetahs[0].getFrameLength()];
+            int numBytesRead;
+            while ((numBytesRead = audioInputStream.read(buffer)) != -1) {
+                int numFrames = numBytesRead / audioFormat.getFrameSize();
+                for (int i = 0; i < numFrames; i++) {
+                    int frameOffset = i * audioFormat.getFrameSize();
+                    for (int c = 0; c < channelCount; c++) {
+                        System.arraycopy(
+                                buffer,
+                                frameOffset + c * bytesPerSample,
+                                channelBuffers[c],
+                                i * bytesPerSample,
+                                bytesPerSample);
                     }
+                }
+                for (int c = 0; c < channelCount; c++) {
+                    converters[c].process(channelBuffers[c], 0, numFrames * bytesPerSample, listeners[c]);
+                }
+            }
+            for (int c = 0; c < channelCount; c++) {
+                converters[c].flush(listeners[c]);
+                ringBuffers[c].close();
+            }
+
+            List<List<CheetahTranscript.Word>> channelWords = new ArrayList<>();
+            for (Future<List<CheetahTranscript.Word>> worker : workers) {
+                channelWords.add(worker.get());
+            }
+            printSpeakerTimeline(channelWords, verbose);
+        } catch (ExecutionException e) {
+            System.out.println(e.getCause().toString());
+        } catch (Exception e) {
+            System.out.println(e.toString());
+        } finally {
+            for (CheetahRingBuffer ringBuffer : ringBuffers) {
+                if (ringBuffer != null) {
+                    ringBuffer.close();
+                }
+            }
+            executor.shutdownNow();
+            for (Cheetah cheetah : cheetahs) {
+                if (cheetah != null) {
+                    cheetah.delete();
+                }
+            }
+        }
+    }
 
-                    frameIndex = 0;
+    private static List<CheetahTranscript.Word> transcribeChannel(
+            Cheetah cheetah,
+            CheetahRingBuffer ringBuffer) throws CheetahException, InterruptedException {
+        try {
+            List<CheetahTranscript.Word> words = new ArrayList<>();
+            short[] frame = new short[cheetah.getFrameLength()];
+            while (ringBuffer.take(frame)) {
+                Collections.addAll(words, cheetah.processAnnotated(frame).getWordArray());
+            }
+            Collections.addAll(words, cheetah.flushAnnotated().getWordArray());
+            return words;
+        } finally {
+            // unblocks the reader if this worker fails
+            ringBuffer.close();
+        }
+    }
+
+    private static void write(
+            CheetahRingBuffer ringBuffer,
+            Future<List<CheetahTranscript.Word>> worker,
+            short[] frame) {
+        try {
+            if (!ringBuffer.put(frame, 0, frame.length)) {
+                // the worker closed the buffer because it failed; surfaces its failure
+                worker.get();
+                throw new IllegalStateException("Channel worker stopped before the end of the stream.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void printSpeakerTimeline(List<List<CheetahTranscript.Word>> channelWords, boolean verbose) {
+        if (verbose) {
+            System.out.printf("%-8s %-15s %10s %10s %12s\n", "speaker", "word", "start_sec", "end_sec", "confidence");
+            System.out.printf(
+                    "%-8s %-15s %10s %10s %12s\n",
+                    "--------",
+                    "---------------",
+                    "----------",
+                    "----------",
+                    "------------");
+        }
+
+        // every channel is transcribed from the start of the file, so word timestamps share a timeline
+        int[] indices = new int[channelWords.size()];
+        int currentSpeaker = -1;
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int speaker = -1;
+            for (int c = 0; c < channelWords.size(); c++) {
+                if (indices[c] < channelWords.get(c).size() && (speaker == -1 ||
+                        channelWords.get(c).get(indices[c]).getStartSec() <
+                                channelWords.get(speaker).get(indices[speaker]).getStartSec())) {
+                    speaker = c;
                 }
             }
+            if (speaker == -1) {
+                break;
+            }
 
-            CheetahTranscriptAnnotated endpointTranscriptObj = cheetah.flushAnnotated();
+            CheetahTranscript.Word word = channelWords.get(speaker).get(indices[speaker]++);
             if (verbose) {
-                for (CheetahTranscript.Word word : endpointTranscriptObj.getWordArray()) {
-                    System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
-                            word.getWord(),
-                            word.getStartSec(),
-                            word.getEndSec(),
-                            word.getConfidence());
+                System.out.printf("%-8d %-15s %10.2f %10.2f %12.2f\n",
+                        speaker + 1,
+                        word.getWord(),
+                        word.getStartSec(),
+                        word.getEndSec(),
+                        word.getConfidence());
+            } else if (speaker != currentSpeaker) {
+                if (line.length() > 0) {
+                    System.out.println(line);
                 }
+                line.setLength(0);
+                line.append(String.format("[Speaker %d, %.2fs] %s", speaker + 1, word.getStartSec(), word.getWord()));
             } else {
-                System.out.println(endpointTranscriptObj.getTranscript());
+                line.append(' ').append(word.getWord());
             }
-        } catch (Exception e) {
-            System.out.println(e.toString());
-        } finally {
-            if (cheetah != null) {
-                cheetah.delete();
+            currentSpeaker = speaker;
+        }
+        if (line.length() > 0) {
+            System.out.println(line);
+        }
+    }
+
+    static CheetahAudioConverter.SampleFormat getSampleFormat(AudioFormat audioFormat) {
+        AudioFormat.Encoding encoding = audioFormat.getEncoding();
+        int sampleSizeInBits = audioFormat.getSampleSizeInBits();
+        if (encoding.equals(AudioFormat.Encoding.ULAW)) {
+            return CheetahAudioConverter.SampleFormat.MULAW;
+        }
+        if (encoding.equals(AudioFormat.Encoding.ALAW)) {
+            return CheetahAudioConverter.SampleFormat.ALAW;
+        }
+        if (encoding.equals(AudioFormat.Encoding.PCM_FLOAT) && sampleSizeInBits == 32) {
+            return CheetahAudioConverter.SampleFormat.FLOAT_32;
+        }
+        if (encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED) && sampleSizeInBits == 8) {
+            return CheetahAudioConverter.SampleFormat.UNSIGNED_8;
+        }
+        if (encoding.equals(AudioFormat.Encoding.PCM_SIGNED)) {
+            switch (sampleSizeInBits) {
+                case 8:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_8;
+                case 16:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_16;
+                case 24:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_24;
+                case 32:
+                    return CheetahAudioConverter.SampleFormat.SIGNED_32;
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "Unsupported audio encoding: %s, %d-bit.", encoding, sampleSizeInBits));
+    }
+
+    private static void printTranscript(CheetahTranscriptAnnotated transcriptObj, boolean verbose, boolean isFinal) {
+        if (verbose) {
+            for (CheetahTranscript.Word word : transcriptObj.getWordArray()) {
+                System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
+                        word.getWord(),
+                        word.getStartSec(),
+                        word.getEndSec(),
+                        word.getConfidence());
             }
+        } else if (isFinal) {
+            System.out.println(transcriptObj.getTranscript());
+        } else {
+            System.out.print(transcriptObj.getTranscript());
+            System.out.flush();
         }
     }
 
@@ -161,6 +392,7 @@ public class FileDemo {
         boolean enableAutomaticPunctuation = !cmd.hasOption("disable_automatic_punctuation");
         boolean enableTextNormalization = !cmd.hasOption("disable_text_normalization");
         boolean verbose = cmd.hasOption("verbose");
+        boolean multiChannel = cmd.hasOption("multi_channel");
         String inputAudioPath = cmd.getOptionValue("input_audio_path");
 
         if (cmd.hasOption("show_inference_devices")) {
@@ -200,6 +432,19 @@ public class FileDemo {
             device = "best";
         }
 
+        if (multiChannel) {
+            runMultiChannelDemo(
+                    accessKey,
+                    modelPath,
+                    device,
+                    libraryPath,
+                    enableAutomaticPunctuation,
+                    enableTextNormalization,
+                    inputAudioFile,
+                    verbose);
+            return;
+        }
+
         runDemo(
                 accessKey,
                 modelPath,
@@ -260,6 +505,12 @@ public class FileDemo {
                 .desc("")
                 .build());
 
+        options.addOption(Option.builder("mc")
+                .longOpt("multi_channel")
+                .desc("Transcribe every channel with its own Cheetah instance in parallel and print a single " +
+                        "transcript attributed by speaker (channel).")
+                .build());
+
         options.addOption(new Option("sy",
                 "show_inference_devices",
                 false,
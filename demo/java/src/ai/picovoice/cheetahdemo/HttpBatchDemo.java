@@ -0,0 +1,300 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import ai.picovoice.cheetah.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.*;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP endpoint for transcribing audio files. Clients POST a WAV file, optionally with chunked transfer encoding,
+ * to `/transcribe` and receive newline-delimited JSON in the response body.
+ *
+ * <p>The upload is never buffered as a whole: the WAV header is parsed as soon as it arrives, and audio is fed to
+ * a pooled Cheetah instance as bytes are read from the request body. Transcripts are written to the response and
+ * flushed as they are produced, while the upload is still in progress, so the time to first word does not depend
+ * on the size of the file.
+ */
+public class HttpBatchDemo {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final CheetahPool pool;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newCachedThreadPool();
+
+    HttpBatchDemo(CheetahPool pool, int port) throws IOException {
+        this.pool = pool;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext("/transcribe", this::handle);
+        // handlers block on the upload, so requests beyond the pool size must not queue behind them
+        this.server.setExecutor(handlers);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(1);
+        handlers.shutdownNow();
+        pool.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendStatus(exchange, 405, "Only POST is supported.");
+                return;
+            }
+
+            Cheetah cheetah;
+            try {
+                cheetah = pool.tryAcquire(0, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (CheetahException e) {
+                sendStatus(exchange, 503, e.getMessage());
+                return;
+            }
+            if (cheetah == null) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendStatus(exchange, 503, "All sessions are in use.");
+                return;
+            }
+
+            try {
+                transcribe(exchange, cheetah);
+            } finally {
+                try {
+                    pool.release(cheetah);
+                } catch (CheetahException e) {
+                    System.err.println("Failed to reset Cheetah instance: " + e.getMessage());
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void transcribe(HttpExchange exchange, Cheetah cheetah) throws IOException {
+        AudioInputStream audioInputStream;
+        CheetahAudioConverter converter;
+        try {
+            // reads only as far as the start of the audio data
+            audioInputStream = AudioSystem.getAudioInputStream(
+                    new BufferedInputStream(exchange.getRequestBody(), READ_BUFFER_SIZE));
+            AudioFormat audioFormat = audioInputStream.getFormat();
+            converter = new CheetahAudioConverter.Builder()
+                    .setInputSampleRate((int) audioFormat.getSampleRate())
+                    .setInputChannelCount(audioFormat.getChannels())
+                    .setInputSampleFormat(FileDemo.getSampleFormat(audioFormat))
+                    .setInputBigEndian(audioFormat.isBigEndian())
+                    .setOutputSampleRate(cheetah.getSampleRate())
+                    .setFrameLength(cheetah.getFrameLength())
+                    .build();
+        } catch (UnsupportedAudioFileException e) {
+            sendStatus(exchange, 415, "Request body is not a supported audio file.");
+            return;
+        } catch (IllegalArgumentException | CheetahException e) {
+            sendStatus(exchange, 415, e.getMessage());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream response = exchange.getResponseBody();
+        CheetahJsonWriter json = new CheetahJsonWriter();
+
+        CheetahAudioConverter.FrameListener listener = frame -> {
+            CheetahTranscriptAnnotated result = cheetah.processAnnotated(frame);
+            if (!result.getTranscript().isEmpty()) {
+                writeTranscript(response, json, "partial", result);
+            }
+            if (result.getIsEndpoint()) {
+                writeTranscript(response, json, "endpoint", cheetah.flushAnnotated());
+            }
+        };
+
+        try {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int numBytesRead;
+            while ((numBytesRead = audioInputStream.read(buffer)) != -1) {
+                converter.process(buffer, 0, numBytesRead, listener);
+            }
+            converter.flush(listener);
+            writeTranscript(response, json, "final", cheetah.flushAnnotated());
+        } catch (CheetahException e) {
+            json.reset();
+            TranscriptJson.writeError(json, e);
+            try {
+                writeLine(response, json);
+            } catch (IOException ignored) {
+                // the client is gone
+            }
+        }
+    }
+
+    private static void writeTranscript(
+            OutputStream response,
+            CheetahJsonWriter json,
+            String type,
+            CheetahTranscriptAnnotated result) throws CheetahException {
+        json.reset();
+        TranscriptJson.writeTranscript(json, type, result);
+        try {
+            writeLine(response, json);
+        } catch (IOException e) {
+            // stops transcribing; the handler closes the exchange
+            throw new CheetahIOException(e);
+        }
+    }
+
+    private static void writeLine(OutputStream response, CheetahJsonWriter json) throws IOException {
+        json.newLine();
+        json.writeTo(response);
+        // each flush sends an HTTP chunk, so the client sees the line right away
+        response.flush();
+    }
+
+    private static void sendStatus(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    public static void main(String[] args) {
+        Options options = buildCommandLineOptions();
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        CommandLine cmd;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("cheetahhttpbatchdemo", options);
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.hasOption("help")) {
+            formatter.printHelp("cheetahhttpbatchdemo", options);
+            return;
+        }
+
+        String accessKey = cmd.getOptionValue("access_key");
+        String libraryPath = cmd.getOptionValue("library_path", Cheetah.LIBRARY_PATH);
+        String modelPath = cmd.getOptionValue("model_path", Cheetah.MODEL_PATH);
+        String device = cmd.getOptionValue("device", "best");
+        boolean enableAutomaticPunctuation = !cmd.hasOption("disable_automatic_punctuation");
+        int port = Integer.parseInt(cmd.getOptionValue("port", "8767"));
+        int maxSessions = Integer.parseInt(cmd.getOptionValue(
+                "max_sessions",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        if (accessKey == null || accessKey.length() == 0) {
+            throw new IllegalArgumentException("AccessKey is required for Cheetah.");
+        }
+
+        try {
+            System.out.printf("Initializing %d Cheetah instances...\n", maxSessions);
+            CheetahPool pool = new CheetahPool.Builder()
+                    .setCheetahBuilder(new Cheetah.Builder()
+                            .setAccessKey(accessKey)
+                            .setLibraryPath(libraryPath)
+                            .setModelPath(modelPath)
+                            .setDevice(device)
+                            .setEnableAutomaticPunctuation(enableAutomaticPunctuation))
+                    .setSize(maxSessions)
+                    .build();
+
+            HttpBatchDemo demo = new HttpBatchDemo(pool, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(demo::stop));
+            demo.start();
+            System.out.printf("Listening on http://localhost:%d/transcribe\n", port);
+            System.out.println("Press Ctrl+C to stop");
+        } catch (CheetahException | IOException e) {
+            System.out.println(e.toString());
+            System.exit(1);
+        }
+    }
+
+    private static Options buildCommandLineOptions() {
+        Options options = new Options();
+
+        options.addOption(Option.builder("a")
+                .longOpt("access_key")
+                .hasArg(true)
+                .desc("AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).")
+                .build());
+
+        options.addOption(Option.builder("m")
+                .longOpt("model_path")
+                .hasArg(true)
+                .desc("Absolute path to the file containing model parameters.")
+                .build());
+
+        options.addOption(Option.builder("y")
+                .longOpt("device")
+                .hasArg(true)
+                .desc("Device to run inference on (`best`, `cpu:{num_threads}` or `gpu:{gpu_index}`). " +
+                        "Default: automatically selects best device.")
+                .build());
+
+        options.addOption(Option.builder("l")
+                .longOpt("library_path")
+                .hasArg(true)
+                .desc("Absolute path to the Cheetah native runtime library.")
+                .build());
+
+        options.addOption(Option.builder("d")
+                .longOpt("disable_automatic_punctuation")
+                .desc("")
+                .build());
+
+        options.addOption(Option.builder("p")
+                .longOpt("port")
+                .hasArg(true)
+                .desc("Port to listen on. Default: 8767.")
+                .build());
+
+        options.addOption(Option.builder("s")
+                .longOpt("max_sessions")
+                .hasArg(true)
+                .desc("Number of pre-warmed Cheetah instances, which is also the maximum number of concurrent " +
+                        "uploads. Default: number of available processors.")
+                .build());
+
+        options.addOption(new Option("h", "help", false, ""));
+
+        return options;
+    }
+}
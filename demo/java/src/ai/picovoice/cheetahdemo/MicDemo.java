@@ -15,16 +15,14 @@ package ai.picovoice.cheetahdemo;
 import ai.picovoice.cheetah.*;
 import org.apache.commons.cli.*;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.sound.sampled.*;
 
 public class MicDemo {
+
+    // frames that can wait for inference before capture starts dropping audio
+    private static final int NUM_QUEUED_FRAMES = 64;
+
     public static void runDemo(
             String accessKey,
             String modelPath,
@@ -34,13 +32,12 @@ public class MicDemo {
             boolean enableAutomaticPunctuation,
             boolean enableTextNormalization,
             int audioDeviceIndex,
+            int lineBufferMs,
             String outputPath,
             boolean verbose) {
 
         // for file output
-        File outputFile = null;
-        ByteArrayOutputStream outputStream = null;
-        long totalBytesCaptured = 0;
+        CheetahWavWriter wavWriter = null;
         AudioFormat format = new AudioFormat(16000f, 16, 1, true, false);
 
         // get audio capture device
@@ -48,7 +45,12 @@ public class MicDemo {
         TargetDataLine micDataLine;
         try {
             micDataLine = getAudioDevice(audioDeviceIndex, dataLineInfo);
-            micDataLine.open(format);
+            if (lineBufferMs > 0) {
+                int lineBufferSize = (int) (format.getFrameRate() * lineBufferMs / 1000) * format.getFrameSize();
+                micDataLine.open(format, lineBufferSize);
+            } else {
+                micDataLine.open(format);
+            }
         } catch (LineUnavailableException e) {
             System.err.println("Failed to get a valid capture device. Use --show_audio_devices to " +
                     "show available capture devices and their indices");
@@ -57,6 +59,8 @@ public class MicDemo {
         }
 
         Cheetah cheetah = null;
+        AudioCapture capture = null;
+        Thread captureThread = null;
         try {
             cheetah = new Cheetah.Builder()
                     .setAccessKey(accessKey)
@@ -69,20 +73,41 @@ public class MicDemo {
                     .build();
 
             if (outputPath != null) {
-                outputFile = new File(outputPath);
-                outputStream = new ByteArrayOutputStream();
+                wavWriter = new CheetahWavWriter.Builder()
+                        .setOutputPath(outputPath)
+                        .setSampleRate(cheetah.getSampleRate())
+                        .build();
             }
 
-            micDataLine.start();
-
-            System.out.println("Cheetah version : " + cheetah.getVersion());
-            System.out.println("Now listening...");
-
             // buffers for processing audio
             int frameLength = cheetah.getFrameLength();
-            ByteBuffer captureBuffer = ByteBuffer.allocate(frameLength * 2);
-            captureBuffer.order(ByteOrder.LITTLE_ENDIAN);
             short[] cheetahBuffer = new short[frameLength];
+            CheetahRingBuffer ring = new CheetahRingBuffer.Builder()
+                    .setCapacity(frameLength * NUM_QUEUED_FRAMES)
+                    .build();
+            CheetahLatencyHistogram frameLag = new CheetahLatencyHistogram();
+            // words are only traced when they are printed anyway
+            CheetahLatencyTracer tracer = new CheetahLatencyTracer.Builder()
+                    .setFrameLength(frameLength)
+                    .setSampleRate(cheetah.getSampleRate())
+                    .setTraceWords(verbose)
+                    .build();
+
+            // only asks for words when printing them
+            CheetahStream.Builder streamBuilder = tracer.attach(new CheetahStream.Builder().setCheetah(cheetah));
+            if (verbose) {
+                streamBuilder.addPartialWordListener(MicDemo::printWords);
+            } else {
+                streamBuilder
+                        .addPartialTranscriptListener(System.out::print)
+                        .addEndpointListener(endSample -> System.out.println());
+            }
+            CheetahStream stream = streamBuilder.build();
+
+            System.out.println("Cheetah version : " + cheetah.getVersion());
+            System.out.printf("Audio line buffer : %dms\n",
+                    (int) (micDataLine.getBufferSize() / format.getFrameSize() * 1000 / format.getFrameRate()));
+            System.out.println("Now listening...");
 
             if (verbose) {
                 System.out.printf("%-15s %10s %10s %12s\n", "word", "start_sec", "end_sec", "confidence");
@@ -94,74 +119,91 @@ public class MicDemo {
                         "------------");
             }
 
-            int numBytesRead;
-            while (System.in.available() == 0) {
-
-                // read a buffer of audio
-                numBytesRead = micDataLine.read(captureBuffer.array(), 0, captureBuffer.capacity());
-                totalBytesCaptured += numBytesRead;
-
-                // write to output if we're recording
-                if (outputStream != null) {
-                    outputStream.write(captureBuffer.array(), 0, numBytesRead);
-                }
-
-                // don't pass to cheetah if we don't have a full buffer
-                if (numBytesRead != frameLength * 2) {
-                    continue;
+            // capture runs on its own thread, so a slow frame delays the transcript but never the line
+            capture = new AudioCapture(micDataLine, ring, wavWriter, cheetah.getSampleRate());
+            captureThread = new Thread(capture, "MicDemoCapture");
+            micDataLine.start();
+            long captureStartNanos = System.nanoTime();
+            captureThread.start();
+
+            long numProcessedSamples = 0;
+            boolean isStopping = false;
+            while (true) {
+                if (!isStopping && System.in.available() > 0) {
+                    // transcribes the audio captured so far, then stops
+                    isStopping = true;
+                    capture.stop();
+                    captureThread.join();
+                    ring.close();
                 }
-
-                // copy into 16-bit buffer
-                captureBuffer.asShortBuffer().get(cheetahBuffer);
-
-                // process with cheetah
-                CheetahTranscript transcriptObj = cheetah.process(cheetahBuffer);
-                if (verbose) {
-                    for (CheetahTranscript.Word word : transcriptObj.getWordArray()) {
-                        System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
-                                word.getWord(),
-                                word.getStartSec(),
-                                word.getEndSec(),
-                                word.getConfidence());
+                if (!ring.take(cheetahBuffer, 100, TimeUnit.MILLISECONDS)) {
+                    if (ring.isClosed()) {
+                        break;
                     }
-                } else {
-                    System.out.print(transcriptObj.getTranscript());
-                    System.out.flush();
+                    continue;
                 }
 
-                if (transcriptObj.getIsEndpoint()) {
-                    CheetahTranscript endpointTranscriptObj = cheetah.flush();
-                    if (verbose) {
-                        for (CheetahTranscript.Word word : endpointTranscriptObj.getWordArray()) {
-                            System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
-                                    word.getWord(),
-                                    word.getStartSec(),
-                                    word.getEndSec(),
-                                    word.getConfidence());
-                        }
-                    } else {
-                        System.out.println(endpointTranscriptObj.getTranscript());
-                    }
-                }
+                // when the last sample of the frame was captured, estimated from the capture start
+                numProcessedSamples += frameLength;
+                long numCapturedSamples = numProcessedSamples
+                        + ring.getNumDroppedSamples()
+                        + capture.getNumLineDroppedSamples();
+                long frameCaptureNanos = captureStartNanos
+                        + numCapturedSamples * 1_000_000_000L / cheetah.getSampleRate();
+                tracer.tagFrame(frameCaptureNanos);
+
+                // process with cheetah; transcripts are printed by the stream's listeners
+                stream.process(cheetahBuffer);
+                frameLag.record(System.nanoTime() - frameCaptureNanos);
                 System.out.flush();
             }
+            stream.finish();
+            if (!verbose) {
+                System.out.println();
+            }
             System.out.println("Stopping...");
+
+            if (capture.getError() != null) {
+                System.err.println("Audio capture failed: " + capture.getError());
+            }
+            System.out.printf(
+                    "Processed %.1fs of audio. Line buffer full %d times, about %d samples lost in the line, " +
+                            "%d samples dropped before inference.\n",
+                    (double) numProcessedSamples / cheetah.getSampleRate(),
+                    capture.getNumLineOverruns(),
+                    capture.getNumLineDroppedSamples(),
+                    ring.getNumDroppedSamples());
+            System.out.println("Frame lag (capture to processed): " + frameLag);
+            System.out.println("Final latency (endpoint to utterance): " + tracer.getEndpointToFinalLatency());
+            if (verbose) {
+                System.out.println("Word latency (end of word to printed): " + tracer.getWordLatency());
+                System.out.println(
+                        "Final latency (end of speech to utterance): " + tracer.getSpeechEndToFinalLatency());
+            }
         } catch (Exception e) {
             System.err.println(e.toString());
         } finally {
-            if (outputStream != null && outputFile != null) {
-
-                // need to transfer to input stream to write
-                ByteArrayInputStream writeArray = new ByteArrayInputStream(outputStream.toByteArray());
-                AudioInputStream writeStream = new AudioInputStream(
-                        writeArray,
-                        format,
-                        totalBytesCaptured / format.getFrameSize());
+            if (capture != null) {
+                capture.stop();
+                try {
+                    captureThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            micDataLine.close();
 
+            if (wavWriter != null) {
                 try {
-                    AudioSystem.write(writeStream, AudioFileFormat.Type.WAVE, outputFile);
-                } catch (IOException e) {
-                    System.err.printf("Failed to write audio to '%s'.\n", outputFile.getPath());
+                    wavWriter.close();
+                    if (wavWriter.getNumDroppedSamples() > 0) {
+                        System.err.printf(
+                                "Dropped %d samples while writing audio to '%s'.\n",
+                                wavWriter.getNumDroppedSamples(),
+                                outputPath);
+                    }
+                } catch (CheetahIOException e) {
+                    System.err.printf("Failed to write audio to '%s'.\n", outputPath);
                     e.printStackTrace();
                 }
             }
@@ -172,6 +214,113 @@ public class MicDemo {
         }
     }
 
+    private static void printWords(CheetahTranscript.Word[] words) {
+        for (CheetahTranscript.Word word : words) {
+            System.out.printf("%-15s %10.2f %10.2f %12.2f\n",
+                    word.getWord(),
+                    word.getStartSec(),
+                    word.getEndSec(),
+                    word.getConfidence());
+        }
+    }
+
+    /**
+     * Reads the line into the ring buffer. Reads of any size are appended whole, so the inference thread always
+     * takes exact frames and no samples are lost to partial reads.
+     */
+    private static final class AudioCapture implements Runnable {
+        private final TargetDataLine line;
+        private final CheetahRingBuffer ring;
+        private final CheetahWavWriter wavWriter;
+        private final int sampleRate;
+
+        private volatile boolean isStopped = false;
+        private volatile long numLineOverruns = 0;
+        private volatile long numLineDroppedSamples = 0;
+        private volatile Exception error = null;
+
+        AudioCapture(TargetDataLine line, CheetahRingBuffer ring, CheetahWavWriter wavWriter, int sampleRate) {
+            this.line = line;
+            this.ring = ring;
+            this.wavWriter = wavWriter;
+            this.sampleRate = sampleRate;
+        }
+
+        @Override
+        public void run() {
+            // reads a quarter of the line buffer at a time, so the line is drained well before it fills up
+            int frameSize = line.getFormat().getFrameSize();
+            int lineBufferSamples = line.getBufferSize() / frameSize;
+            byte[] captureBuffer = new byte[Math.max(frameSize, line.getBufferSize() / 4 / frameSize * frameSize)];
+            short[] samples = new short[captureBuffer.length / 2];
+
+            try {
+                long lastReadNanos = System.nanoTime();
+                while (!isStopped) {
+                    if (line.available() >= line.getBufferSize()) {
+                        // the line discards audio once its buffer is full: whatever was captured since the last
+                        // read beyond what the buffer holds is lost
+                        numLineOverruns++;
+                        long numCapturedSamples = (System.nanoTime() - lastReadNanos) * sampleRate / 1_000_000_000L;
+                        numLineDroppedSamples += Math.max(0, numCapturedSamples - lineBufferSamples);
+                    }
+
+                    int numBytesRead = line.read(captureBuffer, 0, captureBuffer.length);
+                    lastReadNanos = System.nanoTime();
+                    forward(captureBuffer, numBytesRead, samples);
+                }
+
+                // the line is stopped, so this only returns what it captured before
+                int numBytesRead;
+                while ((numBytesRead = line.read(
+                        captureBuffer,
+                        0,
+                        Math.min(captureBuffer.length, line.available() / frameSize * frameSize))) > 0) {
+                    forward(captureBuffer, numBytesRead, samples);
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+
+        private void forward(byte[] captureBuffer, int numBytesRead, short[] samples) {
+            int numSamples = numBytesRead / 2;
+            if (numSamples == 0) {
+                return;
+            }
+            CheetahPcm.decodePcm16(captureBuffer, 0, samples, 0, numSamples, false);
+
+            // write to output if we're recording; the file is written on a background thread
+            if (wavWriter != null) {
+                wavWriter.write(samples, 0, numSamples);
+            }
+            ring.offer(samples, 0, numSamples);
+        }
+
+        void stop() {
+            // hands the audio the line has buffered to the capture thread before stopping it; once capture has
+            // failed, nothing reads the line and draining would block
+            if (error == null) {
+                line.drain();
+            }
+            isStopped = true;
+            // unblocks a read in progress
+            line.stop();
+        }
+
+        long getNumLineOverruns() {
+            return numLineOverruns;
+        }
+
+        long getNumLineDroppedSamples() {
+            return numLineDroppedSamples;
+        }
+
+        Exception getError() {
+            return error;
+        }
+    }
+
     private static void showAudioDevices() {
         // get available audio devices
         Mixer.Info[] allMixerInfo = AudioSystem.getMixerInfo();
@@ -255,6 +404,7 @@ public class MicDemo {
         boolean verbose = cmd.hasOption("verbose");
         String audioDeviceIndexStr = cmd.getOptionValue("audio_device_index");
         String outputPath = cmd.getOptionValue("output_path");
+        String lineBufferMsStr = cmd.getOptionValue("line_buffer_ms");
 
         if (cmd.hasOption("show_inference_devices")) {
             try {
@@ -314,6 +464,19 @@ public class MicDemo {
             }
         }
 
+        int lineBufferMs = 0;
+        if (lineBufferMsStr != null) {
+            try {
+                lineBufferMs = Integer.parseInt(lineBufferMsStr);
+            } catch (Exception e) {
+                lineBufferMs = -1;
+            }
+            if (lineBufferMs <= 0) {
+                throw new IllegalArgumentException(String.format("Line buffer size '%s' is not a " +
+                        "valid positive integer.", lineBufferMsStr));
+            }
+        }
+
         runDemo(
                 accessKey,
                 modelPath,
@@ -323,6 +486,7 @@ public class MicDemo {
                 enableAutomaticPunctuation,
                 enableTextNormalization,
                 audioDeviceIndex,
+                lineBufferMs,
                 outputPath,
                 verbose);
     }
@@ -390,6 +554,13 @@ public class MicDemo {
                 .desc("Index of input audio device.")
                 .build());
 
+        options.addOption(Option.builder("lb")
+                .longOpt("line_buffer_ms")
+                .hasArg(true)
+                .desc("Size of the audio line buffer in milliseconds. Smaller buffers lower the latency but " +
+                      "overrun sooner if capture is delayed. Default is the audio device's own buffer size.")
+                .build());
+
         options.addOption(new Option("sd", "show_audio_devices", false, "Print available recording devices."));
 
         options.addOption(new Option("sy",
@@ -0,0 +1,581 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import ai.picovoice.cheetah.*;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming speech-to-text server. Clients open a WebSocket connection, stream 16-bit little-endian mono PCM in
+ * binary messages and receive JSON messages with partial words, endpoints and the final transcript.
+ *
+ * <p>A single selector thread handles all network I/O. Audio is transcribed on a worker pool, where the tasks of
+ * each session run one at a time, in order. Every session holds an instance from a pre-warmed {@link CheetahPool}
+ * for its whole duration, so the pool size caps the number of concurrent sessions; connections beyond it are
+ * rejected with HTTP 503.
+ */
+public class ServerDemo {
+
+    // a whole frame of the largest allowed size has to fit, since frames are decoded in place
+    private static final int READ_BUFFER_SIZE = WebSocketCodec.MAX_PAYLOAD_LENGTH + WebSocketCodec.MAX_HEADER_LENGTH;
+    private static final int MAX_HANDSHAKE_SIZE = 8 * 1024;
+    private static final long MAX_PENDING_AUDIO_BYTES = 1 << 20;
+
+    private final CheetahPool pool;
+    private final ExecutorService workers;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Connection> pendingInterestUpdates = new ConcurrentLinkedQueue<>();
+    private volatile boolean isRunning = true;
+
+    ServerDemo(CheetahPool pool, int port) throws IOException {
+        this.pool = pool;
+        this.workers = Executors.newFixedThreadPool(pool.getSize());
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    void run() throws IOException {
+        while (isRunning) {
+            selector.select();
+
+            Connection updated;
+            while ((updated = pendingInterestUpdates.poll()) != null) {
+                updated.updateInterestOps();
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isReadable()) {
+                        connection.onReadable();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.onWritable();
+                    }
+                } catch (IOException e) {
+                    connection.close();
+                }
+            }
+        }
+        selector.close();
+        serverChannel.close();
+    }
+
+    void stop() {
+        isRunning = false;
+        selector.wakeup();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.close();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    /**
+     * Network side of a client connection. Only touched by the selector thread, except for {@link #send} and
+     * {@link #requestInterestUpdate}, which workers call.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong pendingAudioBytes = new AtomicLong(0);
+        private volatile boolean isReadPaused = false;
+        private volatile boolean isCloseAfterWrite = false;
+        private Session session = null;
+        private boolean isClosed = false;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void onReadable() throws IOException {
+            if (isCloseAfterWrite) {
+                return;
+            }
+            int numBytesRead = channel.read(readBuffer);
+            if (numBytesRead == -1) {
+                close();
+                return;
+            }
+
+            readBuffer.flip();
+            try {
+                if (session == null) {
+                    handshake();
+                }
+                if (session != null) {
+                    WebSocketCodec.Frame frame;
+                    while (!isCloseAfterWrite && (frame = WebSocketCodec.decode(readBuffer)) != null) {
+                        onFrame(frame);
+                    }
+                }
+            } finally {
+                readBuffer.compact();
+            }
+
+            if (!readBuffer.hasRemaining()) {
+                throw new IOException("Message does not fit into the read buffer");
+            }
+        }
+
+        private void handshake() throws IOException {
+            String request = StandardCharsets.US_ASCII.decode(readBuffer.duplicate()).toString();
+            int end = request.indexOf("\r\n\r\n");
+            if (end == -1) {
+                if (readBuffer.remaining() > MAX_HANDSHAKE_SIZE) {
+                    throw new IOException("Handshake too large");
+                }
+                return;
+            }
+            readBuffer.position(readBuffer.position() + end + 4);
+
+            String[] lines = request.substring(0, end).split("\r\n");
+            String key = null;
+            int sampleRate = -1;
+            for (String line : lines) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                    key = line.substring(colon + 1).trim();
+                }
+            }
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length > 1 && requestLine[1].contains("sample_rate=")) {
+                String value = requestLine[1].substring(requestLine[1].indexOf("sample_rate=") + 12).split("&")[0];
+                try {
+                    sampleRate = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    sampleRate = 0;
+                }
+            }
+
+            if (key == null || sampleRate == 0) {
+                respondAndClose("400 Bad Request");
+                return;
+            }
+
+            Cheetah cheetah;
+            try {
+                cheetah = pool.tryAcquire(0, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | CheetahException e) {
+                cheetah = null;
+            }
+            if (cheetah == null) {
+                respondAndClose("503 Service Unavailable");
+                return;
+            }
+
+            try {
+                session = new Session(this, cheetah, sampleRate > 0 ? sampleRate : cheetah.getSampleRate());
+            } catch (CheetahException e) {
+                releaseQuietly(cheetah);
+                respondAndClose("400 Bad Request");
+                return;
+            }
+
+            send(("HTTP/1.1 101 Switching Protocols\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Accept: " + WebSocketCodec.getAcceptKey(key) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void onFrame(WebSocketCodec.Frame frame) {
+            switch (frame.opcode) {
+                case WebSocketCodec.OPCODE_BINARY:
+                case WebSocketCodec.OPCODE_CONTINUATION:
+                    long pending = pendingAudioBytes.addAndGet(frame.payload.length);
+                    session.submit(() -> session.onAudio(frame.payload));
+                    if (pending > MAX_PENDING_AUDIO_BYTES) {
+                        // stop reading until the worker catches up, so a fast client cannot exhaust memory
+                        isReadPaused = true;
+                        updateInterestOps();
+                    }
+                    break;
+                case WebSocketCodec.OPCODE_PING:
+                    send(WebSocketCodec.encode(
+                            WebSocketCodec.OPCODE_PONG, frame.payload, 0, frame.payload.length, false));
+                    break;
+                case WebSocketCodec.OPCODE_CLOSE:
+                    isCloseAfterWrite = true;
+                    updateInterestOps();
+                    session.submit(session::onEnd);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void onWritable() throws IOException {
+            ByteBuffer buffer;
+            while ((buffer = writeQueue.peek()) != null) {
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    return;
+                }
+                writeQueue.poll();
+            }
+            if (isReadyToClose()) {
+                close();
+                return;
+            }
+            updateInterestOps();
+        }
+
+        void send(byte[] data) {
+            writeQueue.add(ByteBuffer.wrap(data));
+            requestInterestUpdate();
+        }
+
+        void onAudioConsumed(int numBytes) {
+            long pending = pendingAudioBytes.addAndGet(-numBytes);
+            if (isReadPaused && pending < MAX_PENDING_AUDIO_BYTES / 2) {
+                isReadPaused = false;
+                requestInterestUpdate();
+            }
+        }
+
+        void requestInterestUpdate() {
+            pendingInterestUpdates.add(this);
+            selector.wakeup();
+        }
+
+        void updateInterestOps() {
+            if (!key.isValid()) {
+                return;
+            }
+            int ops = 0;
+            if (!isReadPaused && !isCloseAfterWrite) {
+                ops |= SelectionKey.OP_READ;
+            }
+            if (!writeQueue.isEmpty() || isReadyToClose()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            key.interestOps(ops);
+        }
+
+        private boolean isReadyToClose() {
+            return isCloseAfterWrite && (session == null || session.isDone());
+        }
+
+        private void respondAndClose(String status) {
+            isCloseAfterWrite = true;
+            send(("HTTP/1.1 " + status + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+
+        void closeAfterWrite() {
+            isCloseAfterWrite = true;
+            requestInterestUpdate();
+        }
+
+        void close() {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the connection is gone either way
+            }
+            if (session != null) {
+                session.submit(session::release);
+            }
+        }
+    }
+
+    /**
+     * Transcription side of a client connection. Runs on the worker pool; tasks of one session never overlap.
+     */
+    private final class Session {
+        private final Connection connection;
+        private final Cheetah cheetah;
+        private final CheetahAudioConverter converter;
+        private final CheetahAudioConverter.FrameListener listener;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+        private final CheetahJsonWriter json = new CheetahJsonWriter();
+        private volatile boolean isDone = false;
+        private boolean isReleased = false;
+
+        Session(Connection connection, Cheetah cheetah, int inputSampleRate) throws CheetahException {
+            this.connection = connection;
+            this.cheetah = cheetah;
+            this.converter = new CheetahAudioConverter.Builder()
+                    .setInputSampleRate(inputSampleRate)
+                    .setOutputSampleRate(cheetah.getSampleRate())
+                    .setFrameLength(cheetah.getFrameLength())
+                    .build();
+            this.listener = frame -> onResult(cheetah.processAnnotated(frame));
+        }
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (isScheduled.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    fail(e);
+                }
+            }
+            isScheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+
+        boolean isDone() {
+            return isDone;
+        }
+
+        void onAudio(byte[] data) {
+            try {
+                if (!isReleased && !isDone) {
+                    converter.process(data, 0, data.length, listener);
+                }
+            } catch (CheetahException e) {
+                fail(e);
+            } finally {
+                connection.onAudioConsumed(data.length);
+            }
+        }
+
+        void onEnd() {
+            if (isReleased || isDone) {
+                return;
+            }
+            try {
+                converter.flush(listener);
+                sendTranscript("final", cheetah.flushAnnotated());
+            } catch (CheetahException e) {
+                fail(e);
+                return;
+            }
+            finish(1000);
+        }
+
+        private void onResult(CheetahTranscriptAnnotated result) throws CheetahException {
+            if (!result.getTranscript().isEmpty()) {
+                sendTranscript("partial", result);
+            }
+            if (result.getIsEndpoint()) {
+                sendTranscript("endpoint", cheetah.flushAnnotated());
+            }
+        }
+
+        private void sendTranscript(String type, CheetahTranscriptAnnotated result) {
+            json.reset();
+            TranscriptJson.writeTranscript(json, type, result);
+            connection.send(WebSocketCodec.encode(WebSocketCodec.OPCODE_TEXT, json.getBuffer(), 0, json.size(), false));
+        }
+
+        private void fail(Exception e) {
+            json.reset();
+            TranscriptJson.writeError(json, e);
+            connection.send(WebSocketCodec.encode(WebSocketCodec.OPCODE_TEXT, json.getBuffer(), 0, json.size(), false));
+            finish(1011);
+        }
+
+        private void finish(int closeCode) {
+            byte[] payload = {(byte) (closeCode >> 8), (byte) closeCode};
+            isDone = true;
+            release();
+            connection.send(WebSocketCodec.encode(WebSocketCodec.OPCODE_CLOSE, payload, 0, payload.length, false));
+            connection.closeAfterWrite();
+        }
+
+        void release() {
+            if (!isReleased) {
+                isReleased = true;
+                releaseQuietly(cheetah);
+            }
+        }
+    }
+
+    private void releaseQuietly(Cheetah cheetah) {
+        try {
+            pool.release(cheetah);
+        } catch (CheetahException e) {
+            System.err.println("Failed to reset Cheetah instance: " + e.getMessage());
+        }
+    }
+
+    public static void main(String[] args) {
+        Options options = buildCommandLineOptions();
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        CommandLine cmd;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("cheetahserverdemo", options);
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.hasOption("help")) {
+            formatter.printHelp("cheetahserverdemo", options);
+            return;
+        }
+
+        String accessKey = cmd.getOptionValue("access_key");
+        String libraryPath = cmd.getOptionValue("library_path", Cheetah.LIBRARY_PATH);
+        String modelPath = cmd.getOptionValue("model_path", Cheetah.MODEL_PATH);
+        String device = cmd.getOptionValue("device", "best");
+        boolean enableAutomaticPunctuation = !cmd.hasOption("disable_automatic_punctuation");
+        int port = Integer.parseInt(cmd.getOptionValue("port", "8765"));
+        int maxSessions = Integer.parseInt(cmd.getOptionValue(
+                "max_sessions",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        if (accessKey == null || accessKey.length() == 0) {
+            throw new IllegalArgumentException("AccessKey is required for Cheetah.");
+        }
+
+        try {
+            System.out.printf("Initializing %d Cheetah instances...\n", maxSessions);
+            CheetahPool pool = new CheetahPool.Builder()
+                    .setCheetahBuilder(new Cheetah.Builder()
+                            .setAccessKey(accessKey)
+                            .setLibraryPath(libraryPath)
+                            .setModelPath(modelPath)
+                            .setDevice(device)
+                            .setEnableAutomaticPunctuation(enableAutomaticPunctuation))
+                    .setSize(maxSessions)
+                    .build();
+
+            ServerDemo server = new ServerDemo(pool, port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            System.out.printf("Listening on ws://localhost:%d (press Ctrl+C to stop)\n", port);
+            server.run();
+        } catch (CheetahException | IOException e) {
+            System.out.println(e.toString());
+            System.exit(1);
+        }
+    }
+
+    private static Options buildCommandLineOptions() {
+        Options options = new Options();
+
+        options.addOption(Option.builder("a")
+                .longOpt("access_key")
+                .hasArg(true)
+                .desc("AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).")
+                .build());
+
+        options.addOption(Option.builder("m")
+                .longOpt("model_path")
+                .hasArg(true)
+                .desc("Absolute path to the file containing model parameters.")
+                .build());
+
+        options.addOption(Option.builder("y")
+                .longOpt("device")
+                .hasArg(true)
+                .desc("Device to run inference on (`best`, `cpu:{num_threads}` or `gpu:{gpu_index}`). " +
+                        "Default: automatically selects best device.")
+                .build());
+
+        options.addOption(Option.builder("l")
+                .longOpt("library_path")
+                .hasArg(true)
+                .desc("Absolute path to the Cheetah native runtime library.")
+                .build());
+
+        options.addOption(Option.builder("d")
+                .longOpt("disable_automatic_punctuation")
+                .desc("")
+                .build());
+
+        options.addOption(Option.builder("p")
+                .longOpt("port")
+                .hasArg(true)
+                .desc("Port to listen on. Default: 8765.")
+                .build());
+
+        options.addOption(Option.builder("s")
+                .longOpt("max_sessions")
+                .hasArg(true)
+                .desc("Number of pre-warmed Cheetah instances, which is also the maximum number of concurrent " +
+                        "sessions. Default: number of available processors.")
+                .build());
+
+        options.addOption(new Option("h", "help", false, ""));
+
+        return options;
+    }
+}
@@ -0,0 +1,333 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import org.apache.commons.cli.*;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for {@link ServerDemo}. Replays audio files over concurrent WebSocket sessions and reports
+ * rejected sessions, time to first word and the latency of the final transcript after the last audio was sent.
+ */
+public class ServerLoadClient {
+
+    private static final int CHUNK_SAMPLES = 320;
+
+    private static final class Clip {
+        private final String name;
+        private final byte[] pcm;
+        private final int sampleRate;
+
+        Clip(String name, byte[] pcm, int sampleRate) {
+            this.name = name;
+            this.pcm = pcm;
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    private static final class Result {
+        private final boolean isRejected;
+        private final long firstWordNSec;
+        private final long finalLatencyNSec;
+        private final double audioSec;
+        private final String transcript;
+
+        Result(boolean isRejected, long firstWordNSec, long finalLatencyNSec, double audioSec, String transcript) {
+            this.isRejected = isRejected;
+            this.firstWordNSec = firstWordNSec;
+            this.finalLatencyNSec = finalLatencyNSec;
+            this.audioSec = audioSec;
+            this.transcript = transcript;
+        }
+    }
+
+    private static Clip loadClip(File file) throws Exception {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat format = stream.getFormat();
+            if (format.getSampleSizeInBits() != 16 || format.getChannels() != 1 || format.isBigEndian()) {
+                throw new IllegalArgumentException(file + " is not 16-bit little-endian mono PCM");
+            }
+            ByteArrayOutputStream pcm = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int numBytesRead;
+            while ((numBytesRead = stream.read(buffer)) != -1) {
+                pcm.write(buffer, 0, numBytesRead);
+            }
+            return new Clip(file.getName(), pcm.toByteArray(), (int) format.getSampleRate());
+        }
+    }
+
+    private static Result runSession(String host, int port, Clip clip, boolean isRealTime) throws Exception {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream output = socket.getOutputStream();
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+
+            String key = WebSocketCodec.newClientKey();
+            output.write(("GET /?sample_rate=" + clip.sampleRate + " HTTP/1.1\r\n" +
+                    "Host: " + host + ":" + port + "\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Key: " + key + "\r\n" +
+                    "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+
+            String status = readHttpHeader(input).split("\r\n")[0];
+            if (status.contains(" 503 ")) {
+                return new Result(true, 0, 0, 0, null);
+            }
+            if (!status.contains(" 101 ")) {
+                throw new IOException("Unexpected handshake response: " + status);
+            }
+
+            long[] firstWordTime = {0};
+            long[] finalTime = {0};
+            StringBuilder transcript = new StringBuilder();
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        WebSocketCodec.Frame frame = WebSocketCodec.read(input);
+                        if (frame.opcode == WebSocketCodec.OPCODE_CLOSE) {
+                            return;
+                        }
+                        if (frame.opcode != WebSocketCodec.OPCODE_TEXT) {
+                            continue;
+                        }
+                        String message = frame.getText();
+                        if (firstWordTime[0] == 0 && message.startsWith("{\"type\":\"partial\"")) {
+                            firstWordTime[0] = System.nanoTime();
+                        }
+                        if (message.startsWith("{\"type\":\"partial\"") || message.startsWith("{\"type\":\"endpoint\"")
+                                || message.startsWith("{\"type\":\"final\"")) {
+                            transcript.append(getTranscript(message));
+                        }
+                        if (message.startsWith("{\"type\":\"final\"")) {
+                            finalTime[0] = System.nanoTime();
+                        }
+                    }
+                } catch (IOException ignored) {
+                    // the server closed the connection
+                }
+            });
+            reader.start();
+
+            long start = System.nanoTime();
+            int chunkBytes = CHUNK_SAMPLES * 2;
+            for (int offset = 0; offset < clip.pcm.length; offset += chunkBytes) {
+                int length = Math.min(chunkBytes, clip.pcm.length - offset);
+                output.write(WebSocketCodec.encode(WebSocketCodec.OPCODE_BINARY, clip.pcm, offset, length, true));
+                if (isRealTime) {
+                    long dueNSec = start + (long) ((offset + length) / 2 * 1e9 / clip.sampleRate);
+                    long sleepNSec = dueNSec - System.nanoTime();
+                    if (sleepNSec > 0) {
+                        TimeUnit.NANOSECONDS.sleep(sleepNSec);
+                    }
+                }
+            }
+            long endOfAudio = System.nanoTime();
+            byte[] closePayload = {0x03, (byte) 0xE8};
+            output.write(WebSocketCodec.encode(WebSocketCodec.OPCODE_CLOSE, closePayload, 0, 2, true));
+            output.flush();
+            reader.join();
+
+            if (finalTime[0] == 0) {
+                throw new IOException("Session for " + clip.name + " ended without a final transcript");
+            }
+            return new Result(
+                    false,
+                    firstWordTime[0] == 0 ? 0 : firstWordTime[0] - start,
+                    finalTime[0] - endOfAudio,
+                    clip.pcm.length / 2.0 / clip.sampleRate,
+                    transcript.toString());
+        }
+    }
+
+    private static String readHttpHeader(InputStream input) throws IOException {
+        StringBuilder header = new StringBuilder();
+        while (header.indexOf("\r\n\r\n") == -1) {
+            int b = input.read();
+            if (b == -1) {
+                throw new IOException("Connection closed during handshake");
+            }
+            header.append((char) b);
+        }
+        return header.toString();
+    }
+
+    private static String getTranscript(String message) {
+        String marker = "\"transcript\":\"";
+        int start = message.indexOf(marker) + marker.length();
+        int end = message.indexOf("\",\"words\"", start);
+        return end > start ? message.substring(start, end).replace("\\\"", "\"").replace("\\\\", "\\") : "";
+    }
+
+    private static double percentileMs(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(values);
+        int index = (int) Math.min(values.size() - 1, Math.ceil(percentile * values.size()) - 1);
+        return values.get(Math.max(index, 0)) / 1e6;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = buildCommandLineOptions();
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        CommandLine cmd;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("cheetahserverloadclient", options);
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.hasOption("help")) {
+            formatter.printHelp("cheetahserverloadclient", options);
+            return;
+        }
+
+        String host = cmd.getOptionValue("host", "localhost");
+        int port = Integer.parseInt(cmd.getOptionValue("port", "8765"));
+        int concurrency = Integer.parseInt(cmd.getOptionValue("concurrency", "4"));
+        int numSessions = Integer.parseInt(cmd.getOptionValue("num_sessions", "16"));
+        boolean isRealTime = cmd.hasOption("real_time");
+        boolean verbose = cmd.hasOption("verbose");
+        File audioDir = new File(cmd.getOptionValue("audio_dir", "../../resources/audio_samples"));
+
+        File[] files = audioDir.listFiles((dir, name) -> name.endsWith(".wav"));
+        if (files == null || files.length == 0) {
+            throw new IllegalArgumentException("No .wav files found in " + audioDir.getAbsolutePath());
+        }
+        Arrays.sort(files);
+        List<Clip> clips = new ArrayList<>();
+        for (File file : files) {
+            clips.add(loadClip(file));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < numSessions; i++) {
+            Clip clip = clips.get(i % clips.size());
+            futures.add(executor.submit(() -> runSession(host, port, clip, isRealTime)));
+        }
+
+        List<Long> firstWordTimes = new ArrayList<>();
+        List<Long> finalLatencies = new ArrayList<>();
+        int numRejected = 0;
+        int numFailed = 0;
+        double audioSec = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                Result result = futures.get(i).get();
+                if (result.isRejected) {
+                    numRejected++;
+                    continue;
+                }
+                if (result.firstWordNSec > 0) {
+                    firstWordTimes.add(result.firstWordNSec);
+                }
+                finalLatencies.add(result.finalLatencyNSec);
+                audioSec += result.audioSec;
+                if (verbose) {
+                    System.out.printf("[%s] %s\n", clips.get(i % clips.size()).name, result.transcript.trim());
+                }
+            } catch (Exception e) {
+                numFailed++;
+                System.out.println("Session failed: " + e.getCause());
+            }
+        }
+        double wallSec = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+
+        System.out.printf("Sessions: %d completed, %d rejected, %d failed (concurrency %d)\n",
+                finalLatencies.size(), numRejected, numFailed, concurrency);
+        System.out.printf("Audio processed: %.1fs in %.1fs wall time (%.1fx real time)\n",
+                audioSec, wallSec, audioSec / wallSec);
+        System.out.printf("Time to first word: p50 %.1fms, p95 %.1fms\n",
+                percentileMs(firstWordTimes, 0.5), percentileMs(firstWordTimes, 0.95));
+        System.out.printf("Final transcript latency after end of audio: p50 %.1fms, p95 %.1fms\n",
+                percentileMs(finalLatencies, 0.5), percentileMs(finalLatencies, 0.95));
+    }
+
+    private static Options buildCommandLineOptions() {
+        Options options = new Options();
+
+        options.addOption(Option.builder("H")
+                .longOpt("host")
+                .hasArg(true)
+                .desc("Server host. Default: localhost.")
+                .build());
+
+        options.addOption(Option.builder("p")
+                .longOpt("port")
+                .hasArg(true)
+                .desc("Server port. Default: 8765.")
+                .build());
+
+        options.addOption(Option.builder("c")
+                .longOpt("concurrency")
+                .hasArg(true)
+                .desc("Number of concurrent sessions. Default: 4.")
+                .build());
+
+        options.addOption(Option.builder("n")
+                .longOpt("num_sessions")
+                .hasArg(true)
+                .desc("Total number of sessions to run. Default: 16.")
+                .build());
+
+        options.addOption(Option.builder("i")
+                .longOpt("audio_dir")
+                .hasArg(true)
+                .desc("Directory with 16-bit mono .wav files to replay. Default: ../../resources/audio_samples.")
+                .build());
+
+        options.addOption(Option.builder("r")
+                .longOpt("real_time")
+                .desc("Send audio at real-time pace instead of as fast as possible.")
+                .build());
+
+        options.addOption(Option.builder("v")
+                .longOpt("verbose")
+                .desc("Print the transcript of every session.")
+                .build());
+
+        options.addOption(new Option("h", "help", false, ""));
+
+        return options;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import org.apache.commons.cli.*;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compares the Unix domain socket and loopback TCP transports of {@link SidecarDemo}.
+ *
+ * <p>The ping test echoes frame-sized payloads without running inference, so it measures the cost of the
+ * transport alone. The audio test replays a file one frame per message and measures the round trip of each
+ * RESULT, which adds the inference time on top.
+ */
+public class SidecarBenchmark {
+
+    private static final class Stats {
+        private final long[] roundTripNSec;
+        private final long totalNSec;
+        private final long numBytes;
+
+        Stats(long[] roundTripNSec, long totalNSec, long numBytes) {
+            this.roundTripNSec = roundTripNSec;
+            this.totalNSec = totalNSec;
+            this.numBytes = numBytes;
+        }
+
+        double percentileUs(double percentile) {
+            long[] sorted = roundTripNSec.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e3;
+        }
+
+        double messagesPerSec() {
+            return roundTripNSec.length / (totalNSec / 1e9);
+        }
+
+        double megabytesPerSec() {
+            return numBytes / (totalNSec / 1e9) / (1 << 20);
+        }
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final SocketChannel channel;
+        private final ByteBuffer header = ByteBuffer.allocateDirect(SidecarProtocol.HEADER_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer payload = ByteBuffer.allocateDirect(SidecarProtocol.MAX_PAYLOAD_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private final int sampleRate;
+        private final int frameLength;
+
+        Client(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            if (receive() != SidecarProtocol.TYPE_HELLO) {
+                throw new IOException("Expected HELLO from the sidecar");
+            }
+            this.sampleRate = payload.getInt(0);
+            this.frameLength = payload.getInt(4);
+        }
+
+        void send(byte type, ByteBuffer body) throws IOException {
+            header.clear();
+            header.putInt(body.remaining());
+            header.put(type);
+            header.flip();
+            ByteBuffer[] message = {header, body};
+            while (body.hasRemaining() || header.hasRemaining()) {
+                channel.write(message);
+            }
+        }
+
+        byte receive() throws IOException {
+            header.clear();
+            SidecarProtocol.readFully(channel, header);
+            int length = header.getInt(0);
+            byte type = header.get(4);
+            if (length < 0 || length > SidecarProtocol.MAX_PAYLOAD_LENGTH) {
+                throw new IOException("Invalid payload length " + length);
+            }
+            payload.clear();
+            payload.limit(length);
+            SidecarProtocol.readFully(channel, payload);
+            payload.flip();
+            if (type == SidecarProtocol.TYPE_ERROR) {
+                byte[] message = new byte[length];
+                payload.get(message);
+                throw new IOException("Sidecar error: " + new String(message, StandardCharsets.UTF_8));
+            }
+            return type;
+        }
+
+        /**
+         * Reads the transcript of a RESULT or FINAL payload.
+         */
+        String getTranscript() {
+            int length = payload.getShort(3) & 0xFFFF;
+            byte[] transcript = new byte[length];
+            payload.position(5);
+            payload.get(transcript);
+            return new String(transcript, StandardCharsets.UTF_8);
+        }
+
+        boolean isEndpoint() {
+            return (payload.get(0) & 1) != 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static Stats runPing(Client client, int numIterations) throws IOException {
+        ByteBuffer body = ByteBuffer.allocateDirect(client.frameLength * 2);
+        long[] roundTripNSec = new long[numIterations];
+        // warm up the JIT and the socket buffers before measuring
+        for (int i = 0; i < Math.min(1000, numIterations); i++) {
+            body.clear();
+            client.send(SidecarProtocol.TYPE_PING, body);
+            client.receive();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < numIterations; i++) {
+            body.clear();
+            long sent = System.nanoTime();
+            client.send(SidecarProtocol.TYPE_PING, body);
+            if (client.receive() != SidecarProtocol.TYPE_PONG) {
+                throw new IOException("Expected PONG from the sidecar");
+            }
+            roundTripNSec[i] = System.nanoTime() - sent;
+        }
+        return new Stats(roundTripNSec, System.nanoTime() - start, 2L * numIterations * body.capacity());
+    }
+
+    private static Stats runAudio(Client client, byte[] pcm, StringBuilder transcript) throws IOException {
+        int frameBytes = client.frameLength * 2;
+        int numFrames = pcm.length / frameBytes;
+        ByteBuffer body = ByteBuffer.allocateDirect(frameBytes);
+        long[] roundTripNSec = new long[numFrames];
+        long start = System.nanoTime();
+        for (int i = 0; i < numFrames; i++) {
+            body.clear();
+            body.put(pcm, i * frameBytes, frameBytes);
+            body.flip();
+            long sent = System.nanoTime();
+            client.send(SidecarProtocol.TYPE_AUDIO, body);
+            if (client.receive() != SidecarProtocol.TYPE_RESULT) {
+                throw new IOException("Expected RESULT from the sidecar");
+            }
+            roundTripNSec[i] = System.nanoTime() - sent;
+            boolean isEndpoint = client.isEndpoint();
+            transcript.append(client.getTranscript());
+            if (isEndpoint) {
+                client.receive();
+                transcript.append(client.getTranscript());
+            }
+        }
+        body.clear().limit(0);
+        client.send(SidecarProtocol.TYPE_FLUSH, body);
+        if (client.receive() != SidecarProtocol.TYPE_FINAL) {
+            throw new IOException("Expected FINAL from the sidecar");
+        }
+        transcript.append(client.getTranscript());
+        return new Stats(roundTripNSec, System.nanoTime() - start, (long) numFrames * frameBytes);
+    }
+
+    private static byte[] loadPcm(File file, int sampleRate) throws Exception {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat format = stream.getFormat();
+            if (format.getSampleSizeInBits() != 16 || format.getChannels() != 1 || format.isBigEndian()
+                    || (int) format.getSampleRate() != sampleRate) {
+                throw new IllegalArgumentException(
+                        file + " is not 16-bit little-endian mono PCM at " + sampleRate + "Hz");
+            }
+            ByteArrayOutputStream pcm = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int numBytesRead;
+            while ((numBytesRead = stream.read(buffer)) != -1) {
+                pcm.write(buffer, 0, numBytesRead);
+            }
+            return pcm.toByteArray();
+        }
+    }
+
+    private static void runBenchmark(
+            String name,
+            SocketChannel channel,
+            File audioFile,
+            int numIterations,
+            boolean verbose) throws Exception {
+        try (Client client = new Client(channel)) {
+            Stats ping = runPing(client, numIterations);
+            System.out.printf("%-5s ping  %6d msgs of %5d bytes | rtt p50 %8.1fus p99 %8.1fus | " +
+                            "%9.0f msg/s %8.1f MB/s\n",
+                    name, numIterations, client.frameLength * 2, ping.percentileUs(0.5), ping.percentileUs(0.99),
+                    ping.messagesPerSec(), ping.megabytesPerSec());
+
+            if (audioFile != null) {
+                StringBuilder transcript = new StringBuilder();
+                Stats audio = runAudio(client, loadPcm(audioFile, client.sampleRate), transcript);
+                double audioSec = audio.numBytes / 2.0 / client.sampleRate;
+                System.out.printf("%-5s audio %6d frames           | rtt p50 %8.1fus p99 %8.1fus | " +
+                                "%9.1fx real time\n",
+                        name, audio.roundTripNSec.length, audio.percentileUs(0.5), audio.percentileUs(0.99),
+                        audioSec / (audio.totalNSec / 1e9));
+                if (verbose) {
+                    System.out.println(transcript.toString().trim());
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = buildCommandLineOptions();
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        CommandLine cmd;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("cheetahsidecarbenchmark", options);
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.hasOption("help")) {
+            formatter.printHelp("cheetahsidecarbenchmark", options);
+            return;
+        }
+
+        String socketPath = cmd.getOptionValue("socket_path");
+        String port = cmd.getOptionValue("port");
+        int numIterations = Integer.parseInt(cmd.getOptionValue("num_iterations", "10000"));
+        String inputAudioPath = cmd.getOptionValue("input_audio_path");
+        boolean verbose = cmd.hasOption("verbose");
+
+        if (socketPath == null && port == null) {
+            throw new IllegalArgumentException("Set a socket path, a TCP port or both.");
+        }
+
+        File audioFile = null;
+        if (inputAudioPath != null) {
+            audioFile = new File(inputAudioPath);
+            if (!audioFile.exists()) {
+                throw new IllegalArgumentException(String.format("Audio file at path %s does not exits.",
+                        inputAudioPath));
+            }
+        }
+
+        if (socketPath != null) {
+            runBenchmark("unix", SidecarProtocol.connectUnix(socketPath), audioFile, numIterations, verbose);
+        }
+        if (port != null) {
+            SocketChannel channel = SidecarProtocol.connectTcp(Integer.parseInt(port));
+            runBenchmark("tcp", channel, audioFile, numIterations, verbose);
+        }
+    }
+
+    private static Options buildCommandLineOptions() {
+        Options options = new Options();
+
+        options.addOption(Option.builder("u")
+                .longOpt("socket_path")
+                .hasArg(true)
+                .desc("Path of the sidecar's Unix domain socket. Requires Java 16 or later.")
+                .build());
+
+        options.addOption(Option.builder("p")
+                .longOpt("port")
+                .hasArg(true)
+                .desc("Loopback TCP port of the sidecar.")
+                .build());
+
+        options.addOption(Option.builder("n")
+                .longOpt("num_iterations")
+                .hasArg(true)
+                .desc("Number of ping round trips per transport. Default: 10000.")
+                .build());
+
+        options.addOption(Option.builder("i")
+                .longOpt("input_audio_path")
+                .hasArg(true)
+                .desc("16-bit mono .wav file at the engine sample rate to replay one frame per message.")
+                .build());
+
+        options.addOption(Option.builder("v")
+                .longOpt("verbose")
+                .desc("Print the transcript of the replayed audio.")
+                .build());
+
+        options.addOption(new Option("h", "help", false, ""));
+
+        return options;
+    }
+}
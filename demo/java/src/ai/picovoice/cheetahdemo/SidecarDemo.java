@@ -0,0 +1,465 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import ai.picovoice.cheetah.*;
+import org.apache.commons.cli.*;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transcription sidecar for other processes on the same host. Clients connect over a Unix domain socket, or over
+ * loopback TCP, and exchange the length-prefixed binary messages described in {@link SidecarProtocol}.
+ *
+ * <p>Each connection is served by its own thread with blocking I/O, which gives the lowest latency for a small
+ * number of local clients. Messages are read into direct buffers taken from a pool sized to the maximum number
+ * of sessions, and samples are copied straight from those buffers into the frame passed to Cheetah.
+ */
+public class SidecarDemo {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final CheetahPool pool;
+    private final BlockingQueue<SessionBuffers> bufferPool;
+    private final ExecutorService sessions = Executors.newCachedThreadPool();
+
+    SidecarDemo(CheetahPool pool, int frameLength) {
+        this.pool = pool;
+        this.bufferPool = new ArrayBlockingQueue<>(pool.getSize());
+        for (int i = 0; i < pool.getSize(); i++) {
+            bufferPool.add(new SessionBuffers(frameLength));
+        }
+    }
+
+    private static final class SessionBuffers {
+        private final ByteBuffer header = ByteBuffer.allocateDirect(SidecarProtocol.HEADER_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer input = ByteBuffer.allocateDirect(SidecarProtocol.MAX_PAYLOAD_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private final short[] frame;
+        private int frameIndex = 0;
+        private final StringBuilder transcript = new StringBuilder();
+        private final List<CheetahTranscript.Word> words = new ArrayList<>();
+
+        SessionBuffers(int frameLength) {
+            this.frame = new short[frameLength];
+        }
+
+        void ensureOutputRemaining(int numBytes) {
+            if (output.remaining() < numBytes) {
+                int capacity = Math.max(output.capacity() * 2, output.position() + numBytes);
+                ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+                output.flip();
+                grown.put(output);
+                output = grown;
+            }
+        }
+
+        void reset() {
+            frameIndex = 0;
+            transcript.setLength(0);
+            words.clear();
+        }
+    }
+
+    void listen(ServerSocketChannel serverChannel) {
+        Thread acceptor = new Thread(() -> {
+            while (serverChannel.isOpen()) {
+                try {
+                    SocketChannel channel = serverChannel.accept();
+                    sessions.execute(() -> serve(channel));
+                } catch (IOException e) {
+                    if (serverChannel.isOpen()) {
+                        System.err.println("Failed to accept connection: " + e.getMessage());
+                    }
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    void stop() {
+        sessions.shutdownNow();
+        try {
+            sessions.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.close();
+    }
+
+    private void serve(SocketChannel channel) {
+        Cheetah cheetah = null;
+        SessionBuffers buffers = null;
+        try {
+            cheetah = pool.tryAcquire(0, TimeUnit.MILLISECONDS);
+            if (cheetah == null) {
+                sendError(channel, "All sessions are in use");
+                return;
+            }
+            // there are as many buffer sets as instances, so one is always available once an instance is
+            buffers = bufferPool.take();
+            buffers.reset();
+
+            ByteBuffer output = buffers.output;
+            output.clear();
+            output.position(SidecarProtocol.HEADER_LENGTH);
+            output.putInt(cheetah.getSampleRate());
+            output.putInt(cheetah.getFrameLength());
+            send(channel, buffers, SidecarProtocol.TYPE_HELLO);
+
+            while (true) {
+                ByteBuffer header = buffers.header;
+                header.clear();
+                SidecarProtocol.readFully(channel, header);
+                int length = header.getInt(0);
+                byte type = header.get(4);
+                if (length < 0 || length > SidecarProtocol.MAX_PAYLOAD_LENGTH) {
+                    sendError(channel, "Payload exceeds " + SidecarProtocol.MAX_PAYLOAD_LENGTH + " bytes");
+                    return;
+                }
+
+                ByteBuffer input = buffers.input;
+                input.clear();
+                input.limit(length);
+                SidecarProtocol.readFully(channel, input);
+                input.flip();
+
+                switch (type) {
+                    case SidecarProtocol.TYPE_AUDIO:
+                        if (length % 2 != 0) {
+                            sendError(channel, "Audio payload must hold whole 16-bit samples");
+                            return;
+                        }
+                        processAudio(channel, cheetah, buffers, input.asShortBuffer());
+                        break;
+                    case SidecarProtocol.TYPE_FLUSH:
+                        // the words of the zero-padded last frame belong to the final transcript
+                        if (buffers.frameIndex > 0) {
+                            Arrays.fill(buffers.frame, buffers.frameIndex, buffers.frame.length, (short) 0);
+                            buffers.frameIndex = 0;
+                            append(buffers, cheetah.processAnnotated(buffers.frame));
+                        }
+                        append(buffers, cheetah.flushAnnotated());
+                        sendAccumulated(channel, buffers, SidecarProtocol.TYPE_FINAL, 0);
+                        break;
+                    case SidecarProtocol.TYPE_PING:
+                        buffers.output.clear();
+                        buffers.output.position(SidecarProtocol.HEADER_LENGTH);
+                        buffers.ensureOutputRemaining(length);
+                        buffers.output.put(input);
+                        send(channel, buffers, SidecarProtocol.TYPE_PONG);
+                        break;
+                    default:
+                        sendError(channel, "Unknown message type " + type);
+                        return;
+                }
+            }
+        } catch (EOFException e) {
+            // the client disconnected
+        } catch (IOException | CheetahException | InterruptedException e) {
+            try {
+                sendError(channel, e.toString());
+            } catch (IOException ignored) {
+                // the connection is already broken
+            }
+        } finally {
+            if (cheetah != null) {
+                try {
+                    pool.release(cheetah);
+                } catch (CheetahException e) {
+                    System.err.println("Failed to reset Cheetah instance: " + e.getMessage());
+                }
+            }
+            if (buffers != null) {
+                bufferPool.add(buffers);
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+
+    private void processAudio(
+            SocketChannel channel,
+            Cheetah cheetah,
+            SessionBuffers buffers,
+            ShortBuffer samples) throws CheetahException, IOException {
+        boolean isAnswered = false;
+        boolean hasPending = false;
+
+        short[] frame = buffers.frame;
+        while (samples.hasRemaining()) {
+            int numSamples = Math.min(samples.remaining(), frame.length - buffers.frameIndex);
+            samples.get(frame, buffers.frameIndex, numSamples);
+            buffers.frameIndex += numSamples;
+            if (buffers.frameIndex < frame.length) {
+                break;
+            }
+            buffers.frameIndex = 0;
+
+            CheetahTranscriptAnnotated result = cheetah.processAnnotated(frame);
+            append(buffers, result);
+            hasPending = true;
+            if (result.getIsEndpoint()) {
+                // each utterance is closed before the words of the next one are sent
+                sendAccumulated(channel, buffers, SidecarProtocol.TYPE_RESULT, 1);
+                append(buffers, cheetah.flushAnnotated());
+                sendAccumulated(channel, buffers, SidecarProtocol.TYPE_FINAL, 0);
+                isAnswered = true;
+                hasPending = false;
+            }
+        }
+
+        if (hasPending || !isAnswered) {
+            sendAccumulated(channel, buffers, SidecarProtocol.TYPE_RESULT, 0);
+        }
+    }
+
+    private static void append(SessionBuffers buffers, CheetahTranscriptAnnotated transcript) {
+        buffers.transcript.append(transcript.getTranscript());
+        Collections.addAll(buffers.words, transcript.getWordArray());
+    }
+
+    private static void sendAccumulated(
+            SocketChannel channel,
+            SessionBuffers buffers,
+            byte type,
+            int flags) throws IOException {
+        writeTranscript(buffers, buffers.transcript.toString(), buffers.words, flags);
+        buffers.transcript.setLength(0);
+        buffers.words.clear();
+        send(channel, buffers, type);
+    }
+
+    private static void writeTranscript(
+            SessionBuffers buffers,
+            String transcript,
+            List<CheetahTranscript.Word> words,
+            int flags) {
+        buffers.output.clear();
+        buffers.output.position(SidecarProtocol.HEADER_LENGTH);
+        byte[] transcriptBytes = transcript.getBytes(StandardCharsets.UTF_8);
+        buffers.ensureOutputRemaining(5 + transcriptBytes.length);
+        ByteBuffer output = buffers.output;
+        output.put((byte) flags);
+        output.putShort((short) words.size());
+        output.putShort((short) transcriptBytes.length);
+        output.put(transcriptBytes);
+        for (CheetahTranscript.Word word : words) {
+            byte[] wordBytes = word.getWord().getBytes(StandardCharsets.UTF_8);
+            buffers.ensureOutputRemaining(14 + wordBytes.length);
+            output = buffers.output;
+            output.putFloat(word.getStartSec());
+            output.putFloat(word.getEndSec());
+            output.putFloat(word.getConfidence());
+            output.putShort((short) wordBytes.length);
+            output.put(wordBytes);
+        }
+    }
+
+    private static void send(SocketChannel channel, SessionBuffers buffers, byte type) throws IOException {
+        ByteBuffer output = buffers.output;
+        output.putInt(0, output.position() - SidecarProtocol.HEADER_LENGTH);
+        output.put(4, type);
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+    }
+
+    private static void sendError(SocketChannel channel, String message) throws IOException {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer output = ByteBuffer.allocate(SidecarProtocol.HEADER_LENGTH + payload.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        output.putInt(payload.length);
+        output.put(SidecarProtocol.TYPE_ERROR);
+        output.put(payload);
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+    }
+
+    public static void main(String[] args) {
+        Options options = buildCommandLineOptions();
+        CommandLineParser parser = new DefaultParser();
+        HelpFormatter formatter = new HelpFormatter();
+
+        CommandLine cmd;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            formatter.printHelp("cheetahsidecardemo", options);
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.hasOption("help")) {
+            formatter.printHelp("cheetahsidecardemo", options);
+            return;
+        }
+
+        String accessKey = cmd.getOptionValue("access_key");
+        String libraryPath = cmd.getOptionValue("library_path", Cheetah.LIBRARY_PATH);
+        String modelPath = cmd.getOptionValue("model_path", Cheetah.MODEL_PATH);
+        String device = cmd.getOptionValue("device", "best");
+        boolean enableAutomaticPunctuation = !cmd.hasOption("disable_automatic_punctuation");
+        String socketPath = cmd.getOptionValue("socket_path");
+        String port = cmd.getOptionValue("port");
+        int maxSessions = Integer.parseInt(cmd.getOptionValue(
+                "max_sessions",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        if (accessKey == null || accessKey.length() == 0) {
+            throw new IllegalArgumentException("AccessKey is required for Cheetah.");
+        }
+
+        if (socketPath == null && port == null) {
+            throw new IllegalArgumentException("Set a socket path, a TCP port or both.");
+        }
+
+        try {
+            System.out.printf("Initializing %d Cheetah instances...\n", maxSessions);
+            CheetahPool pool = new CheetahPool.Builder()
+                    .setCheetahBuilder(new Cheetah.Builder()
+                            .setAccessKey(accessKey)
+                            .setLibraryPath(libraryPath)
+                            .setModelPath(modelPath)
+                            .setDevice(device)
+                            .setEnableAutomaticPunctuation(enableAutomaticPunctuation))
+                    .setSize(maxSessions)
+                    .build();
+            Cheetah probe = pool.acquire();
+            int frameLength = probe.getFrameLength();
+            pool.release(probe);
+
+            SidecarDemo sidecar = new SidecarDemo(pool, frameLength);
+            List<ServerSocketChannel> listeners = new ArrayList<>();
+            if (socketPath != null) {
+                File socketFile = new File(socketPath);
+                if (socketFile.exists() && !socketFile.delete()) {
+                    throw new IOException("Could not remove stale socket file " + socketPath);
+                }
+                socketFile.deleteOnExit();
+                listeners.add(SidecarProtocol.openUnixServer(socketPath));
+                System.out.println("Listening on unix:" + socketPath);
+            }
+            if (port != null) {
+                listeners.add(SidecarProtocol.openTcpServer(Integer.parseInt(port)));
+                System.out.println("Listening on tcp://127.0.0.1:" + port);
+            }
+            for (ServerSocketChannel listener : listeners) {
+                sidecar.listen(listener);
+            }
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                for (ServerSocketChannel listener : listeners) {
+                    try {
+                        listener.close();
+                    } catch (IOException ignored) {
+                        // shutting down
+                    }
+                }
+                sidecar.stop();
+            }));
+            System.out.println("Press Ctrl+C to stop");
+            Thread.currentThread().join();
+        } catch (CheetahException | IOException | UnsupportedOperationException e) {
+            System.out.println(e.toString());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Options buildCommandLineOptions() {
+        Options options = new Options();
+
+        options.addOption(Option.builder("a")
+                .longOpt("access_key")
+                .hasArg(true)
+                .desc("AccessKey obtained from Picovoice Console (https://console.picovoice.ai/).")
+                .build());
+
+        options.addOption(Option.builder("m")
+                .longOpt("model_path")
+                .hasArg(true)
+                .desc("Absolute path to the file containing model parameters.")
+                .build());
+
+        options.addOption(Option.builder("y")
+                .longOpt("device")
+                .hasArg(true)
+                .desc("Device to run inference on (`best`, `cpu:{num_threads}` or `gpu:{gpu_index}`). " +
+                        "Default: automatically selects best device.")
+                .build());
+
+        options.addOption(Option.builder("l")
+                .longOpt("library_path")
+                .hasArg(true)
+                .desc("Absolute path to the Cheetah native runtime library.")
+                .build());
+
+        options.addOption(Option.builder("d")
+                .longOpt("disable_automatic_punctuation")
+                .desc("")
+                .build());
+
+        options.addOption(Option.builder("u")
+                .longOpt("socket_path")
+                .hasArg(true)
+                .desc("Path of the Unix domain socket to listen on. Requires Java 16 or later.")
+                .build());
+
+        options.addOption(Option.builder("p")
+                .longOpt("port")
+                .hasArg(true)
+                .desc("Loopback TCP port to listen on.")
+                .build());
+
+        options.addOption(Option.builder("s")
+                .longOpt("max_sessions")
+                .hasArg(true)
+                .desc("Number of pre-warmed Cheetah instances, which is also the maximum number of concurrent " +
+                        "sessions. Default: number of available processors.")
+                .build());
+
+        options.addOption(new Option("h", "help", false, ""));
+
+        return options;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Wire protocol and transports of the sidecar demo.
+ *
+ * <p>Every message is a 5-byte header followed by a payload. The header holds the payload length as a
+ * little-endian uint32 and the message type as a uint8. All multi-byte values are little-endian.
+ *
+ * <pre>
+ * client to server
+ *   AUDIO   int16[] samples at the engine sample rate
+ *   FLUSH   empty
+ *   PING    any bytes, echoed back in a PONG without running inference
+ *
+ * server to client
+ *   HELLO   uint32 sampleRate, uint32 frameLength; sent once after connecting
+ *   RESULT  uint8 flags (bit 0: endpoint), uint16 numWords, uint16 transcriptLength, utf8 transcript,
+ *           then per word: float32 startSec, float32 endSec, float32 confidence, uint16 wordLength, utf8 word
+ *   FINAL   same layout as RESULT; the transcript flushed at an endpoint or on FLUSH
+ *
+ * every AUDIO is answered by at least one RESULT. A RESULT with the endpoint bit set is followed by the FINAL of
+ * that utterance before any RESULT holding later audio.
+ *   PONG    the PING payload
+ *   ERROR   utf8 message; the server closes the connection afterwards
+ * </pre>
+ *
+ * <p>Unix domain socket channels were added in Java 16, while the demos build on Java 11, so they are created
+ * reflectively. On older runtimes only loopback TCP is available.
+ */
+final class SidecarProtocol {
+
+    static final int HEADER_LENGTH = 5;
+    static final int MAX_PAYLOAD_LENGTH = 1 << 20;
+
+    static final byte TYPE_AUDIO = 0x01;
+    static final byte TYPE_FLUSH = 0x02;
+    static final byte TYPE_PING = 0x03;
+    static final byte TYPE_HELLO = 0x10;
+    static final byte TYPE_RESULT = 0x11;
+    static final byte TYPE_FINAL = 0x12;
+    static final byte TYPE_PONG = 0x13;
+    static final byte TYPE_ERROR = 0x1F;
+
+    private SidecarProtocol() { }
+
+    static ServerSocketChannel openUnixServer(String socketPath) throws IOException {
+        ServerSocketChannel channel = (ServerSocketChannel) invokeOpen(ServerSocketChannel.class);
+        channel.bind(getUnixAddress(socketPath));
+        return channel;
+    }
+
+    static SocketChannel connectUnix(String socketPath) throws IOException {
+        SocketChannel channel = (SocketChannel) invokeOpen(SocketChannel.class);
+        channel.connect(getUnixAddress(socketPath));
+        return channel;
+    }
+
+    static ServerSocketChannel openTcpServer(int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return channel;
+    }
+
+    static SocketChannel connectTcp(int port) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.socket().setTcpNoDelay(true);
+        return channel;
+    }
+
+    static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static SocketAddress getUnixAddress(String socketPath) throws IOException {
+        try {
+            Class<?> addressClass = Class.forName("java.net.UnixDomainSocketAddress");
+            return (SocketAddress) addressClass.getMethod("of", String.class).invoke(null, socketPath);
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException(
+                    "Unix domain sockets require Java 16 or later. Use loopback TCP instead.");
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Object invokeOpen(Class<?> channelClass) throws IOException {
+        ProtocolFamily unix;
+        try {
+            unix = StandardProtocolFamily.valueOf("UNIX");
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedOperationException(
+                    "Unix domain sockets require Java 16 or later. Use loopback TCP instead.");
+        }
+        try {
+            return channelClass.getMethod("open", ProtocolFamily.class).invoke(null, unix);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import ai.picovoice.cheetah.CheetahJsonWriter;
+import ai.picovoice.cheetah.CheetahTranscript;
+import ai.picovoice.cheetah.CheetahTranscriptAnnotated;
+
+/**
+ * JSON messages shared by the server demos. Every word has its text (`w`), start and end in seconds (`s`, `e`) and
+ * confidence (`c`).
+ */
+final class TranscriptJson {
+
+    private TranscriptJson() { }
+
+    static void writeTranscript(CheetahJsonWriter json, String type, CheetahTranscriptAnnotated result) {
+        json.beginObject()
+                .name("type").value(type)
+                .name("transcript").value(result.getTranscript())
+                .name("words").beginArray();
+        for (CheetahTranscript.Word word : result.getWordArray()) {
+            json.beginObject()
+                    .name("w").value(word.getWord())
+                    .name("s").value(word.getStartSec(), 2)
+                    .name("e").value(word.getEndSec(), 2)
+                    .name("c").value(word.getConfidence(), 2)
+                    .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    static void writeError(CheetahJsonWriter json, Exception e) {
+        json.beginObject()
+                .name("type").value("error")
+                .name("message").value(e.getMessage() != null ? e.getMessage() : e.toString())
+                .endObject();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+    Copyright 2026 Picovoice Inc.
+
+    You may not use this file except in compliance with the license. A copy of the license is
+    located in the "LICENSE" file accompanying this source.
+
+    Unless required by applicable law or agreed to in writing, software distributed under the
+    License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+    express or implied. See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ai.picovoice.cheetahdemo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal RFC 6455 framing shared by the streaming server demo and its load client.
+ */
+final class WebSocketCodec {
+
+    static final int OPCODE_CONTINUATION = 0x0;
+    static final int OPCODE_TEXT = 0x1;
+    static final int OPCODE_BINARY = 0x2;
+    static final int OPCODE_CLOSE = 0x8;
+    static final int OPCODE_PING = 0x9;
+    static final int OPCODE_PONG = 0xA;
+
+    static final int MAX_PAYLOAD_LENGTH = 64 * 1024;
+    // 2 bytes of opcode and length, 8 bytes of extended length and a 4-byte mask
+    static final int MAX_HEADER_LENGTH = 14;
+
+    private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private WebSocketCodec() { }
+
+    static final class Frame {
+        final int opcode;
+        final byte[] payload;
+
+        Frame(int opcode, byte[] payload) {
+            this.opcode = opcode;
+            this.payload = payload;
+        }
+
+        String getText() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    static String getAcceptKey(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String newClientKey() {
+        byte[] nonce = new byte[16];
+        ThreadLocalRandom.current().nextBytes(nonce);
+        return Base64.getEncoder().encodeToString(nonce);
+    }
+
+    /**
+     * Encodes a single final frame. Frames sent by clients must be masked, frames sent by servers must not.
+     */
+    static byte[] encode(int opcode, byte[] payload, int offset, int length, boolean isMasked) {
+        int headerLength = 2 + (length < 126 ? 0 : length <= 0xFFFF ? 2 : 8) + (isMasked ? 4 : 0);
+        byte[] frame = new byte[headerLength + length];
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.put((byte) (0x80 | opcode));
+
+        int maskBit = isMasked ? 0x80 : 0;
+        if (length < 126) {
+            buffer.put((byte) (maskBit | length));
+        } else if (length <= 0xFFFF) {
+            buffer.put((byte) (maskBit | 126));
+            buffer.putShort((short) length);
+        } else {
+            buffer.put((byte) (maskBit | 127));
+            buffer.putLong(length);
+        }
+
+        if (isMasked) {
+            byte[] mask = new byte[4];
+            ThreadLocalRandom.current().nextBytes(mask);
+            buffer.put(mask);
+            for (int i = 0; i < length; i++) {
+                frame[headerLength + i] = (byte) (payload[offset + i] ^ mask[i & 3]);
+            }
+        } else {
+            System.arraycopy(payload, offset, frame, headerLength, length);
+        }
+        return frame;
+    }
+
+    /**
+     * Decodes the next frame from a buffer in read mode. The buffer position is only advanced when a complete
+     * frame is available.
+     *
+     * @return The decoded frame, or `null` if the buffer does not hold a complete frame yet.
+     */
+    static Frame decode(ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        if (buffer.remaining() < 2) {
+            return null;
+        }
+
+        int opcode = buffer.get(start) & 0x0F;
+        int second = buffer.get(start + 1) & 0xFF;
+        boolean isMasked = (second & 0x80) != 0;
+        long length = second & 0x7F;
+        int headerLength = 2;
+        if (length == 126) {
+            if (buffer.remaining() < 4) {
+                return null;
+            }
+            length = buffer.getShort(start + 2) & 0xFFFF;
+            headerLength = 4;
+        } else if (length == 127) {
+            if (buffer.remaining() < 10) {
+                return null;
+            }
+            length = buffer.getLong(start + 2);
+            headerLength = 10;
+        }
+        if (length < 0 || length > MAX_PAYLOAD_LENGTH) {
+            throw new IOException("WebSocket frame exceeds " + MAX_PAYLOAD_LENGTH + " bytes");
+        }
+
+        int maskOffset = start + headerLength;
+        if (isMasked) {
+            headerLength += 4;
+        }
+        if (buffer.remaining() < headerLength + length) {
+            return null;
+        }
+
+        byte[] payload = new byte[(int) length];
+        int payloadOffset = start + headerLength;
+        for (int i = 0; i < payload.length; i++) {
+            byte b = buffer.get(payloadOffset + i);
+            payload[i] = isMasked ? (byte) (b ^ buffer.get(maskOffset + (i & 3))) : b;
+        }
+        buffer.position(payloadOffset + payload.length);
+        return new Frame(opcode, payload);
+    }
+
+    /**
+     * Reads the next frame from a blocking stream.
+     */
+    static Frame read(InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        int opcode = input.readUnsignedByte() & 0x0F;
+        int second = input.readUnsignedByte();
+        long length = second & 0x7F;
+        if (length == 126) {
+            length = input.readUnsignedShort();
+        } else if (length == 127) {
+            length = input.readLong();
+        }
+        if (length < 0 || length > MAX_PAYLOAD_LENGTH) {
+            throw new IOException("WebSocket frame exceeds " + MAX_PAYLOAD_LENGTH + " bytes");
+        }
+
+        byte[] mask = null;
+        if ((second & 0x80) != 0) {
+            mask = new byte[4];
+            input.readFully(mask);
+        }
+        byte[] payload = new byte[(int) length];
+        input.readFully(payload);
+        if (mask != null) {
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i & 3];
+            }
+        }
+        return new Frame(opcode, payload);
+    }
+}